@@ -0,0 +1,195 @@
+package com.coffeecode.benchmark;
+
+import com.coffeecode.graph.base.TraversableGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared benchmark bodies for graph implementations. Subclasses pick the
+ * implementation and declare the {@code size}/{@code degree} parameters.
+ * <p>
+ * {@code graph} is built once per trial and only used by read-mostly
+ * operations; {@code scratch} is rebuilt before every iteration for the
+ * operations that mutate structure. Those run as single-shot batches, one
+ * batch per iteration, so every call inserts an edge that is not there yet
+ * or removes a node that still has its edges. Their scores are the time of a
+ * whole batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public abstract class AbstractGraphBenchmark {
+
+    private static final int QUERY_MASK = (1 << 12) - 1;
+    private static final long SEED = 42L;
+    private static final int ADD_EDGE_BATCH = 1024;
+    // Small against the node count, so removed nodes barely thin out the rest
+    private static final int REMOVE_NODE_BATCH = 64;
+
+    protected TraversableGraph<Integer> graph;
+    protected TraversableGraph<Integer> scratch;
+
+    private int[] querySources;
+    private int[] queryTargets;
+    private int[] edgeSources;
+    private int[] edgeTargets;
+    private int[] newEdgeSources;   // Pairs absent from the populated graph
+    private int[] newEdgeTargets;
+    private int[] removalOrder;     // Distinct nodes in random order
+    private int cursor;
+    private int mutations;
+
+    protected abstract TraversableGraph<Integer> newGraph();
+
+    protected abstract int size();
+
+    /**
+     * @return average number of outgoing edges per node
+     */
+    protected abstract int degree();
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int edges = size() * degree();
+        edgeSources = new int[edges];
+        edgeTargets = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            edgeSources[i] = i / degree();
+            edgeTargets[i] = random.nextInt(size());
+        }
+        querySources = new int[QUERY_MASK + 1];
+        queryTargets = new int[QUERY_MASK + 1];
+        for (int i = 0; i <= QUERY_MASK; i++) {
+            // Half of the queries hit existing edges
+            int edge = random.nextInt(edges);
+            querySources[i] = edgeSources[edge];
+            queryTargets[i] = (i & 1) == 0 ? edgeTargets[edge] : random.nextInt(size());
+        }
+        graph = populate(newGraph());
+
+        newEdgeSources = new int[ADD_EDGE_BATCH];
+        newEdgeTargets = new int[ADD_EDGE_BATCH];
+        for (int i = 0; i < ADD_EDGE_BATCH; ) {
+            int source = random.nextInt(size());
+            int target = random.nextInt(size());
+            if (!graph.containsEdge(source, target) && !graph.containsEdge(target, source)) {
+                newEdgeSources[i] = source;
+                newEdgeTargets[i] = target;
+                graph.addEdge(source, target, 1.0);
+                i++;
+            }
+        }
+        // The pairs were added only to keep them distinct
+        for (int i = 0; i < ADD_EDGE_BATCH; i++) {
+            graph.removeEdge(newEdgeSources[i], newEdgeTargets[i]);
+        }
+
+        removalOrder = new int[size()];
+        for (int i = 0; i < removalOrder.length; i++) {
+            removalOrder[i] = i;
+        }
+        for (int i = removalOrder.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = removalOrder[i];
+            removalOrder[i] = removalOrder[j];
+            removalOrder[j] = swap;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        scratch = populate(newGraph());
+        cursor = 0;
+        mutations = 0;
+    }
+
+    private TraversableGraph<Integer> populate(TraversableGraph<Integer> target) {
+        for (int i = 0; i < size(); i++) {
+            target.addNode(i);
+        }
+        for (int i = 0; i < edgeSources.length; i++) {
+            target.addEdge(edgeSources[i], edgeTargets[i], 1.0 + (i & 7));
+        }
+        return target;
+    }
+
+    private int next() {
+        return cursor++ & QUERY_MASK;
+    }
+
+    // Structural operations
+    @Benchmark
+    public TraversableGraph<Integer> addNodes() {
+        TraversableGraph<Integer> target = newGraph();
+        for (int i = 0; i < size(); i++) {
+            target.addNode(i);
+        }
+        return target;
+    }
+
+    /**
+     * Inserts edges between nodes that are not yet connected.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10, batchSize = ADD_EDGE_BATCH)
+    @Measurement(iterations = 30, batchSize = ADD_EDGE_BATCH)
+    public boolean addEdge() {
+        int i = mutations++;
+        return scratch.addEdge(newEdgeSources[i], newEdgeTargets[i], 2.0);
+    }
+
+    /**
+     * Removes distinct nodes together with their edges.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10, batchSize = REMOVE_NODE_BATCH)
+    @Measurement(iterations = 30, batchSize = REMOVE_NODE_BATCH)
+    public boolean removeNode() {
+        return scratch.removeNode(removalOrder[mutations++]);
+    }
+
+    // Query operations
+    @Benchmark
+    public void getNeighbors(Blackhole blackhole) {
+        for (Integer neighbor : graph.getNeighbors(querySources[next()])) {
+            blackhole.consume(neighbor);
+        }
+    }
+
+    @Benchmark
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+    @Benchmark
+    public boolean containsEdge() {
+        int q = next();
+        return graph.containsEdge(querySources[q], queryTargets[q]);
+    }
+
+    // Traversal state operations
+    @Benchmark
+    public boolean traversalState() {
+        int q = next();
+        Integer node = queryTargets[q];
+        graph.setVisited(node, true);
+        graph.setCost(node, q);
+        graph.setParent(node, querySources[q]);
+        return graph.isVisited(node) && graph.getCost(node) >= 0;
+    }
+
+    @Benchmark
+    public void resetTraversalState() {
+        graph.resetTraversalState();
+    }
+}
@@ -0,0 +1,32 @@
+package com.coffeecode.benchmark;
+
+import com.coffeecode.graph.base.TraversableGraph;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import org.openjdk.jmh.annotations.*;
+
+public class AdjacencyListGraphBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"4", "32"})
+    private int degree;
+
+    @Param({"true", "false"})
+    private boolean directed;
+
+    @Override
+    protected TraversableGraph<Integer> newGraph() {
+        return new AdjacencyListGraph<>(directed, true);
+    }
+
+    @Override
+    protected int size() {
+        return size;
+    }
+
+    @Override
+    protected int degree() {
+        return degree;
+    }
+}
@@ -0,0 +1,37 @@
+package com.coffeecode.benchmark;
+
+import com.coffeecode.graph.base.TraversableGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Matrix storage is quadratic in the node count, so sizes stop well below
+ * the adjacency list benchmark. Larger sizes can be passed with
+ * {@code -p size=...} when enough heap is available.
+ */
+public class AdjacencyMatrixGraphBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"1000", "5000"})
+    private int size;
+
+    @Param({"4", "32", "256"})
+    private int degree;
+
+    @Param({"true", "false"})
+    private boolean directed;
+
+    @Override
+    protected TraversableGraph<Integer> newGraph() {
+        return new AdjacencyMatrixGraph<>(directed, true);
+    }
+
+    @Override
+    protected int size() {
+        return size;
+    }
+
+    @Override
+    protected int degree() {
+        return degree;
+    }
+}
@@ -0,0 +1,68 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.base.CompressedGraph;
+
+/**
+ * A* shortest path search over a compressed-sparse-row snapshot.
+ * <p>
+ * Nodes are queued by cost so far plus a {@link Heuristic} estimate of the
+ * remaining cost, which steers the search towards the target. Results are
+ * optimal as long as the heuristic never overestimates; with an inconsistent
+ * heuristic settled nodes are simply reopened. Each node's estimate is
+ * computed at most once per query and cached in the workspace.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class AStarShortestPath<T> extends AbstractShortestPath<T> {
+
+    private final Heuristic<? super T> heuristic;
+
+    /**
+     * Follows the graph: the search snapshot is rebuilt after modifications.
+     */
+    public AStarShortestPath(Graph<T> graph, Heuristic<? super T> heuristic) {
+        super(graph);
+        this.heuristic = heuristic;
+    }
+
+    public AStarShortestPath(CompressedGraph<T> graph, Heuristic<? super T> heuristic) {
+        super(graph);
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    protected void search(CompressedGraph<T> graph, int source, int target,
+            ShortestPathWorkspace workspace) {
+        workspace.begin(graph.getNodeCount());
+        IndexedMinHeap heap = workspace.heap();
+        T goal = graph.nodeAt(target);
+        workspace.update(source, 0.0, ShortestPathWorkspace.NO_PARENT);
+        heap.insertOrDecrease(source, estimate(graph, source, goal, workspace));
+
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            workspace.expanded();
+            if (node == target) {
+                return;
+            }
+            double cost = workspace.cost(node);
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                int neighbor = graph.edgeTarget(e);
+                double candidate = cost + graph.edgeWeight(e);
+                if (candidate < workspace.cost(neighbor)) {
+                    workspace.update(neighbor, candidate, node);
+                    heap.insertOrDecrease(neighbor, candidate + estimate(graph, neighbor, goal, workspace));
+                }
+            }
+        }
+    }
+
+    private double estimate(CompressedGraph<T> graph, int node, T goal,
+            ShortestPathWorkspace workspace) {
+        if (!workspace.hasEstimate(node)) {
+            workspace.setEstimate(node, heuristic.estimate(graph.nodeAt(node), goal));
+        }
+        return workspace.estimate(node);
+    }
+}
@@ -0,0 +1,153 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.CompressedGraph;
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import java.util.*;
+
+/**
+ * Common query handling for shortest path searches over a
+ * compressed-sparse-row graph, either a heap snapshot or a memory-mapped
+ * file. Subclasses only implement the search loop.
+ * <p>
+ * When built from a mutable {@link Graph} the snapshot is rebuilt lazily
+ * whenever the graph's modification version changes, so queries always see
+ * the current edges. The rebuild copies the whole graph and checks every
+ * weight, O(V + E), and runs inside the first query after a modification
+ * while concurrent queries wait for it. Graphs that change between most
+ * queries are better served by a search that follows the graph directly,
+ * such as {@link DynamicShortestPathTree}. Otherwise call {@link #refresh()}
+ * after a batch of modifications to take the cost off the query path.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+abstract class AbstractShortestPath<T> implements ShortestPathAlgorithm<T> {
+
+    // Matches no node, so a search settles everything reachable
+    protected static final int NO_TARGET = -1;
+
+    private final Graph<T> source; // Graph to follow, null for a fixed snapshot
+    private volatile Snapshot<T> snapshot;
+    private final ShortestPathWorkspace workspace;
+
+    private static final class Snapshot<T> {
+
+        private final CompressedGraph<T> graph;
+        private final long version;
+
+        Snapshot(CompressedGraph<T> graph, long version) {
+            this.graph = graph;
+            this.version = version;
+        }
+    }
+
+    protected AbstractShortestPath(Graph<T> graph) {
+        this.source = graph;
+        this.snapshot = takeSnapshot(graph);
+        this.workspace = newWorkspace();
+    }
+
+    protected AbstractShortestPath(CompressedGraph<T> graph) {
+        validateWeights(graph);
+        this.source = null;
+        this.snapshot = new Snapshot<>(graph, 0);
+        this.workspace = newWorkspace();
+    }
+
+    /**
+     * Runs the search until the target is settled or the queue is empty.
+     */
+    protected abstract void search(CompressedGraph<T> graph, int source, int target,
+            ShortestPathWorkspace workspace);
+
+    /**
+     * Rebuilds the snapshot now if the source graph changed since it was
+     * taken; does nothing for a fixed snapshot.
+     */
+    public void refresh() {
+        graph();
+    }
+
+    /**
+     * @return the snapshot queries run on, rebuilt first if the source graph changed
+     */
+    protected CompressedGraph<T> graph() {
+        Snapshot<T> current = snapshot;
+        if (source != null && current.version != source.getModificationVersion()) {
+            synchronized (this) {
+                current = snapshot;
+                if (current.version != source.getModificationVersion()) {
+                    current = takeSnapshot(source);
+                    snapshot = current;
+                }
+            }
+        }
+        return current.graph;
+    }
+
+    private static <T> Snapshot<T> takeSnapshot(Graph<T> graph) {
+        long version = graph.getModificationVersion();
+        CompressedSparseRowGraph<T> csr = CompressedSparseRowGraph.copyOf(graph);
+        validateWeights(csr);
+        return new Snapshot<>(csr, version);
+    }
+
+    @Override
+    public PathResult<T> findPath(T source, T target) {
+        return findPath(source, target, workspace);
+    }
+
+    @Override
+    public PathResult<T> findPath(T source, T target, ShortestPathWorkspace workspace) {
+        CompressedGraph<T> graph = graph();
+        int sourceIndex = graph.indexOf(source);
+        int targetIndex = graph.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return PathResult.notFound();
+        }
+        search(graph, sourceIndex, targetIndex, workspace);
+        return buildPath(graph, targetIndex, workspace);
+    }
+
+    @Override
+    public double distance(T source, T target, ShortestPathWorkspace workspace) {
+        CompressedGraph<T> graph = graph();
+        int sourceIndex = graph.indexOf(source);
+        int targetIndex = graph.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        search(graph, sourceIndex, targetIndex, workspace);
+        return workspace.cost(targetIndex);
+    }
+
+    @Override
+    public ShortestPathWorkspace newWorkspace() {
+        return new ShortestPathWorkspace(graph().getNodeCount());
+    }
+
+    protected PathResult<T> buildPath(CompressedGraph<T> graph, int target,
+            ShortestPathWorkspace workspace) {
+        if (!workspace.isReached(target)) {
+            return PathResult.notFound();
+        }
+        List<T> path = new ArrayList<>();
+        for (int node = target; node != ShortestPathWorkspace.NO_PARENT; node = workspace.parent(node)) {
+            path.add(graph.nodeAt(node));
+        }
+        Collections.reverse(path);
+        return PathResult.found(path, workspace.cost(target));
+    }
+
+    private static void validateWeights(CompressedGraph<?> graph) {
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                if (!(graph.edgeWeight(e) >= 0)) {
+                    throw new GraphValidationException(
+                            "Shortest path search requires non-negative edge weights");
+                }
+            }
+        }
+    }
+}
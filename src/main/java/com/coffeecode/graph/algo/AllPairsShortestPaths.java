@@ -0,0 +1,102 @@
+package com.coffeecode.graph.algo;
+
+import java.util.*;
+
+/**
+ * Distance table produced by an all-pairs shortest path computation.
+ * <p>
+ * Distances live in one flat row-major array, so a lookup by node index is a
+ * single array read. The optional next-hop table stores, for every pair, the
+ * node that follows the source on a shortest path and is used to rebuild
+ * paths. Node indices are captured when the table is computed; later changes
+ * to the graph are not reflected.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class AllPairsShortestPaths<T> {
+
+    public static final int NO_NEXT = -1;
+
+    private final List<T> nodes;               // Node at each index, null for free slots
+    private final Map<T, Integer> nodeIndices;
+    private final int stride;
+    private final double[] distances;
+    private final int[] next;
+
+    AllPairsShortestPaths(List<T> nodes, int stride, double[] distances, int[] next) {
+        this.nodes = nodes;
+        this.nodeIndices = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) != null) {
+                nodeIndices.put(nodes.get(i), i);
+            }
+        }
+        this.stride = stride;
+        this.distances = distances;
+        this.next = next;
+    }
+
+    /**
+     * @return shortest distance, or {@code +Infinity} if unreachable or unknown
+     */
+    public double getDistance(T source, T target) {
+        Integer sourceIndex = nodeIndices.get(source);
+        Integer targetIndex = nodeIndices.get(target);
+        if (sourceIndex == null || targetIndex == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distances[sourceIndex * stride + targetIndex];
+    }
+
+    public double getDistanceAt(int source, int target) {
+        return distances[source * stride + target];
+    }
+
+    /**
+     * @return index of the node after source on a shortest path, or {@link #NO_NEXT}
+     */
+    public int getNextAt(int source, int target) {
+        requirePaths();
+        return next[source * stride + target];
+    }
+
+    public boolean hasPaths() {
+        return next != null;
+    }
+
+    /**
+     * Rebuilds a shortest path from the next-hop table.
+     *
+     * @throws IllegalStateException if the table was computed without paths
+     */
+    public PathResult<T> getPath(T source, T target) {
+        requirePaths();
+        Integer sourceIndex = nodeIndices.get(source);
+        Integer targetIndex = nodeIndices.get(target);
+        if (sourceIndex == null || targetIndex == null
+                || next[sourceIndex * stride + targetIndex] == NO_NEXT) {
+            return PathResult.notFound();
+        }
+
+        List<T> path = new ArrayList<>();
+        path.add(source);
+        for (int node = sourceIndex; node != targetIndex; ) {
+            node = next[node * stride + targetIndex];
+            path.add(nodes.get(node));
+        }
+        return PathResult.found(path, distances[sourceIndex * stride + targetIndex]);
+    }
+
+    /**
+     * @return number of node indices covered by the table
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    private void requirePaths() {
+        if (next == null) {
+            throw new IllegalStateException("Next-hop table was not computed");
+        }
+    }
+}
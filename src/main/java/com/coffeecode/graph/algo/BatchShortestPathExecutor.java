@@ -0,0 +1,129 @@
+package com.coffeecode.graph.algo;
+
+import lombok.extern.slf4j.Slf4j;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs large batches of shortest path queries on a dedicated fork-join pool.
+ * <p>
+ * Each pool thread keeps its own {@link ShortestPathWorkspace}, so searches
+ * allocate nothing beyond their results. Requests are pulled lazily and at
+ * most {@code maxPending} run or wait at a time; the submitting thread blocks
+ * until a slot frees up, so request streams of any length run in bounded
+ * memory. Results go to the consumer as soon as each search finishes.
+ * <p>
+ * The algorithm must allow concurrent queries with separate workspaces, as
+ * every algorithm in this package does.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public class BatchShortestPathExecutor<T> implements AutoCloseable {
+
+    private static final int PENDING_PER_THREAD = 4;
+
+    private final ShortestPathAlgorithm<T> algorithm;
+    private final ForkJoinPool pool;
+    private final int maxPending;
+    private final ThreadLocal<ShortestPathWorkspace> workspaces;
+
+    public BatchShortestPathExecutor(ShortestPathAlgorithm<T> algorithm) {
+        this(algorithm, Runtime.getRuntime().availableProcessors(),
+                PENDING_PER_THREAD * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism number of pool threads
+     * @param maxPending  number of requests submitted but not yet finished
+     */
+    public BatchShortestPathExecutor(ShortestPathAlgorithm<T> algorithm, int parallelism, int maxPending) {
+        if (parallelism <= 0 || maxPending <= 0) {
+            throw new IllegalArgumentException("Parallelism and pending limit must be positive");
+        }
+        this.algorithm = algorithm;
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxPending = maxPending;
+        this.workspaces = ThreadLocal.withInitial(algorithm::newWorkspace);
+    }
+
+    /**
+     * Runs every request and blocks until all results have been delivered.
+     * The consumer is called concurrently from pool threads. If a search or
+     * the consumer fails, requests not yet started are skipped and the first
+     * failure is rethrown.
+     *
+     * @return number of results delivered
+     * @throws InterruptedException if interrupted while waiting for a free slot
+     */
+    public long execute(Iterable<? extends ShortestPathRequest<T>> requests, PathResultConsumer<T> consumer)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(maxPending);
+        LongAdder delivered = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try {
+            for (ShortestPathRequest<T> request : requests) {
+                slots.acquire();
+                if (failure.get() != null) {
+                    slots.release();
+                    break;
+                }
+                pool.execute(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            run(request, consumer, delivered);
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            // Wait for requests in flight, so no result arrives after returning
+            slots.acquireUninterruptibly(maxPending);
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        if (t != null) {
+            throw new CompletionException(t);
+        }
+        log.debug("Delivered {} shortest path results", delivered.sum());
+        return delivered.sum();
+    }
+
+    private void run(ShortestPathRequest<T> request, PathResultConsumer<T> consumer, LongAdder delivered) {
+        ShortestPathWorkspace workspace = workspaces.get();
+        T source = request.getSource();
+        List<T> targets = request.getTargets();
+        if (targets.size() == 1) {
+            consumer.accept(source, targets.get(0), algorithm.findPath(source, targets.get(0), workspace));
+            delivered.increment();
+            return;
+        }
+        algorithm.findPaths(source, targets, workspace, (target, result) -> {
+            consumer.accept(source, target, result);
+            delivered.increment();
+        });
+    }
+
+    /**
+     * Stops the pool threads; the executor cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,189 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * All-pairs shortest paths with a cache-blocked Floyd-Warshall.
+ * <p>
+ * The weight matrix is copied into a flat array padded to whole tiles of
+ * {@value #BLOCK} x {@value #BLOCK}. Each round first relaxes the diagonal
+ * tile, then the tiles sharing its row and column, then all remaining tiles;
+ * tiles within the last two phases are independent and run on a
+ * {@link ForkJoinPool}. Negative edges are allowed, negative cycles are not.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class BlockedFloydWarshall<T> {
+
+    // 64 x 64 doubles = 32 KiB, so the three tiles of a kernel stay in L2
+    static final int BLOCK = 64;
+    private static final double INF = Double.POSITIVE_INFINITY;
+    // Largest array length the JVM reliably allocates
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final AdjacencyMatrixGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    public BlockedFloydWarshall(AdjacencyMatrixGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public BlockedFloydWarshall(AdjacencyMatrixGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the distance table only.
+     */
+    public AllPairsShortestPaths<T> compute() {
+        return compute(false);
+    }
+
+    /**
+     * Computes the distance table and a next-hop table for path reconstruction.
+     */
+    public AllPairsShortestPaths<T> computeWithPaths() {
+        return compute(true);
+    }
+
+    private AllPairsShortestPaths<T> compute(boolean withPaths) {
+        int size = graph.getIndexBound();
+        int blocks = (size + BLOCK - 1) / BLOCK;
+        int stride = blocks * BLOCK;
+
+        double[] distances = new double[tableSize(size)];
+        Arrays.fill(distances, INF);
+        graph.copyWeightsTo(distances, stride);
+        for (int i = 0; i < stride; i++) {
+            distances[i * stride + i] = Math.min(distances[i * stride + i], 0.0);
+        }
+        int[] next = withPaths ? initialHops(distances, stride) : null;
+
+        Solver solver = new Solver(distances, next, stride, blocks);
+        for (int round = 0; round < blocks; round++) {
+            solver.relax(round, round, round);
+            pool.invoke(solver.new Tiles(round, false, 0, 2 * blocks));
+            pool.invoke(solver.new Tiles(round, true, 0, blocks * blocks));
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (distances[i * stride + i] < 0) {
+                throw new GraphValidationException("Graph contains a negative cycle");
+            }
+        }
+
+        List<T> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            nodes.add(graph.nodeAt(i));
+        }
+        return new AllPairsShortestPaths<>(nodes, stride, distances, next);
+    }
+
+    /**
+     * @return number of cells in the padded table for the given index bound
+     * @throws GraphValidationException if the table does not fit in one array
+     */
+    static int tableSize(int size) {
+        long stride = ((long) size + BLOCK - 1) / BLOCK * BLOCK;
+        long cells = stride * stride;
+        if (cells > MAX_CELLS) {
+            throw new GraphValidationException("Graph with " + size
+                    + " node slots is too large for an all-pairs table of " + cells + " cells");
+        }
+        return (int) cells;
+    }
+
+    private static int[] initialHops(double[] distances, int stride) {
+        int[] next = new int[distances.length];
+        for (int i = 0; i < stride; i++) {
+            for (int j = 0; j < stride; j++) {
+                int cell = i * stride + j;
+                next[cell] = i == j ? i : distances[cell] < INF ? j : AllPairsShortestPaths.NO_NEXT;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Shared state of one computation.
+     */
+    private static final class Solver {
+
+        private final double[] distances;
+        private final int[] next;
+        private final int stride;
+        private final int blocks;
+
+        Solver(double[] distances, int[] next, int stride, int blocks) {
+            this.distances = distances;
+            this.next = next;
+            this.stride = stride;
+            this.blocks = blocks;
+        }
+
+        // Relaxes tile (rowBlock, colBlock) through the intermediates of tile round
+        void relax(int rowBlock, int colBlock, int round) {
+            int rowStart = rowBlock * BLOCK;
+            int colStart = colBlock * BLOCK;
+            int colEnd = colStart + BLOCK;
+            for (int k = round * BLOCK, kEnd = k + BLOCK; k < kEnd; k++) {
+                int rowK = k * stride;
+                for (int i = rowStart, iEnd = rowStart + BLOCK; i < iEnd; i++) {
+                    int rowI = i * stride;
+                    double viaK = distances[rowI + k];
+                    if (viaK == INF) {
+                        continue;
+                    }
+                    for (int j = colStart; j < colEnd; j++) {
+                        double candidate = viaK + distances[rowK + j];
+                        if (candidate < distances[rowI + j]) {
+                            distances[rowI + j] = candidate;
+                            if (next != null) {
+                                next[rowI + j] = next[rowI + k];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Relaxes a range of tiles of one phase. The row/column phase numbers
+         * its tiles 0..2*blocks, the remaining phase 0..blocks^2; tiles that
+         * belong to another phase are skipped.
+         */
+        final class Tiles extends RecursiveAction {
+
+            private final int round;
+            private final boolean remaining;
+            private final int from;
+            private final int to;
+
+            Tiles(int round, boolean remaining, int from, int to) {
+                this.round = round;
+                this.remaining = remaining;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > 1) {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new Tiles(round, remaining, from, mid), new Tiles(round, remaining, mid, to));
+                } else if (from < to) {
+                    int row = remaining ? from / blocks : from < blocks ? round : from - blocks;
+                    int col = remaining ? from % blocks : from < blocks ? from : round;
+                    if (remaining ? row != round && col != round : row != col) {
+                        relax(row, col, round);
+                    }
+                }
+            }
+        }
+    }
+}
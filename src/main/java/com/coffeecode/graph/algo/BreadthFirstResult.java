@@ -0,0 +1,63 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.IndexedGraph;
+import lombok.Getter;
+
+/**
+ * Hop distances and BFS tree of a breadth-first search, stored in primitive
+ * arrays indexed like the searched graph.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class BreadthFirstResult<T> {
+
+    public static final int UNREACHED = -1;
+    public static final int NO_PARENT = -1;
+
+    private final IndexedGraph<T> graph;
+    private final int[] distances;
+    private final int[] parents;
+    @Getter
+    private final int reachedCount;
+
+    BreadthFirstResult(IndexedGraph<T> graph, int[] distances, int[] parents, int reachedCount) {
+        this.graph = graph;
+        this.distances = distances;
+        this.parents = parents;
+        this.reachedCount = reachedCount;
+    }
+
+    /**
+     * @return hop distance from the source, or {@link #UNREACHED}
+     */
+    public int getDistance(T node) {
+        int index = graph.indexOf(node);
+        return index < 0 ? UNREACHED : distances[index];
+    }
+
+    public boolean isReachable(T node) {
+        return getDistance(node) != UNREACHED;
+    }
+
+    /**
+     * @return parent in the BFS tree, or null for the source and unreached nodes
+     */
+    public T getParent(T node) {
+        int index = graph.indexOf(node);
+        return index < 0 || parents[index] == NO_PARENT ? null : graph.nodeAt(parents[index]);
+    }
+
+    /**
+     * @return distances by node index; the array is shared, not copied
+     */
+    public int[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * @return parent indices by node index; the array is shared, not copied
+     */
+    public int[] getParents() {
+        return parents;
+    }
+}
@@ -0,0 +1,441 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.NodeInterner;
+import com.coffeecode.graph.base.ObservableGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import lombok.extern.slf4j.Slf4j;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Weakly connected components of a graph, kept up to date from its events.
+ * <p>
+ * Components live in a disjoint-set forest over node indices with union by
+ * rank and path compression, so node and edge additions are merged in near
+ * constant time and {@link #connected} is a pair of finds. Union-find cannot
+ * split sets: after an edge or node removal the index is marked stale and the
+ * next query rebuilds it from a snapshot of the graph with the parallel
+ * Afforest algorithm (Sutton et al.), which links a sample of neighbors
+ * first and then skips the nodes already in the largest component.
+ * Additions that arrive during a rebuild are replayed onto the new forest;
+ * only a racing removal makes the rebuild start over.
+ * <p>
+ * Methods are thread-safe. Use {@link #attach} to create an index.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public final class ConnectivityIndex<T> implements GraphListener<T> {
+
+    // Neighbors linked per node before the largest component is sampled
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLE_SIZE = 1024;
+    // Nodes handled by one fork-join leaf task
+    private static final int GRAIN = 4096;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final ObservableGraph<T> graph;
+    private final ForkJoinPool pool;
+    private final ReentrantLock lock = new ReentrantLock();
+    private NodeInterner<T> interner = new NodeInterner<>();
+    private int[] parent = new int[0];
+    private byte[] rank = new byte[0];
+    private int componentCount;
+    private boolean stale = true;
+    private long removals; // Counts removals and clears, so a rebuild can tell it raced one
+    private int rebuilds;  // Rebuilds in progress; additions are recorded while positive
+    private final List<T> pendingNodes = new ArrayList<>();
+    private final EdgeBatch<T> pendingEdges = new EdgeBatch<>(16);
+
+    private ConnectivityIndex(ObservableGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Builds the index for the graph and registers it as a listener.
+     */
+    public static <T> ConnectivityIndex<T> attach(ObservableGraph<T> graph) {
+        return attach(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool runs the parallel rebuilds
+     */
+    public static <T> ConnectivityIndex<T> attach(ObservableGraph<T> graph, ForkJoinPool pool) {
+        ConnectivityIndex<T> index = new ConnectivityIndex<>(graph, pool);
+        // Listen first; the index starts stale, so the build sees every change
+        graph.addGraphListener(index);
+        index.refresh();
+        return index;
+    }
+
+    /**
+     * Stops following the graph; the index keeps its last state.
+     */
+    public void detach() {
+        graph.removeGraphListener(this);
+    }
+
+    /**
+     * @return true if both nodes exist and an undirected path joins them
+     */
+    public boolean connected(T first, T second) {
+        refresh();
+        lock.lock();
+        try {
+            int a = interner.indexOf(first);
+            int b = interner.indexOf(second);
+            return a >= 0 && b >= 0 && find(a) == find(b);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of weakly connected components, isolated nodes included
+     */
+    public int getComponentCount() {
+        refresh();
+        lock.lock();
+        try {
+            return componentCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void nodeAdded(T node) {
+        lock.lock();
+        try {
+            if (rebuilds > 0) {
+                pendingNodes.add(node);
+            }
+            if (!stale) {
+                addNode(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void edgeAdded(T source, T target, double weight) {
+        lock.lock();
+        try {
+            if (rebuilds > 0) {
+                pendingEdges.add(source, target, weight);
+            }
+            if (!stale) {
+                union(interner.indexOf(source), interner.indexOf(target));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        invalidate();
+    }
+
+    @Override
+    public void edgeRemoved(T source, T target) {
+        invalidate();
+    }
+
+    @Override
+    public void graphCleared() {
+        lock.lock();
+        try {
+            removals++;
+            clearPending();
+            interner = new NodeInterner<>();
+            parent = new int[0];
+            rank = new byte[0];
+            componentCount = 0;
+            stale = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidate() {
+        lock.lock();
+        try {
+            removals++;
+            stale = true;
+            // Every rebuild in progress starts over, so recorded additions are moot
+            clearPending();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearPending() {
+        pendingNodes.clear();
+        pendingEdges.clear();
+    }
+
+    private void addNode(T node) {
+        int index = interner.add(node);
+        if (index < 0) {
+            return;
+        }
+        if (index >= parent.length) {
+            int capacity = Math.max(16, index + (index >> 1) + 1);
+            parent = Arrays.copyOf(parent, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+        parent[index] = index;
+        rank[index] = 0;
+        componentCount++;
+    }
+
+    private int find(int node) {
+        int root = node;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[node] != root) {
+            int next = parent[node];
+            parent[node] = root;
+            node = next;
+        }
+        return root;
+    }
+
+    private void union(int first, int second) {
+        if (first < 0 || second < 0) {
+            return;
+        }
+        int a = find(first);
+        int b = find(second);
+        if (a == b) {
+            return;
+        }
+        if (rank[a] < rank[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        parent[b] = a;
+        if (rank[a] == rank[b]) {
+            rank[a]++;
+        }
+        componentCount--;
+    }
+
+    /**
+     * Rebuilds a stale index. The snapshot is taken without holding the lock,
+     * since graphs fire events under their own locks. Additions that raced
+     * the snapshot are replayed as unions, which is harmless if the snapshot
+     * already saw them; a rebuild that raced a removal is discarded and
+     * repeated.
+     */
+    private void refresh() {
+        while (true) {
+            long seen;
+            lock.lock();
+            try {
+                if (!stale) {
+                    return;
+                }
+                seen = removals;
+                rebuilds++;
+            } finally {
+                lock.unlock();
+            }
+
+            CompressedSparseRowGraph<T> snapshot;
+            int[] labels;
+            try {
+                snapshot = CompressedSparseRowGraph.copyOf(graph);
+                labels = afforest(snapshot);
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    rebuilds--;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+            int n = snapshot.getNodeCount();
+            NodeInterner<T> indices = new NodeInterner<>(n);
+            byte[] ranks = new byte[n];
+            int components = 0;
+            for (int i = 0; i < n; i++) {
+                indices.add(snapshot.nodeAt(i));
+                if (labels[i] == i) {
+                    components++;
+                } else {
+                    ranks[labels[i]] = 1;
+                }
+            }
+
+            lock.lock();
+            try {
+                rebuilds--;
+                if (!stale) {
+                    // Another rebuild finished first and already replayed the additions
+                    return;
+                }
+                if (removals == seen) {
+                    interner = indices;
+                    parent = labels;
+                    rank = ranks;
+                    componentCount = components;
+                    stale = false;
+                    replayPending();
+                    log.debug("Rebuilt connectivity: {} nodes, {} components", n, components);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void replayPending() {
+        for (T node : pendingNodes) {
+            addNode(node);
+        }
+        for (int i = 0, size = pendingEdges.size(); i < size; i++) {
+            union(interner.indexOf(pendingEdges.getSource(i)), interner.indexOf(pendingEdges.getTarget(i)));
+        }
+        clearPending();
+    }
+
+    /**
+     * @return component label of each snapshot index; every label is the
+     * smallest index of its component and maps to itself
+     */
+    private int[] afforest(CompressedSparseRowGraph<T> snapshot) {
+        int n = snapshot.getNodeCount();
+        int[] labels = new int[n];
+        forEach(n, node -> labels[node] = node);
+
+        // Link each node with its first few neighbors
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int offset = round;
+            forEach(n, node -> {
+                int edge = snapshot.edgeStart(node) + offset;
+                if (edge < snapshot.edgeEnd(node)) {
+                    link(labels, node, snapshot.edgeTarget(edge));
+                }
+            });
+            forEach(n, node -> compress(labels, node));
+        }
+
+        // Edges inside the largest component can no longer change anything
+        int largest = sampleLargest(labels);
+        boolean directed = snapshot.isDirected();
+        forEach(n, node -> {
+            if (labels[node] == largest) {
+                return;
+            }
+            for (int e = snapshot.edgeStart(node) + NEIGHBOR_ROUNDS; e < snapshot.edgeEnd(node); e++) {
+                link(labels, node, snapshot.edgeTarget(e));
+            }
+            // Out-edges alone miss links from the largest component in directed graphs
+            if (directed) {
+                for (int e = snapshot.inEdgeStart(node); e < snapshot.inEdgeEnd(node); e++) {
+                    link(labels, node, snapshot.inEdgeSource(e));
+                }
+            }
+        });
+        forEach(n, node -> compress(labels, node));
+        return labels;
+    }
+
+    // Hooks the larger root under the smaller one; roots are claimed by CAS
+    private static void link(int[] labels, int first, int second) {
+        int a = (int) INTS.getVolatile(labels, first);
+        int b = (int) INTS.getVolatile(labels, second);
+        while (a != b) {
+            int high = Math.max(a, b);
+            int low = Math.min(a, b);
+            int highParent = (int) INTS.getVolatile(labels, high);
+            if (highParent == low
+                    || (highParent == high && INTS.compareAndSet(labels, high, high, low))) {
+                return;
+            }
+            a = (int) INTS.getVolatile(labels, highParent);
+            b = (int) INTS.getVolatile(labels, low);
+        }
+    }
+
+    private static void compress(int[] labels, int node) {
+        int label = (int) INTS.getVolatile(labels, node);
+        int next = (int) INTS.getVolatile(labels, label);
+        while (label != next) {
+            INTS.setVolatile(labels, node, next);
+            label = next;
+            next = (int) INTS.getVolatile(labels, label);
+        }
+    }
+
+    private static int sampleLargest(int[] labels) {
+        if (labels.length == 0) {
+            return -1;
+        }
+        Random random = new Random(labels.length);
+        int[] sample = new int[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample[i] = labels[random.nextInt(labels.length)];
+        }
+        Arrays.sort(sample);
+        int best = sample[0];
+        int bestRun = 0;
+        for (int i = 0, run = 0; i < SAMPLE_SIZE; i++) {
+            run = i > 0 && sample[i] == sample[i - 1] ? run + 1 : 1;
+            if (run > bestRun) {
+                best = sample[i];
+                bestRun = run;
+            }
+        }
+        return best;
+    }
+
+    private void forEach(int n, IntConsumer action) {
+        pool.invoke(new Range(0, n, action));
+    }
+
+    private static final class Range extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        Range(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Range(from, mid, action), new Range(mid, to, action));
+            } else {
+                for (int node = from; node < to; node++) {
+                    action.accept(node);
+                }
+            }
+        }
+    }
+}
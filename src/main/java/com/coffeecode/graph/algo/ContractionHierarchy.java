@@ -0,0 +1,391 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.base.NodeInterner;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import com.coffeecode.graph.io.NodeCodec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Contraction hierarchy with a bidirectional upward query.
+ * <p>
+ * Every node has a rank from the contraction order. Edges, original or
+ * shortcut, are split into an upward graph (out-edges to higher ranks) and a
+ * downward graph (in-edges from higher ranks), each stored as primitive CSR
+ * arrays. A query runs Dijkstra upward from the source and, over reversed
+ * edges, upward from the target; both only ever settle a small part of the
+ * graph. Shortcuts remember the node they bypass so paths can be unpacked.
+ * <p>
+ * The hierarchy is a snapshot; rebuild it after the graph changes.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public final class ContractionHierarchy<T> implements ShortestPathAlgorithm<T> {
+
+    static final int NO_MIDDLE = -1;
+    private static final int MAGIC = 0x43524843; // "CHRC" in little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private final Object[] nodes;              // Node data by index
+    private final NodeInterner<T> nodeIndices;
+    private final int[] ranks;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final double[] downWeights;
+    private final int[] downMiddles;
+    private final ShortestPathWorkspace workspace;
+
+    private ContractionHierarchy(Object[] nodes, int[] ranks,
+            int[] upOffsets, int[] upTargets, double[] upWeights, int[] upMiddles,
+            int[] downOffsets, int[] downSources, double[] downWeights, int[] downMiddles) {
+        this.nodes = nodes;
+        this.nodeIndices = NodeInterner.of(nodes);
+        this.ranks = ranks;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+        this.workspace = newWorkspace();
+    }
+
+    /**
+     * Preprocesses the graph with default settings, see
+     * {@link ContractionHierarchyBuilder}.
+     */
+    public static <T> ContractionHierarchy<T> build(Graph<T> graph) {
+        return new ContractionHierarchyBuilder<>(graph).build();
+    }
+
+    public static <T> ContractionHierarchy<T> build(CompressedSparseRowGraph<T> graph) {
+        return new ContractionHierarchyBuilder<>(graph).build();
+    }
+
+    static <T> ContractionHierarchy<T> fromLists(CompressedSparseRowGraph<T> graph, int[] ranks,
+            ContractionHierarchyBuilder.EdgeList[] up, ContractionHierarchyBuilder.EdgeList[] down) {
+        int n = graph.getNodeCount();
+        Object[] nodes = new Object[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = graph.nodeAt(i);
+        }
+        int[] upOffsets = offsetsOf(up);
+        int[] downOffsets = offsetsOf(down);
+        int upCount = upOffsets[n];
+        int downCount = downOffsets[n];
+        int[] upTargets = new int[upCount];
+        double[] upWeights = new double[upCount];
+        int[] upMiddles = new int[upCount];
+        int[] downSources = new int[downCount];
+        double[] downWeights = new double[downCount];
+        int[] downMiddles = new int[downCount];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(up[v].nodes, 0, upTargets, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].weights, 0, upWeights, upOffsets[v], up[v].size);
+            System.arraycopy(up[v].middles, 0, upMiddles, upOffsets[v], up[v].size);
+            System.arraycopy(down[v].nodes, 0, downSources, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].weights, 0, downWeights, downOffsets[v], down[v].size);
+            System.arraycopy(down[v].middles, 0, downMiddles, downOffsets[v], down[v].size);
+        }
+        return new ContractionHierarchy<>(nodes, ranks, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+    }
+
+    private static int[] offsetsOf(ContractionHierarchyBuilder.EdgeList[] rows) {
+        int[] offsets = new int[rows.length + 1];
+        for (int v = 0; v < rows.length; v++) {
+            offsets[v + 1] = offsets[v] + rows[v].size;
+        }
+        return offsets;
+    }
+
+    @Override
+    public PathResult<T> findPath(T source, T target) {
+        return findPath(source, target, workspace);
+    }
+
+    @Override
+    public PathResult<T> findPath(T source, T target, ShortestPathWorkspace workspace) {
+        int sourceIndex = nodeIndices.indexOf(source);
+        int targetIndex = nodeIndices.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return PathResult.notFound();
+        }
+        ShortestPathWorkspace backward = workspace.reverse();
+        int meeting = search(sourceIndex, targetIndex, workspace, backward);
+        if (meeting < 0) {
+            return PathResult.notFound();
+        }
+
+        // Hierarchy path: source .. meeting from forward parents, meeting .. target from backward parents
+        int[] hops = new int[0];
+        int hopCount = 0;
+        for (int node = meeting; node != ShortestPathWorkspace.NO_PARENT; node = workspace.parent(node)) {
+            if (hopCount == hops.length) {
+                hops = Arrays.copyOf(hops, Math.max(8, hopCount << 1));
+            }
+            hops[hopCount++] = node;
+        }
+        List<T> path = new ArrayList<>();
+        path.add(nodeAt(sourceIndex));
+        for (int i = hopCount - 1; i > 0; i--) {
+            unpack(hops[i], hops[i - 1], path);
+        }
+        for (int node = meeting; backward.parent(node) != ShortestPathWorkspace.NO_PARENT;
+                node = backward.parent(node)) {
+            unpack(node, backward.parent(node), path);
+        }
+        return PathResult.found(path, workspace.cost(meeting) + backward.cost(meeting));
+    }
+
+    @Override
+    public double distance(T source, T target, ShortestPathWorkspace workspace) {
+        int sourceIndex = nodeIndices.indexOf(source);
+        int targetIndex = nodeIndices.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        ShortestPathWorkspace backward = workspace.reverse();
+        int meeting = search(sourceIndex, targetIndex, workspace, backward);
+        return meeting < 0 ? Double.POSITIVE_INFINITY : workspace.cost(meeting) + backward.cost(meeting);
+    }
+
+    @Override
+    public ShortestPathWorkspace newWorkspace() {
+        return new ShortestPathWorkspace(nodes.length);
+    }
+
+    /**
+     * Alternates the two upward searches. A direction stops once its queue
+     * minimum cannot improve the best meeting found so far. Expanded nodes of
+     * both directions are counted in the forward workspace.
+     *
+     * @return node where the shortest path peaks in the hierarchy, or -1
+     */
+    private int search(int source, int target, ShortestPathWorkspace forward, ShortestPathWorkspace backward) {
+        int n = nodes.length;
+        forward.begin(n);
+        backward.begin(n);
+        IndexedMinHeap forwardHeap = forward.heap();
+        IndexedMinHeap backwardHeap = backward.heap();
+        forward.update(source, 0.0, ShortestPathWorkspace.NO_PARENT);
+        forwardHeap.insertOrDecrease(source, 0.0);
+        backward.update(target, 0.0, ShortestPathWorkspace.NO_PARENT);
+        backwardHeap.insertOrDecrease(target, 0.0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            boolean forwardDone = forwardHeap.isEmpty() || forwardHeap.peekKey() >= best;
+            boolean backwardDone = backwardHeap.isEmpty() || backwardHeap.peekKey() >= best;
+            if (forwardDone && backwardDone) {
+                return meeting;
+            }
+            boolean stepForward = !forwardDone
+                    && (backwardDone || forwardHeap.peekKey() <= backwardHeap.peekKey());
+
+            ShortestPathWorkspace own = stepForward ? forward : backward;
+            ShortestPathWorkspace other = stepForward ? backward : forward;
+            int node = own.heap().poll();
+            forward.expanded();
+            double cost = own.cost(node);
+            if (other.isReached(node) && cost + other.cost(node) < best) {
+                best = cost + other.cost(node);
+                meeting = node;
+            }
+
+            int[] neighbors = stepForward ? upTargets : downSources;
+            double[] weights = stepForward ? upWeights : downWeights;
+            int[] offsets = stepForward ? upOffsets : downOffsets;
+            for (int e = offsets[node], end = offsets[node + 1]; e < end; e++) {
+                int neighbor = neighbors[e];
+                double candidate = cost + weights[e];
+                if (candidate < own.cost(neighbor)) {
+                    own.update(neighbor, candidate, node);
+                    own.heap().insertOrDecrease(neighbor, candidate);
+                }
+            }
+        }
+    }
+
+    // Appends the original nodes of edge from -> to, excluding from
+    private void unpack(int from, int to, List<T> path) {
+        int middle = middleOf(from, to);
+        if (middle == NO_MIDDLE) {
+            path.add(nodeAt(to));
+        } else {
+            unpack(from, middle, path);
+            unpack(middle, to, path);
+        }
+    }
+
+    private int middleOf(int from, int to) {
+        if (ranks[from] < ranks[to]) {
+            for (int e = upOffsets[from]; e < upOffsets[from + 1]; e++) {
+                if (upTargets[e] == to) {
+                    return upMiddles[e];
+                }
+            }
+        } else {
+            for (int e = downOffsets[to]; e < downOffsets[to + 1]; e++) {
+                if (downSources[e] == from) {
+                    return downMiddles[e];
+                }
+            }
+        }
+        throw new IllegalStateException("Missing hierarchy edge " + from + " -> " + to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T nodeAt(int index) {
+        return (T) nodes[index];
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return number of upward plus downward edges, shortcuts included
+     */
+    public int getEdgeCount() {
+        return upTargets.length + downSources.length;
+    }
+
+    /**
+     * @return contraction rank of the node, or -1 if unknown
+     */
+    public int getRank(T node) {
+        int index = nodeIndices.indexOf(node);
+        return index < 0 ? -1 : ranks[index];
+    }
+
+    /**
+     * Writes the hierarchy as little-endian arrays followed by a node table.
+     * The file is limited to 2 GiB.
+     */
+    public void write(Path file, NodeCodec<? super T> codec) throws IOException {
+        int n = nodes.length;
+        long nodeTableSize = 0;
+        for (int i = 0; i < n; i++) {
+            nodeTableSize += codec.size(nodeAt(i));
+        }
+        long size = HEADER_SIZE + (long) n * Integer.BYTES
+                + arraysSize(n, upTargets.length) + arraysSize(n, downSources.length) + nodeTableSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Hierarchy too large for a single file mapping: " + size + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(n)
+                    .putInt(upTargets.length).putInt(downSources.length)
+                    .putLong(nodeTableSize).putInt(0);
+            out.asIntBuffer().put(ranks);
+            out.position(out.position() + n * Integer.BYTES);
+            putArrays(out, upOffsets, upTargets, upWeights, upMiddles);
+            putArrays(out, downOffsets, downSources, downWeights, downMiddles);
+            for (int i = 0; i < n; i++) {
+                codec.write(nodeAt(i), out);
+            }
+            out.force();
+        }
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write}.
+     *
+     * @throws IOException if the file cannot be read or is not a hierarchy file
+     */
+    public static <T> ContractionHierarchy<T> read(Path file, NodeCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a hierarchy file: " + file);
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a hierarchy file: " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported hierarchy file version " + version + ": " + file);
+            }
+            int n = in.getInt();
+            int upCount = in.getInt();
+            int downCount = in.getInt();
+            long nodeTableSize = in.getLong();
+            in.getInt();
+            long expected = HEADER_SIZE + (long) n * Integer.BYTES
+                    + arraysSize(n, upCount) + arraysSize(n, downCount) + nodeTableSize;
+            if (channel.size() < expected) {
+                throw new IOException("Truncated hierarchy file: " + file);
+            }
+
+            int[] ranks = getInts(in, n);
+            int[] upOffsets = getInts(in, n + 1);
+            int[] upTargets = getInts(in, upCount);
+            double[] upWeights = getDoubles(in, upCount);
+            int[] upMiddles = getInts(in, upCount);
+            int[] downOffsets = getInts(in, n + 1);
+            int[] downSources = getInts(in, downCount);
+            double[] downWeights = getDoubles(in, downCount);
+            int[] downMiddles = getInts(in, downCount);
+            Object[] nodes = new Object[n];
+            for (int i = 0; i < n; i++) {
+                nodes[i] = codec.read(in);
+            }
+            try {
+                return new ContractionHierarchy<>(nodes, ranks, upOffsets, upTargets, upWeights, upMiddles,
+                        downOffsets, downSources, downWeights, downMiddles);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt hierarchy node table: " + file, e);
+            }
+        }
+    }
+
+    private static long arraysSize(int n, int edges) {
+        return (n + 1L) * Integer.BYTES + (long) edges * (2 * Integer.BYTES + Double.BYTES);
+    }
+
+    private static void putArrays(ByteBuffer out, int[] offsets, int[] nodes, double[] weights, int[] middles) {
+        out.asIntBuffer().put(offsets);
+        out.position(out.position() + offsets.length * Integer.BYTES);
+        out.asIntBuffer().put(nodes);
+        out.position(out.position() + nodes.length * Integer.BYTES);
+        out.asDoubleBuffer().put(weights);
+        out.position(out.position() + weights.length * Double.BYTES);
+        out.asIntBuffer().put(middles);
+        out.position(out.position() + middles.length * Integer.BYTES);
+    }
+
+    private static int[] getInts(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] getDoubles(ByteBuffer in, int count) {
+        double[] values = new double[count];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + count * Double.BYTES);
+        return values;
+    }
+}
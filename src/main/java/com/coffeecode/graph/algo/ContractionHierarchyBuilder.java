@@ -0,0 +1,440 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import lombok.extern.slf4j.Slf4j;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Preprocessing for {@link ContractionHierarchy}.
+ * <p>
+ * Nodes are contracted in rounds. Each round picks an independent set of
+ * nodes whose priority (shortcuts added minus edges removed plus contracted
+ * neighbors) is a local minimum, runs the witness searches of all of them in
+ * parallel and then applies their shortcuts. Witness searches ignore every
+ * node of the current set, so contracting the set at once never loses a
+ * shortest path. Searches stop after a bounded number of settled nodes and
+ * conservatively add the shortcut when no witness was found.
+ * <p>
+ * Undirected graphs are contracted as symmetric directed graphs.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public class ContractionHierarchyBuilder<T> {
+
+    static final int DEFAULT_SETTLE_LIMIT = 500;
+    private static final int GRAIN = 64;
+
+    private final CompressedSparseRowGraph<T> graph;
+    private final ForkJoinPool pool;
+    private final int settleLimit;
+
+    // Remaining graph, edges only between uncontracted nodes
+    private EdgeList[] out;
+    private EdgeList[] in;
+    private int[] priorities;
+    private int[] deletedNeighbors;
+    private boolean[] inCurrentSet;
+
+    public ContractionHierarchyBuilder(Graph<T> graph) {
+        this(CompressedSparseRowGraph.copyOf(graph));
+    }
+
+    public ContractionHierarchyBuilder(CompressedSparseRowGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool(), DEFAULT_SETTLE_LIMIT);
+    }
+
+    /**
+     * @param settleLimit nodes a witness search may settle before giving up
+     */
+    public ContractionHierarchyBuilder(CompressedSparseRowGraph<T> graph, ForkJoinPool pool, int settleLimit) {
+        this.graph = graph;
+        this.pool = pool;
+        this.settleLimit = settleLimit;
+    }
+
+    public ContractionHierarchy<T> build() {
+        int n = graph.getNodeCount();
+        initRemainingGraph(n);
+        priorities = new int[n];
+        deletedNeighbors = new int[n];
+        inCurrentSet = new boolean[n];
+        int[] ranks = new int[n];
+        EdgeList[] up = new EdgeList[n];
+        EdgeList[] down = new EdgeList[n];
+        // Idle searches, borrowed per leaf task and dropped with the build
+        Queue<WitnessSearch> searches = new ConcurrentLinkedQueue<>();
+
+        int[] remaining = new int[n];
+        Arrays.setAll(remaining, i -> i);
+        int remainingCount = n;
+        parallelSearch(n, searches, (search, v) -> priorities[v] = priority(v, search));
+
+        int nextRank = 0;
+        int rounds = 0;
+        int[] set = new int[n];
+        boolean[] dirty = new boolean[n];
+        int[] dirtyNodes = new int[n];
+        while (remainingCount > 0) {
+            int[] candidates = remaining;
+            parallelFor(remainingCount, i -> inCurrentSet[candidates[i]] = isLocalMinimum(candidates[i]));
+            int setSize = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (inCurrentSet[remaining[i]]) {
+                    set[setSize++] = remaining[i];
+                }
+            }
+
+            ShortcutBuffer[] shortcuts = new ShortcutBuffer[setSize];
+            int[] contracting = set;
+            parallelSearch(setSize, searches, (search, i) -> {
+                shortcuts[i] = new ShortcutBuffer();
+                search.findShortcuts(contracting[i], inCurrentSet, shortcuts[i]);
+            });
+
+            int dirtyCount = 0;
+            for (int i = 0; i < setSize; i++) {
+                int v = set[i];
+                ranks[v] = nextRank++;
+                up[v] = out[v];
+                down[v] = in[v];
+                dirtyCount = detach(v, dirty, dirtyNodes, dirtyCount);
+                ShortcutBuffer buffer = shortcuts[i];
+                for (int s = 0; s < buffer.size; s++) {
+                    out[buffer.sources[s]].addOrDecrease(buffer.targets[s], buffer.weights[s], v);
+                    in[buffer.targets[s]].addOrDecrease(buffer.sources[s], buffer.weights[s], v);
+                }
+            }
+            for (int i = 0; i < setSize; i++) {
+                inCurrentSet[set[i]] = false;
+            }
+
+            int kept = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (out[remaining[i]] != null) {
+                    remaining[kept++] = remaining[i];
+                }
+            }
+            remainingCount = kept;
+
+            int[] updated = dirtyNodes;
+            parallelSearch(dirtyCount, searches, (search, i) -> priorities[updated[i]] = priority(updated[i], search));
+            for (int i = 0; i < dirtyCount; i++) {
+                dirty[dirtyNodes[i]] = false;
+            }
+            rounds++;
+        }
+
+        log.debug("Contracted {} nodes in {} rounds", n, rounds);
+        return ContractionHierarchy.fromLists(graph, ranks, up, down);
+    }
+
+    private void initRemainingGraph(int n) {
+        out = new EdgeList[n];
+        in = new EdgeList[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new EdgeList();
+            in[v] = new EdgeList();
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int target = graph.edgeTarget(e);
+                double weight = graph.edgeWeight(e);
+                if (!(weight >= 0)) {
+                    throw new GraphValidationException(
+                            "Contraction hierarchies require non-negative edge weights");
+                }
+                if (target != v) {
+                    out[v].addOrDecrease(target, weight, ContractionHierarchy.NO_MIDDLE);
+                    in[target].addOrDecrease(v, weight, ContractionHierarchy.NO_MIDDLE);
+                }
+            }
+        }
+    }
+
+    // Removes v from the remaining graph; its lists become hierarchy edges
+    private int detach(int v, boolean[] dirty, int[] dirtyNodes, int dirtyCount) {
+        EdgeList outgoing = out[v];
+        EdgeList incoming = in[v];
+        out[v] = null;
+        in[v] = null;
+        for (int i = 0; i < outgoing.size; i++) {
+            int w = outgoing.nodes[i];
+            in[w].remove(v);
+            dirtyCount = markDirty(w, dirty, dirtyNodes, dirtyCount);
+        }
+        for (int i = 0; i < incoming.size; i++) {
+            int u = incoming.nodes[i];
+            out[u].remove(v);
+            dirtyCount = markDirty(u, dirty, dirtyNodes, dirtyCount);
+        }
+        return dirtyCount;
+    }
+
+    private int markDirty(int node, boolean[] dirty, int[] dirtyNodes, int dirtyCount) {
+        if (!dirty[node]) {
+            dirty[node] = true;
+            deletedNeighbors[node]++;
+            dirtyNodes[dirtyCount++] = node;
+        }
+        return dirtyCount;
+    }
+
+    private int priority(int v, WitnessSearch search) {
+        int shortcuts = search.findShortcuts(v, null, null);
+        return shortcuts - out[v].size - in[v].size + deletedNeighbors[v];
+    }
+
+    // Ties are broken by index so exactly one of two equal neighbors wins
+    private boolean isLocalMinimum(int v) {
+        return isBelow(v, out[v]) && isBelow(v, in[v]);
+    }
+
+    private boolean isBelow(int v, EdgeList neighbors) {
+        int priority = priorities[v];
+        for (int i = 0; i < neighbors.size; i++) {
+            int u = neighbors.nodes[i];
+            if (priorities[u] < priority || (priorities[u] == priority && u < v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void parallelFor(int count, IntConsumer body) {
+        if (count > 0) {
+            pool.invoke(new Range(body, 0, count));
+        }
+    }
+
+    private void parallelSearch(int count, Queue<WitnessSearch> searches, ObjIntConsumer<WitnessSearch> body) {
+        if (count > 0) {
+            pool.invoke(new SearchRange(searches, body, 0, count));
+        }
+    }
+
+    private static final class Range extends RecursiveAction {
+
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        Range(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Range(body, from, mid), new Range(body, mid, to));
+            } else {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Range whose leaves run with a witness search borrowed from the queue,
+     * so the pool never holds more searches than tasks running at once.
+     */
+    private final class SearchRange extends RecursiveAction {
+
+        private final Queue<WitnessSearch> searches;
+        private final ObjIntConsumer<WitnessSearch> body;
+        private final int from;
+        private final int to;
+
+        SearchRange(Queue<WitnessSearch> searches, ObjIntConsumer<WitnessSearch> body, int from, int to) {
+            this.searches = searches;
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SearchRange(searches, body, from, mid), new SearchRange(searches, body, mid, to));
+                return;
+            }
+            WitnessSearch search = searches.poll();
+            if (search == null) {
+                search = new WitnessSearch(graph.getNodeCount());
+            }
+            try {
+                for (int i = from; i < to; i++) {
+                    body.accept(search, i);
+                }
+            } finally {
+                searches.offer(search);
+            }
+        }
+    }
+
+    /**
+     * Growable adjacency row with one entry per neighbor.
+     */
+    static final class EdgeList {
+
+        int[] nodes = new int[4];
+        double[] weights = new double[4];
+        int[] middles = new int[4];
+        int size;
+
+        void addOrDecrease(int node, double weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+                middles = Arrays.copyOf(middles, size << 1);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size++] = middle;
+        }
+
+        void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class ShortcutBuffer {
+
+        private int[] sources = new int[8];
+        private int[] targets = new int[8];
+        private double[] weights = new double[8];
+        private int size;
+
+        void add(int source, int target, double weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size << 1);
+                targets = Arrays.copyOf(targets, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size++] = weight;
+        }
+    }
+
+    /**
+     * Bounded Dijkstra over the remaining graph, used by one task at a time.
+     */
+    private final class WitnessSearch {
+
+        private final double[] costs;
+        private final int[] stamps;
+        private final IndexedMinHeap heap;
+        private int generation;
+
+        WitnessSearch(int capacity) {
+            this.costs = new double[capacity];
+            this.stamps = new int[capacity];
+            this.heap = new IndexedMinHeap(capacity);
+        }
+
+        /**
+         * Finds the shortcuts needed to contract v, skipping v and the nodes
+         * flagged in excluded.
+         *
+         * @param result receives the shortcuts, or null to only count them
+         * @return number of shortcuts
+         */
+        int findShortcuts(int v, boolean[] excluded, ShortcutBuffer result) {
+            EdgeList incoming = in[v];
+            EdgeList outgoing = out[v];
+            double maxOut = 0;
+            for (int j = 0; j < outgoing.size; j++) {
+                maxOut = Math.max(maxOut, outgoing.weights[j]);
+            }
+
+            int count = 0;
+            for (int i = 0; i < incoming.size; i++) {
+                int u = incoming.nodes[i];
+                double toV = incoming.weights[i];
+                search(u, v, excluded, toV + maxOut);
+                for (int j = 0; j < outgoing.size; j++) {
+                    int w = outgoing.nodes[j];
+                    if (w == u) {
+                        continue;
+                    }
+                    double viaV = toV + outgoing.weights[j];
+                    if (cost(w) > viaV) {
+                        count++;
+                        if (result != null) {
+                            result.add(u, w, viaV);
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        private void search(int source, int skipped, boolean[] excluded, double maxCost) {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+            heap.clear();
+            stamps[source] = generation;
+            costs[source] = 0.0;
+            heap.insertOrDecrease(source, 0.0);
+
+            int settled = 0;
+            while (!heap.isEmpty() && settled++ < settleLimit) {
+                if (heap.peekKey() > maxCost) {
+                    return;
+                }
+                int x = heap.poll();
+                double cost = costs[x];
+                EdgeList edges = out[x];
+                for (int e = 0; e < edges.size; e++) {
+                    int y = edges.nodes[e];
+                    if (y == skipped || (excluded != null && excluded[y])) {
+                        continue;
+                    }
+                    double candidate = cost + edges.weights[e];
+                    if (candidate < cost(y)) {
+                        stamps[y] = generation;
+                        costs[y] = candidate;
+                        heap.insertOrDecrease(y, candidate);
+                    }
+                }
+            }
+        }
+
+        private double cost(int node) {
+            return stamps[node] == generation ? costs[node] : Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.base.CompressedGraph;
+import java.util.function.BiConsumer;
+
+/**
+ * Dijkstra shortest path search over a compressed-sparse-row snapshot.
+ * <p>
+ * The search keeps all state in a {@link ShortestPathWorkspace} and an
+ * {@link IndexedMinHeap} with decrease-key, so repeated queries with a
+ * reused workspace allocate nothing except the returned path.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class DijkstraShortestPath<T> extends AbstractShortestPath<T> {
+
+    /**
+     * Follows the graph: the search snapshot is rebuilt after modifications.
+     */
+    public DijkstraShortestPath(Graph<T> graph) {
+        super(graph);
+    }
+
+    public DijkstraShortestPath(CompressedGraph<T> graph) {
+        super(graph);
+    }
+
+    /**
+     * Builds the full shortest path tree once and reads every target's path
+     * from it.
+     */
+    @Override
+    public void findPaths(T source, Iterable<? extends T> targets, ShortestPathWorkspace workspace,
+            BiConsumer<? super T, PathResult<T>> action) {
+        CompressedGraph<T> graph = graph();
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex >= 0) {
+            search(graph, sourceIndex, NO_TARGET, workspace);
+        }
+        for (T target : targets) {
+            int targetIndex = graph.indexOf(target);
+            action.accept(target, sourceIndex < 0 || targetIndex < 0
+                    ? PathResult.notFound()
+                    : buildPath(graph, targetIndex, workspace));
+        }
+    }
+
+    @Override
+    protected void search(CompressedGraph<T> graph, int source, int target,
+            ShortestPathWorkspace workspace) {
+        workspace.begin(graph.getNodeCount());
+        IndexedMinHeap heap = workspace.heap();
+        workspace.update(source, 0.0, ShortestPathWorkspace.NO_PARENT);
+        heap.insertOrDecrease(source, 0.0);
+
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            workspace.expanded();
+            if (node == target) {
+                return;
+            }
+            double cost = workspace.cost(node);
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                int neighbor = graph.edgeTarget(e);
+                double candidate = cost + graph.edgeWeight(e);
+                if (candidate < workspace.cost(neighbor)) {
+                    workspace.update(neighbor, candidate, node);
+                    heap.insertOrDecrease(neighbor, candidate);
+                }
+            }
+        }
+    }
+}
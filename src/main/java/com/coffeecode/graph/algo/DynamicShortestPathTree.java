@@ -0,0 +1,317 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.NodeInterner;
+import com.coffeecode.graph.base.ObservableGraph;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import java.util.*;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Single-source shortest path tree that stays valid while the graph changes.
+ * <p>
+ * Changes are repaired in the style of Ramalingam and Reps. A new or cheaper
+ * edge that shortens the path to its target is propagated with a Dijkstra
+ * search that only visits nodes whose distance drops. Removing a tree edge,
+ * making it more expensive or removing a tree node invalidates just the
+ * subtree below it: those nodes are reset, seeded with their best distance
+ * through predecessors outside the subtree and settled by a Dijkstra search
+ * confined to what changed. Changes to non-tree edges that do not shorten a
+ * path cost one comparison.
+ * <p>
+ * Edge weights must be non-negative; {@link #attach} rejects a graph that has
+ * others. Edges that later arrive with a negative or NaN weight are treated
+ * as absent and counted in {@link #getIgnoredEdgeCount()}, because throwing
+ * from a listener would leave the tree half repaired and hide the change
+ * from listeners registered after it. Not thread-safe: repairs run on the
+ * thread that modifies the graph, which must not be modified concurrently.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public final class DynamicShortestPathTree<T> implements GraphListener<T> {
+
+    private static final int NO_PARENT = -1;
+
+    private final ObservableGraph<T> graph;
+    @Getter
+    private final T source;
+    private final NodeInterner<T> interner = new NodeInterner<>();
+    private final IndexedMinHeap heap = new IndexedMinHeap(16);
+    private double[] distances = new double[16];
+    private int[] parents = new int[16];
+    private int[] marks = new int[16]; // Epoch in which a node joined the repaired subtree
+    private int epoch;
+    private int[] affected = new int[16];
+    // Nodes settled by searches since the tree was attached
+    @Getter
+    private long settledCount;
+    // Edge additions and weight changes skipped for an invalid weight
+    @Getter
+    private long ignoredEdgeCount;
+
+    private DynamicShortestPathTree(ObservableGraph<T> graph, T source) {
+        this.graph = graph;
+        this.source = source;
+    }
+
+    /**
+     * Computes the shortest path tree from the source and registers it as a
+     * listener, so later changes are repaired automatically.
+     *
+     * @throws GraphValidationException if an edge weight is negative or NaN
+     */
+    public static <T> DynamicShortestPathTree<T> attach(ObservableGraph<T> graph, T source) {
+        DynamicShortestPathTree<T> tree = new DynamicShortestPathTree<>(graph, source);
+        for (T node : graph.getNodes()) {
+            tree.nodeAdded(node);
+            graph.forEachNeighbor(node, (neighbor, weight) -> {
+                if (!isUsable(weight)) {
+                    throw new GraphValidationException("Shortest path tree requires non-negative edge weights");
+                }
+            });
+        }
+        int root = tree.interner.indexOf(source);
+        if (root >= 0) {
+            tree.heap.insertOrDecrease(root, 0.0);
+            tree.propagate();
+        }
+        graph.addGraphListener(tree);
+        log.debug("Built shortest path tree from {} over {} nodes", source, tree.interner.size());
+        return tree;
+    }
+
+    /**
+     * Stops following the graph; the tree keeps its last state.
+     */
+    public void detach() {
+        graph.removeGraphListener(this);
+    }
+
+    /**
+     * @return distance from the source, or infinity if the node is unknown
+     * or unreachable
+     */
+    public double getDistance(T node) {
+        int index = interner.indexOf(node);
+        return index < 0 ? Double.POSITIVE_INFINITY : distances[index];
+    }
+
+    public boolean isReachable(T node) {
+        return getDistance(node) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return parent in the tree, or null for the source and unreachable nodes
+     */
+    public T getParent(T node) {
+        int index = interner.indexOf(node);
+        return index < 0 || parents[index] == NO_PARENT ? null : interner.nodeAt(parents[index]);
+    }
+
+    public PathResult<T> getPath(T target) {
+        int index = interner.indexOf(target);
+        if (index < 0 || distances[index] == Double.POSITIVE_INFINITY) {
+            return PathResult.notFound();
+        }
+        List<T> path = new ArrayList<>();
+        for (int node = index; node != NO_PARENT; node = parents[node]) {
+            path.add(interner.nodeAt(node));
+        }
+        Collections.reverse(path);
+        return PathResult.found(path, distances[index]);
+    }
+
+    @Override
+    public void nodeAdded(T node) {
+        int index = interner.add(node);
+        if (index < 0) {
+            return;
+        }
+        ensureCapacity(index + 1);
+        distances[index] = node.equals(source) ? 0.0 : Double.POSITIVE_INFINITY;
+        parents[index] = NO_PARENT;
+        marks[index] = 0;
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        int index = interner.indexOf(node);
+        if (index < 0) {
+            return;
+        }
+        if (node.equals(source)) {
+            interner.remove(node);
+            Arrays.fill(distances, 0, interner.getIndexBound(), Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, 0, interner.getIndexBound(), NO_PARENT);
+            return;
+        }
+
+        // The node's edges are already gone, so its children are found by their parent links
+        int count = 0;
+        epoch++;
+        for (int i = 0; i < interner.getIndexBound(); i++) {
+            if (parents[i] == index) {
+                marks[i] = epoch;
+                affected[count++] = i;
+            }
+        }
+        interner.remove(node);
+        distances[index] = Double.POSITIVE_INFINITY;
+        parents[index] = NO_PARENT;
+        if (count > 0) {
+            repair(count);
+        }
+    }
+
+    @Override
+    public void edgeAdded(T source, T target, double weight) {
+        if (!isUsable(weight)) {
+            // The edge may have been in the tree with its previous weight
+            ignoredEdgeCount++;
+            log.debug("Ignoring edge {} -> {} with invalid weight {}", source, target, weight);
+            edgeRemoved(source, target);
+            return;
+        }
+        improve(source, target, weight);
+        if (!graph.isDirected()) {
+            improve(target, source, weight);
+        }
+    }
+
+    @Override
+    public void edgeWeightChanged(T source, T target, double oldWeight, double newWeight) {
+        // An edge that was ignored before acts like a new one
+        if (newWeight < oldWeight || !isUsable(oldWeight) || !isUsable(newWeight)) {
+            edgeAdded(source, target, newWeight);
+        } else {
+            edgeRemoved(source, target);
+        }
+    }
+
+    @Override
+    public void edgeRemoved(T source, T target) {
+        invalidate(source, target);
+        if (!graph.isDirected()) {
+            invalidate(target, source);
+        }
+    }
+
+    @Override
+    public void graphCleared() {
+        interner.clear();
+        heap.clear();
+    }
+
+    // Propagates a possibly shorter path through the edge
+    private void improve(T source, T target, double weight) {
+        int from = interner.indexOf(source);
+        int to = interner.indexOf(target);
+        if (from < 0 || to < 0 || distances[from] + weight >= distances[to]) {
+            return;
+        }
+        distances[to] = distances[from] + weight;
+        parents[to] = from;
+        heap.insertOrDecrease(to, distances[to]);
+        propagate();
+    }
+
+    // Repairs the subtree below the edge if the tree used it
+    private void invalidate(T source, T target) {
+        int from = interner.indexOf(source);
+        int to = interner.indexOf(target);
+        if (from < 0 || to < 0 || parents[to] != from) {
+            return;
+        }
+        epoch++;
+        marks[to] = epoch;
+        affected[0] = to;
+        repair(1);
+    }
+
+    /**
+     * Recomputes the subtrees rooted at the first {@code count} entries of
+     * {@link #affected}, which must be marked with the current epoch.
+     */
+    private void repair(int count) {
+        // Collect the subtrees; children are the successors whose parent link points back
+        for (int i = 0; i < count; i++) {
+            int node = affected[i];
+            int[] size = {count};
+            graph.forEachNeighbor(interner.nodeAt(node), (neighbor, weight) -> {
+                int child = interner.indexOf(neighbor);
+                if (parents[child] == node && marks[child] != epoch) {
+                    marks[child] = epoch;
+                    affected[size[0]++] = child;
+                }
+            });
+            count = size[0];
+        }
+        for (int i = 0; i < count; i++) {
+            distances[affected[i]] = Double.POSITIVE_INFINITY;
+            parents[affected[i]] = NO_PARENT;
+        }
+
+        // Seed each node with its best path entering from outside the subtree
+        for (int i = 0; i < count; i++) {
+            int node = affected[i];
+            forEachPredecessor(interner.nodeAt(node), (predecessor, weight) -> {
+                int from = interner.indexOf(predecessor);
+                if (isUsable(weight) && marks[from] != epoch && distances[from] + weight < distances[node]) {
+                    distances[node] = distances[from] + weight;
+                    parents[node] = from;
+                }
+            });
+            if (distances[node] < Double.POSITIVE_INFINITY) {
+                heap.insertOrDecrease(node, distances[node]);
+            }
+        }
+        propagate();
+        log.debug("Repaired shortest path subtree of {} nodes", count);
+    }
+
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            settledCount++;
+            double distance = distances[node];
+            graph.forEachNeighbor(interner.nodeAt(node), (neighbor, weight) -> {
+                int target = interner.indexOf(neighbor);
+                if (isUsable(weight) && distance + weight < distances[target]) {
+                    distances[target] = distance + weight;
+                    parents[target] = node;
+                    heap.insertOrDecrease(target, distances[target]);
+                }
+            });
+        }
+    }
+
+    private void forEachPredecessor(T node, ObjDoubleConsumer<T> action) {
+        if (!graph.isDirected()) {
+            graph.forEachNeighbor(node, action);
+            return;
+        }
+        for (T predecessor : graph.getPredecessors(node)) {
+            action.accept(predecessor, graph.getEdgeWeight(predecessor, node));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= distances.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, distances.length + (distances.length >> 1));
+        distances = Arrays.copyOf(distances, newCapacity);
+        parents = Arrays.copyOf(parents, newCapacity);
+        marks = Arrays.copyOf(marks, newCapacity);
+        affected = Arrays.copyOf(affected, newCapacity);
+        heap.ensureCapacity(newCapacity);
+    }
+
+    // Also false for NaN, which would otherwise slip through every comparison
+    private static boolean isUsable(double weight) {
+        return weight >= 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.coffeecode.graph.algo;
+
+/**
+ * Estimate of the remaining path cost used by goal-directed searches.
+ * Admissible heuristics never return more than the true remaining cost.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@FunctionalInterface
+public interface Heuristic<T> {
+
+    double estimate(T node, T target);
+}
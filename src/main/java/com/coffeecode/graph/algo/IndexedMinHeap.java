@@ -0,0 +1,150 @@
+package com.coffeecode.graph.algo;
+
+import java.util.Arrays;
+
+/**
+ * Indexed 4-ary min-heap over int ids with primitive double keys.
+ * <p>
+ * Supports decrease-key in O(log n) without allocating entry objects. Ids
+ * must lie in {@code 0 .. capacity-1}; the heap can be reused after
+ * {@link #clear()}.
+ */
+public final class IndexedMinHeap {
+
+    private static final int ARITY = 4;
+    private static final int ABSENT = -1;
+
+    private int[] heap;       // Heap slots holding ids
+    private int[] positions;  // Slot of each id, or ABSENT
+    private double[] keys;    // Key of each id
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+        int oldCapacity = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, ABSENT);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] != ABSENT;
+    }
+
+    /**
+     * Inserts the id, or lowers its key if it is already queued.
+     *
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int position = positions[id];
+        if (position == ABSENT) {
+            keys[id] = key;
+            heap[size] = id;
+            positions[id] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(position);
+            return true;
+        }
+        return false;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     */
+    public int poll() {
+        int min = heap[0];
+        positions[min] = ABSENT;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (true) {
+            int first = position * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size);
+            int best = first;
+            double bestKey = keys[heap[first]];
+            for (int child = first + 1; child < last; child++) {
+                double childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            int bestId = heap[best];
+            heap[position] = bestId;
+            positions[bestId] = position;
+            position = best;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
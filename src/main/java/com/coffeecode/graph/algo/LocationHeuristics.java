@@ -0,0 +1,40 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.model.Location;
+
+/**
+ * A* heuristics for graphs whose nodes are {@link Location}s.
+ * <p>
+ * Each heuristic multiplies a distance by {@code scale}, which converts it into
+ * edge weight units (e.g. minutes per kilometer for travel-time weights). The
+ * heuristic is admissible as long as no edge is cheaper than
+ * {@code scale * distance} between its endpoints.
+ */
+public final class LocationHeuristics {
+
+    private LocationHeuristics() {
+    }
+
+    /**
+     * Planar distance in degrees, see {@link Location#distanceTo(Location)}.
+     */
+    public static <T extends Location> Heuristic<T> planar(double scale) {
+        return (node, target) -> scale * node.distanceTo(target);
+    }
+
+    /**
+     * Great-circle distance in kilometers.
+     */
+    public static <T extends Location> Heuristic<T> haversine(double scale) {
+        return (node, target) -> scale * node.haversineDistanceTo(target);
+    }
+
+    /**
+     * Cheaper approximation of the great-circle distance in kilometers. It can
+     * overestimate slightly over long distances, so pick a scale with some
+     * margin if strict optimality matters.
+     */
+    public static <T extends Location> Heuristic<T> equirectangular(double scale) {
+        return (node, target) -> scale * node.equirectangularDistanceTo(target);
+    }
+}
@@ -0,0 +1,281 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import lombok.extern.slf4j.Slf4j;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Minimum spanning forest of an undirected graph.
+ * <p>
+ * {@link #boruvka()} runs parallel Borůvka rounds: every component picks its
+ * lightest outgoing edge, claimed with a CAS, components hook along those
+ * edges and labels are flattened, halving the component count each round.
+ * Ties are broken by endpoint indices, so the edge order is total and
+ * hooking cannot form cycles. {@link #kruskal()} and {@link #prim()} are
+ * single-threaded baselines; {@link #compute()} picks Kruskal for small
+ * graphs and Borůvka otherwise.
+ * <p>
+ * All variants run over a compressed-sparse-row snapshot.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public class MinimumSpanningForest<T> {
+
+    // Graphs with fewer edge entries are not worth parallelizing
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // Nodes handled by one fork-join leaf task
+    private static final int GRAIN = 2048;
+    private static final int NONE = -1;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final CompressedSparseRowGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * @throws GraphValidationException if the graph is directed
+     */
+    public MinimumSpanningForest(Graph<T> graph) {
+        this(CompressedSparseRowGraph.copyOf(graph));
+    }
+
+    public MinimumSpanningForest(CompressedSparseRowGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public MinimumSpanningForest(CompressedSparseRowGraph<T> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) {
+            throw new GraphValidationException("Minimum spanning forest requires an undirected graph");
+        }
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public SpanningForest<T> compute() {
+        return graph.edgeEnd(graph.getNodeCount() - 1) < PARALLEL_THRESHOLD ? kruskal() : boruvka();
+    }
+
+    public SpanningForest<T> boruvka() {
+        int n = graph.getNodeCount();
+        int[] edgeSources = new int[graph.edgeEnd(n - 1)];
+        int[] labels = new int[n]; // Component root of each node
+        int[] hooks = new int[n];  // Component each root merges into this round
+        int[] best = new int[n];
+        forEach(n, node -> {
+            labels[node] = node;
+            for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                edgeSources[e] = node;
+            }
+        });
+
+        // A forest has at most n - 1 edges
+        int[] picked = new int[Math.max(0, n - 1)];
+        AtomicInteger pickedCount = new AtomicInteger();
+        int rounds = 0;
+        for (int hooked = 1; hooked > 0; rounds++) {
+            Arrays.fill(best, NONE);
+            forEach(n, node -> {
+                int component = labels[node];
+                for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                    if (labels[graph.edgeTarget(e)] != component) {
+                        offer(best, component, e, edgeSources);
+                    }
+                }
+            });
+
+            int before = pickedCount.get();
+            // Hook each root along its edge; of two roots picking each other the smaller stays
+            forEach(n, root -> {
+                hooks[root] = root;
+                int edge = best[root];
+                if (edge == NONE) {
+                    return;
+                }
+                int other = labels[graph.edgeTarget(edge)];
+                int back = best[other];
+                if (back != NONE && root < other && sameEdge(edge, back, edgeSources)) {
+                    return;
+                }
+                hooks[root] = other;
+                picked[pickedCount.getAndIncrement()] = edge;
+            });
+            hooked = pickedCount.get() - before;
+
+            // Follow the hooks to the new roots; the ordering rules out cycles
+            forEach(n, node -> {
+                int root = labels[node];
+                while (hooks[root] != root) {
+                    root = hooks[root];
+                }
+                labels[node] = root;
+            });
+        }
+
+        log.debug("Boruvka finished after {} rounds", rounds);
+        return forest(picked, pickedCount.get(), edgeSources);
+    }
+
+    public SpanningForest<T> kruskal() {
+        int n = graph.getNodeCount();
+        int m = graph.edgeEnd(n - 1);
+        int[] edgeSources = new int[m];
+        int count = 0;
+        Integer[] order = new Integer[m];
+        for (int node = 0; node < n; node++) {
+            for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                edgeSources[e] = node;
+                // Undirected edges are stored in both rows; keep one copy
+                if (node < graph.edgeTarget(e)) {
+                    order[count++] = e;
+                }
+            }
+        }
+        Arrays.sort(order, 0, count, (a, b) -> compare(a, b, edgeSources));
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        int[] picked = new int[Math.max(0, n - 1)];
+        int pickedCount = 0;
+        for (int i = 0; i < count && pickedCount < n - 1; i++) {
+            int edge = order[i];
+            int a = find(parent, edgeSources[edge]);
+            int b = find(parent, graph.edgeTarget(edge));
+            if (a != b) {
+                parent[a] = b;
+                picked[pickedCount++] = edge;
+            }
+        }
+        return forest(picked, pickedCount, edgeSources);
+    }
+
+    public SpanningForest<T> prim() {
+        int n = graph.getNodeCount();
+        int[] edgeSources = new int[graph.edgeEnd(n - 1)];
+        int[] via = new int[n];
+        double[] keys = new double[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(via, NONE);
+        Arrays.fill(keys, Double.POSITIVE_INFINITY);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        int[] picked = new int[Math.max(0, n - 1)];
+        int pickedCount = 0;
+
+        // Grow one tree from every node not yet spanned
+        for (int start = 0; start < n; start++) {
+            if (inTree[start]) {
+                continue;
+            }
+            heap.insertOrDecrease(start, 0.0);
+            while (!heap.isEmpty()) {
+                int node = heap.poll();
+                inTree[node] = true;
+                if (via[node] != NONE) {
+                    picked[pickedCount++] = via[node];
+                }
+                for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                    edgeSources[e] = node;
+                    int target = graph.edgeTarget(e);
+                    if (!inTree[target] && graph.edgeWeight(e) < keys[target]) {
+                        keys[target] = graph.edgeWeight(e);
+                        via[target] = e;
+                        heap.insertOrDecrease(target, keys[target]);
+                    }
+                }
+            }
+        }
+        return forest(picked, pickedCount, edgeSources);
+    }
+
+    // Lowers the component's best edge, retrying when another task got there first
+    private void offer(int[] best, int component, int edge, int[] edgeSources) {
+        int current = (int) INTS.getVolatile(best, component);
+        while (current == NONE || compare(edge, current, edgeSources) < 0) {
+            int witness = (int) INTS.compareAndExchange(best, component, current, edge);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    // Orders edges by weight, then by their unordered endpoint pair
+    private int compare(int first, int second, int[] edgeSources) {
+        int byWeight = Double.compare(graph.edgeWeight(first), graph.edgeWeight(second));
+        if (byWeight != 0) {
+            return byWeight;
+        }
+        int firstSource = edgeSources[first];
+        int firstTarget = graph.edgeTarget(first);
+        int secondSource = edgeSources[second];
+        int secondTarget = graph.edgeTarget(second);
+        int byLow = Integer.compare(Math.min(firstSource, firstTarget), Math.min(secondSource, secondTarget));
+        return byLow != 0 ? byLow
+                : Integer.compare(Math.max(firstSource, firstTarget), Math.max(secondSource, secondTarget));
+    }
+
+    private boolean sameEdge(int first, int second, int[] edgeSources) {
+        return edgeSources[first] == graph.edgeTarget(second)
+                && graph.edgeTarget(first) == edgeSources[second];
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private SpanningForest<T> forest(int[] picked, int count, int[] edgeSources) {
+        int[] sources = new int[count];
+        int[] targets = new int[count];
+        double[] weights = new double[count];
+        for (int i = 0; i < count; i++) {
+            int edge = picked[i];
+            sources[i] = edgeSources[edge];
+            targets[i] = graph.edgeTarget(edge);
+            weights[i] = graph.edgeWeight(edge);
+        }
+        return new SpanningForest<>(graph, sources, targets, weights);
+    }
+
+    private void forEach(int n, IntConsumer action) {
+        pool.invoke(new Range(0, n, action));
+    }
+
+    private static final class Range extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        Range(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Range(from, mid, action), new Range(mid, to, action));
+            } else {
+                for (int node = from; node < to; node++) {
+                    action.accept(node);
+                }
+            }
+        }
+    }
+}
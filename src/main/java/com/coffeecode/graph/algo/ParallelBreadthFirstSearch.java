@@ -0,0 +1,197 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.CompressedGraph;
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel direction-optimizing breadth-first search (Beamer et al.).
+ * <p>
+ * Frontiers are bitsets. Small frontiers are expanded top-down, claiming
+ * unvisited successors with a CAS; once the frontier's edges outweigh the
+ * unexplored part of the graph the search switches to bottom-up steps, where
+ * every unvisited node scans its in-edges for a frontier member and stops at
+ * the first hit. Each level is split into word ranges processed on a
+ * {@link ForkJoinPool}.
+ * <p>
+ * The search runs over a compressed-sparse-row graph, which provides the
+ * contiguous out- and in-edge arrays both step kinds need.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class ParallelBreadthFirstSearch<T> {
+
+    // Switching thresholds from the direction-optimizing BFS paper
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    // Bitset words handled by one fork-join leaf task
+    private static final int GRAIN = 64;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final CompressedGraph<T> graph;
+    private final ForkJoinPool pool;
+
+    public ParallelBreadthFirstSearch(Graph<T> graph) {
+        this(CompressedSparseRowGraph.copyOf(graph));
+    }
+
+    public ParallelBreadthFirstSearch(CompressedGraph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreadthFirstSearch(CompressedGraph<T> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Computes hop distances and BFS parents from the source.
+     */
+    public BreadthFirstResult<T> search(T source) {
+        int n = graph.getNodeCount();
+        int[] distances = new int[n];
+        int[] parents = new int[n];
+        Arrays.fill(distances, BreadthFirstResult.UNREACHED);
+        Arrays.fill(parents, BreadthFirstResult.NO_PARENT);
+
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex < 0) {
+            return new BreadthFirstResult<>(graph, distances, parents, 0);
+        }
+
+        int words = (n + 63) >>> 6;
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+        distances[sourceIndex] = 0;
+        frontier[sourceIndex >>> 6] |= 1L << sourceIndex;
+
+        long frontierNodes = 1;
+        long frontierEdges = graph.edgeEnd(sourceIndex) - graph.edgeStart(sourceIndex);
+        long unexploredEdges = graph.edgeEnd(n - 1) - frontierEdges;
+        long reached = 1;
+        boolean bottomUp = false;
+
+        for (int level = 0; frontierNodes > 0; level++) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierNodes < n / BETA) {
+                bottomUp = false;
+            }
+
+            Arrays.fill(next, 0L);
+            Step step = new Step(bottomUp, level, frontier, next, distances, parents, 0, words);
+            pool.invoke(step);
+
+            frontierNodes = step.nodes;
+            frontierEdges = step.edges;
+            unexploredEdges -= frontierEdges;
+            reached += frontierNodes;
+
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+        }
+
+        return new BreadthFirstResult<>(graph, distances, parents, (int) reached);
+    }
+
+    /**
+     * Expands one level over a range of bitset words, recording how many
+     * nodes joined the next frontier and how many out-edges they have.
+     */
+    private final class Step extends RecursiveAction {
+
+        private final boolean bottomUp;
+        private final int level;
+        private final long[] frontier;
+        private final long[] next;
+        private final int[] distances;
+        private final int[] parents;
+        private final int from;
+        private final int to;
+        private long nodes;
+        private long edges;
+
+        Step(boolean bottomUp, int level, long[] frontier, long[] next,
+                int[] distances, int[] parents, int from, int to) {
+            this.bottomUp = bottomUp;
+            this.level = level;
+            this.frontier = frontier;
+            this.next = next;
+            this.distances = distances;
+            this.parents = parents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                Step left = new Step(bottomUp, level, frontier, next, distances, parents, from, mid);
+                Step right = new Step(bottomUp, level, frontier, next, distances, parents, mid, to);
+                invokeAll(left, right);
+                nodes = left.nodes + right.nodes;
+                edges = left.edges + right.edges;
+            } else if (bottomUp) {
+                bottomUp();
+            } else {
+                topDown();
+            }
+        }
+
+        // Frontier members claim unvisited successors; words are shared, so CAS
+        private void topDown() {
+            for (int word = from; word < to; word++) {
+                long bits = frontier[word];
+                while (bits != 0) {
+                    int node = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    for (int e = graph.edgeStart(node), end = graph.edgeEnd(node); e < end; e++) {
+                        int target = graph.edgeTarget(e);
+                        if ((int) INTS.getOpaque(distances, target) == BreadthFirstResult.UNREACHED
+                                && INTS.compareAndSet(distances, target, BreadthFirstResult.UNREACHED, level + 1)) {
+                            parents[target] = node;
+                            LONGS.getAndBitwiseOr(next, target >>> 6, 1L << target);
+                            nodes++;
+                            edges += graph.edgeEnd(target) - graph.edgeStart(target);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Unvisited nodes look for a parent in the frontier; each word has one owner
+        private void bottomUp() {
+            int n = distances.length;
+            for (int word = from; word < to; word++) {
+                long found = 0;
+                int end = Math.min(n, (word + 1) << 6);
+                for (int node = word << 6; node < end; node++) {
+                    if (distances[node] != BreadthFirstResult.UNREACHED) {
+                        continue;
+                    }
+                    for (int e = graph.inEdgeStart(node), last = graph.inEdgeEnd(node); e < last; e++) {
+                        int source = graph.inEdgeSource(e);
+                        if ((frontier[source >>> 6] & (1L << source)) != 0) {
+                            distances[node] = level + 1;
+                            parents[node] = source;
+                            found |= 1L << node;
+                            nodes++;
+                            edges += graph.edgeEnd(node) - graph.edgeStart(node);
+                            break;
+                        }
+                    }
+                }
+                next[word] = found;
+            }
+        }
+    }
+}
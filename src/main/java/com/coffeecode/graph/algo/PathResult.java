@@ -0,0 +1,35 @@
+package com.coffeecode.graph.algo;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Result of a single-pair shortest path query.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Data
+@Builder
+public class PathResult<T> {
+
+    private final boolean found;
+    private final List<T> path;
+    private final double totalCost;
+
+    public static <T> PathResult<T> found(List<T> path, double totalCost) {
+        return PathResult.<T>builder()
+                .found(true)
+                .path(List.copyOf(path))
+                .totalCost(totalCost)
+                .build();
+    }
+
+    public static <T> PathResult<T> notFound() {
+        return PathResult.<T>builder()
+                .found(false)
+                .path(List.of())
+                .totalCost(Double.POSITIVE_INFINITY)
+                .build();
+    }
+}
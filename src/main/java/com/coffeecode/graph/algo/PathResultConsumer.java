@@ -0,0 +1,12 @@
+package com.coffeecode.graph.algo;
+
+/**
+ * Receives the result of one source-target query.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@FunctionalInterface
+public interface PathResultConsumer<T> {
+
+    void accept(T source, T target, PathResult<T> result);
+}
@@ -0,0 +1,40 @@
+package com.coffeecode.graph.algo;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Single-pair shortest path search.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface ShortestPathAlgorithm<T> {
+
+    /**
+     * Finds a shortest path using the algorithm's own workspace. Not safe for
+     * concurrent use; threads should pass their own workspace instead.
+     */
+    PathResult<T> findPath(T source, T target);
+
+    PathResult<T> findPath(T source, T target, ShortestPathWorkspace workspace);
+
+    /**
+     * Computes only the shortest path cost, without building the path.
+     *
+     * @return the cost, or {@code Double.POSITIVE_INFINITY} if unreachable
+     */
+    double distance(T source, T target, ShortestPathWorkspace workspace);
+
+    /**
+     * Finds shortest paths from one source to several targets and hands each
+     * result to the action. The default runs one search per target;
+     * algorithms that can answer all targets with one search override it.
+     */
+    default void findPaths(T source, Iterable<? extends T> targets, ShortestPathWorkspace workspace,
+            BiConsumer<? super T, PathResult<T>> action) {
+        for (T target : targets) {
+            action.accept(target, findPath(source, target, workspace));
+        }
+    }
+
+    ShortestPathWorkspace newWorkspace();
+}
@@ -0,0 +1,203 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.GraphState;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of shortest path results keyed by source, target and
+ * algorithm.
+ * <p>
+ * Every entry remembers the graph's modification version at the time it was
+ * computed and is discarded on lookup once the graph has changed. Entries are
+ * spread over independently locked LRU segments, so concurrent readers only
+ * contend when they hit the same segment. Misses are computed outside the
+ * lock, either with the caller's workspace or with one borrowed from a pool
+ * owned by the cache; two threads missing the same key at once may both
+ * compute it.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class ShortestPathCache<T> {
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final GraphState<T> graph;
+    private final List<Segment> segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Idle workspaces per algorithm; weak keys release them with the algorithm
+    private final Map<ShortestPathAlgorithm<T>, Deque<ShortestPathWorkspace>> idleWorkspaces =
+            new WeakHashMap<>();
+
+    private record Key<T>(T source, T target, ShortestPathAlgorithm<T> algorithm) {
+    }
+
+    private static final class Entry<T> {
+
+        private final PathResult<T> result;
+        private final long version;
+
+        Entry(PathResult<T> result, long version) {
+            this.result = result;
+            this.version = version;
+        }
+    }
+
+    /**
+     * LRU map guarded by its own monitor.
+     */
+    private final class Segment extends LinkedHashMap<Key<T>, Entry<T>> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key<T>, Entry<T>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param graph       graph whose modification version invalidates entries
+     * @param maximumSize upper bound on cached results
+     */
+    public ShortestPathCache(GraphState<T> graph, int maximumSize) {
+        this(graph, maximumSize, DEFAULT_SEGMENTS);
+    }
+
+    public ShortestPathCache(GraphState<T> graph, int maximumSize, int segmentCount) {
+        int count = Math.max(1, Math.min(segmentCount, maximumSize));
+        this.graph = graph;
+        this.segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder so the capacities add up to maximumSize
+            segments.add(new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0)));
+        }
+    }
+
+    /**
+     * Returns the cached path, or computes and caches it with a workspace
+     * borrowed from the cache.
+     */
+    public PathResult<T> findPath(ShortestPathAlgorithm<T> algorithm, T source, T target) {
+        Key<T> key = new Key<>(source, target, algorithm);
+        long version = graph.getModificationVersion();
+        PathResult<T> cached = lookup(key, version);
+        if (cached != null) {
+            return cached;
+        }
+        ShortestPathWorkspace workspace = borrowWorkspace(algorithm);
+        try {
+            return compute(key, version, workspace);
+        } finally {
+            releaseWorkspace(algorithm, workspace);
+        }
+    }
+
+    /**
+     * Returns the cached path, or computes and caches it with the caller's
+     * workspace, which must belong to the algorithm.
+     */
+    public PathResult<T> findPath(ShortestPathAlgorithm<T> algorithm, T source, T target,
+            ShortestPathWorkspace workspace) {
+        Key<T> key = new Key<>(source, target, algorithm);
+        long version = graph.getModificationVersion();
+        PathResult<T> cached = lookup(key, version);
+        return cached != null ? cached : compute(key, version, workspace);
+    }
+
+    private PathResult<T> lookup(Key<T> key, long version) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<T> entry = segment.get(key);
+            if (entry != null) {
+                if (entry.version == version) {
+                    hits.increment();
+                    return entry.result;
+                }
+                segment.remove(key);
+            }
+        }
+        return null;
+    }
+
+    private PathResult<T> compute(Key<T> key, long version, ShortestPathWorkspace workspace) {
+        misses.increment();
+        PathResult<T> result = key.algorithm().findPath(key.source(), key.target(), workspace);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(result, version));
+        }
+        return result;
+    }
+
+    private Segment segmentFor(Key<T> key) {
+        return segments.get((key.hashCode() & 0x7fffffff) % segments.size());
+    }
+
+    private ShortestPathWorkspace borrowWorkspace(ShortestPathAlgorithm<T> algorithm) {
+        synchronized (idleWorkspaces) {
+            Deque<ShortestPathWorkspace> idle = idleWorkspaces.get(algorithm);
+            ShortestPathWorkspace workspace = idle == null ? null : idle.pollFirst();
+            if (workspace != null) {
+                return workspace;
+            }
+        }
+        return algorithm.newWorkspace();
+    }
+
+    private void releaseWorkspace(ShortestPathAlgorithm<T> algorithm, ShortestPathWorkspace workspace) {
+        synchronized (idleWorkspaces) {
+            idleWorkspaces.computeIfAbsent(algorithm, a -> new ArrayDeque<>()).addFirst(workspace);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return number of cached entries, including stale ones not yet discarded
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
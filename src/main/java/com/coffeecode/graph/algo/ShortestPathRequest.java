@@ -0,0 +1,28 @@
+package com.coffeecode.graph.algo;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One source and one or more targets for a {@link BatchShortestPathExecutor}.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Data
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ShortestPathRequest<T> {
+
+    private final T source;
+    private final List<T> targets;
+
+    public static <T> ShortestPathRequest<T> of(T source, T target) {
+        return new ShortestPathRequest<>(source, List.of(target));
+    }
+
+    public static <T> ShortestPathRequest<T> oneToMany(T source, Collection<? extends T> targets) {
+        return new ShortestPathRequest<>(source, List.copyOf(targets));
+    }
+}
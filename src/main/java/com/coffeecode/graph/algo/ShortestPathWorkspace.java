@@ -0,0 +1,115 @@
+package com.coffeecode.graph.algo;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per-search state for shortest path queries.
+ * <p>
+ * Costs and parents live in primitive arrays indexed by node. Each search
+ * bumps a generation counter instead of clearing the arrays, so starting a
+ * new query costs O(1) and allocates nothing. A workspace must only be used
+ * by one thread at a time.
+ */
+public final class ShortestPathWorkspace {
+
+    static final int NO_PARENT = -1;
+
+    private double[] costs;
+    private int[] parents;
+    private int[] stamps;
+    private int generation;
+    private final IndexedMinHeap heap;
+    // Heuristic estimates, only allocated by goal-directed searches
+    private double[] estimates;
+    private int[] estimateStamps;
+    private int expandedNodes;
+    // Second search direction, only allocated by bidirectional searches
+    private ShortestPathWorkspace reverse;
+
+    public ShortestPathWorkspace(int capacity) {
+        this.costs = new double[capacity];
+        this.parents = new int[capacity];
+        this.stamps = new int[capacity];
+        this.heap = new IndexedMinHeap(capacity);
+    }
+
+    /**
+     * Invalidates the state of the previous search.
+     */
+    void begin(int capacity) {
+        if (capacity > stamps.length) {
+            costs = Arrays.copyOf(costs, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+            heap.ensureCapacity(capacity);
+        }
+        heap.clear();
+        expandedNodes = 0;
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            if (estimateStamps != null) {
+                Arrays.fill(estimateStamps, 0);
+            }
+            generation = 1;
+        }
+    }
+
+    /**
+     * @return number of nodes taken from the queue by the last search
+     */
+    public int getExpandedNodeCount() {
+        return expandedNodes;
+    }
+
+    void expanded() {
+        expandedNodes++;
+    }
+
+    IndexedMinHeap heap() {
+        return heap;
+    }
+
+    ShortestPathWorkspace reverse() {
+        if (reverse == null) {
+            reverse = new ShortestPathWorkspace(stamps.length);
+        }
+        return reverse;
+    }
+
+    boolean isReached(int node) {
+        return stamps[node] == generation;
+    }
+
+    double cost(int node) {
+        return stamps[node] == generation ? costs[node] : Double.POSITIVE_INFINITY;
+    }
+
+    int parent(int node) {
+        return stamps[node] == generation ? parents[node] : NO_PARENT;
+    }
+
+    void update(int node, double cost, int parent) {
+        stamps[node] = generation;
+        costs[node] = cost;
+        parents[node] = parent;
+    }
+
+    boolean hasEstimate(int node) {
+        return estimateStamps != null && node < estimateStamps.length
+                && estimateStamps[node] == generation;
+    }
+
+    double estimate(int node) {
+        return estimates[node];
+    }
+
+    void setEstimate(int node, double estimate) {
+        if (estimateStamps == null || node >= estimateStamps.length) {
+            int capacity = stamps.length;
+            estimates = estimates == null ? new double[capacity] : Arrays.copyOf(estimates, capacity);
+            estimateStamps = estimateStamps == null ? new int[capacity] : Arrays.copyOf(estimateStamps, capacity);
+        }
+        estimateStamps[node] = generation;
+        estimates[node] = estimate;
+    }
+}
@@ -0,0 +1,76 @@
+package com.coffeecode.graph.algo;
+
+import com.coffeecode.graph.base.IndexedGraph;
+import lombok.Getter;
+
+/**
+ * Edges of a minimum spanning forest in primitive arrays, with endpoints
+ * given as indices of the graph the forest was computed on.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class SpanningForest<T> {
+
+    private final IndexedGraph<T> graph;
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] weights;
+    @Getter
+    private final double totalWeight;
+
+    SpanningForest(IndexedGraph<T> graph, int[] sources, int[] targets, double[] weights) {
+        this.graph = graph;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        double total = 0.0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        this.totalWeight = total;
+    }
+
+    public int getEdgeCount() {
+        return sources.length;
+    }
+
+    /**
+     * @return number of trees, isolated nodes included
+     */
+    public int getComponentCount() {
+        return graph.getIndexBound() - sources.length;
+    }
+
+    public T getSource(int edge) {
+        return graph.nodeAt(sources[edge]);
+    }
+
+    public T getTarget(int edge) {
+        return graph.nodeAt(targets[edge]);
+    }
+
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * @return source index of each edge; the array is shared, not copied
+     */
+    public int[] getSources() {
+        return sources;
+    }
+
+    /**
+     * @return target index of each edge; the array is shared, not copied
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * @return weight of each edge; the array is shared, not copied
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+}
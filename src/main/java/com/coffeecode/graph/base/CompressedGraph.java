@@ -0,0 +1,54 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Read-only graph stored in compressed-sparse-row form. Nodes are indexed
+ * {@code 0 .. n-1}; the outgoing edges of a node occupy the contiguous edge
+ * positions {@code edgeStart(node) .. edgeEnd(node)}, sorted by target index,
+ * and incoming edges are laid out the same way. Undirected graphs report
+ * every edge in both directions.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface CompressedGraph<T> extends IndexedGraph<T> {
+
+    boolean isDirected();
+
+    boolean isWeighted();
+
+    int getNodeCount();
+
+    int getEdgeCount();
+
+    /**
+     * @return position of the first outgoing edge of the node
+     */
+    int edgeStart(int node);
+
+    /**
+     * @return position one past the last outgoing edge of the node
+     */
+    int edgeEnd(int node);
+
+    int edgeTarget(int edge);
+
+    double edgeWeight(int edge);
+
+    /**
+     * @return position of the first incoming edge of the node
+     */
+    int inEdgeStart(int node);
+
+    /**
+     * @return position one past the last incoming edge of the node
+     */
+    int inEdgeEnd(int node);
+
+    int inEdgeSource(int edge);
+
+    double inEdgeWeight(int edge);
+
+    /**
+     * @return position of the edge {@code source -> target}, or {@code -1}
+     */
+    int findEdge(int source, int target);
+}
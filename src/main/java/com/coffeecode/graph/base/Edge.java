@@ -0,0 +1,16 @@
+package com.coffeecode.graph.base;
+
+import lombok.Data;
+
+/**
+ * A single weighted edge, used for batch insertion.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Data
+public class Edge<T> {
+
+    private final T source;
+    private final T target;
+    private final double weight;
+}
@@ -0,0 +1,67 @@
+package com.coffeecode.graph.base;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of edges in parallel arrays. Filling and clearing a batch
+ * allocates no per-edge objects, which keeps bulk loads cheap.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public final class EdgeBatch<T> {
+
+    private Object[] sources;
+    private Object[] targets;
+    private double[] weights;
+    private int size;
+
+    public EdgeBatch(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.sources = new Object[initial];
+        this.targets = new Object[initial];
+        this.weights = new double[initial];
+    }
+
+    public void add(T source, T target, double weight) {
+        if (size == weights.length) {
+            int capacity = size << 1;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        weights[size++] = weight;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getSource(int i) {
+        return (T) sources[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getTarget(int i) {
+        return (T) targets[i];
+    }
+
+    public double getWeight(int i) {
+        return weights[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the batch, dropping node references so they can be collected.
+     */
+    public void clear() {
+        Arrays.fill(sources, 0, size, null);
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+}
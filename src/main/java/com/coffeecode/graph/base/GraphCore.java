@@ -11,5 +11,67 @@ public interface GraphCore<T> {
 
     boolean removeEdge(T source, T target);
 
+    // Batch operations, implementations may override them to skip per-call overhead
+    /**
+     * @return number of nodes that were not present before
+     */
+    default int addNodes(Iterable<? extends T> nodes) {
+        int added = 0;
+        for (T node : nodes) {
+            if (addNode(node)) {
+                added++;
+            }
+        }
+        return added;
+    }
 
+    /**
+     * Adds edges whose endpoints exist; other edges are skipped.
+     *
+     * @return number of edges accepted
+     */
+    default int addEdges(Iterable<Edge<T>> edges) {
+        int added = 0;
+        for (Edge<T> edge : edges) {
+            if (addEdge(edge.getSource(), edge.getTarget(), edge.getWeight())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds edges whose endpoints exist; other edges are skipped.
+     *
+     * @return number of edges accepted
+     */
+    default int addEdges(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (addEdge(batch.getSource(i), batch.getTarget(i), batch.getWeight(i))) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds the batch's edges, first adding endpoints that are not nodes yet.
+     * Implementations should resolve each endpoint with a single lookup.
+     *
+     * @return number of edges accepted; edges with a null endpoint are skipped
+     */
+    default int addEdgesWithNodes(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            T source = batch.getSource(i);
+            T target = batch.getTarget(i);
+            addNode(source);
+            addNode(target);
+            if (addEdge(source, target, batch.getWeight(i))) {
+                added++;
+            }
+        }
+        return added;
+    }
 }
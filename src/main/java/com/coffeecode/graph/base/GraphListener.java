@@ -0,0 +1,40 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Receives structural changes of an {@link ObservableGraph}.
+ * <p>
+ * Events are delivered synchronously on the modifying thread after the
+ * change has been applied, so listeners must be quick and must not modify
+ * the graph themselves. Undirected edges are reported once, in the
+ * orientation the caller used.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface GraphListener<T> {
+
+    default void nodeAdded(T node) {
+    }
+
+    /**
+     * The node's incident edges are removed with it and are not reported
+     * separately.
+     */
+    default void nodeRemoved(T node) {
+    }
+
+    default void edgeAdded(T source, T target, double weight) {
+    }
+
+    /**
+     * Reported instead of {@link #edgeAdded} when an existing edge is added
+     * again with a different weight.
+     */
+    default void edgeWeightChanged(T source, T target, double oldWeight, double newWeight) {
+    }
+
+    default void edgeRemoved(T source, T target) {
+    }
+
+    default void graphCleared() {
+    }
+}
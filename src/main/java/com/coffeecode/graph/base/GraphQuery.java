@@ -1,5 +1,7 @@
 package com.coffeecode.graph.base;
 
+import java.util.function.ObjDoubleConsumer;
+
 public interface GraphQuery<T> {
 
     // Query operations
@@ -13,4 +15,25 @@ public interface GraphQuery<T> {
 
     Iterable<T> getNeighbors(T node);
 
+    /**
+     * Passes every successor and the edge weight to the action. The default
+     * looks up each weight; implementations override it to read weights
+     * directly from their adjacency storage.
+     */
+    default void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        for (T neighbor : getNeighbors(node)) {
+            action.accept(neighbor, getEdgeWeight(node, neighbor));
+        }
+    }
+
+    /**
+     * @return nodes with an edge pointing to the given node; for undirected
+     * graphs these are the neighbors
+     */
+    Iterable<T> getPredecessors(T node);
+
+    int getInDegree(T node);
+
+    int getOutDegree(T node);
+
 }
@@ -13,4 +13,11 @@ public interface GraphState<T> {
 
     int getEdgeCount();
 
+    /**
+     * @return counter that increases with every structural change (nodes,
+     * edges, weights or clear), so derived data such as cached paths can
+     * tell whether it is stale
+     */
+    long getModificationVersion();
+
 }
@@ -0,0 +1,36 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Graph whose nodes are addressed by dense int indices, so per-node state can
+ * live in primitive arrays instead of maps.
+ * <p>
+ * An index stays stable while its node is in the graph and may be reused
+ * after the node is removed.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface IndexedGraph<T> extends GraphQuery<T> {
+
+    /**
+     * @return index of the node, or {@code -1} if it is not in the graph
+     */
+    int indexOf(T node);
+
+    /**
+     * @return node stored at the index, or {@code null} for an unused index
+     */
+    T nodeAt(int index);
+
+    /**
+     * @return upper bound (exclusive) of all indices currently in use
+     */
+    int getIndexBound();
+
+    /**
+     * Creates traversal state that is independent of the graph and of other
+     * contexts, so several searches can run over the same graph at once.
+     */
+    default TraversalContext<T> newTraversalContext() {
+        return new TraversalContext<>(this);
+    }
+}
@@ -0,0 +1,10 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Receives a node index and an edge weight.
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    void accept(int node, double weight);
+}
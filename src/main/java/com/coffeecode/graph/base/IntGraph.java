@@ -0,0 +1,15 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Index-based view of a mutable graph. Changes made through the view are
+ * changes of the underlying graph and are reported to its listeners.
+ */
+public interface IntGraph extends IntGraphQuery {
+
+    /**
+     * @return false if either index does not refer to a node
+     */
+    boolean addEdge(int source, int target, double weight);
+
+    boolean removeEdge(int source, int target);
+}
@@ -0,0 +1,33 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Read access to a graph by dense node index, see {@link IndexedGraph}.
+ * Algorithms working on this view keep their state in primitive arrays and
+ * never hash node objects.
+ */
+public interface IntGraphQuery {
+
+    /**
+     * @return upper bound (exclusive) of all indices currently in use
+     */
+    int getIndexBound();
+
+    /**
+     * @return false for unused or out-of-range indices
+     */
+    boolean containsNode(int node);
+
+    boolean containsEdge(int source, int target);
+
+    /**
+     * @return the weight, or {@code Double.POSITIVE_INFINITY} if there is no edge
+     */
+    double getEdgeWeight(int source, int target);
+
+    int getOutDegree(int node);
+
+    /**
+     * Passes the index and edge weight of every successor to the action.
+     */
+    void forEachNeighbor(int node, IntDoubleConsumer action);
+}
@@ -0,0 +1,302 @@
+package com.coffeecode.graph.base;
+
+import java.util.*;
+
+/**
+ * Assigns dense int indices to nodes, so graphs and algorithms can keep
+ * per-node state in primitive arrays and hash each node only once, on entry.
+ * <p>
+ * Indices of removed nodes are reused by later additions, keeping the index
+ * range compact. The lookup table is open-addressing over indices into the
+ * node array, one int per table slot; it holds no boxed values. Live indices
+ * are also chained in insertion order, which {@link #nodes()} follows.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public final class NodeInterner<T> {
+
+    private static final int FREE = -1;
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private Object[] nodes;     // Node at each index, null if free
+    private int bound;          // Indices in use are below the bound
+    private int[] freeIndices;  // Stack of indices released by remove
+    private int freeCount;
+    private int[] table;        // Node indices, probed linearly
+    private int[] next;         // Insertion order links between indices
+    private int[] previous;
+    private int head = FREE;
+    private int tail = FREE;
+    private int size;
+    private Set<T> view;
+
+    public NodeInterner() {
+        this(0);
+    }
+
+    /**
+     * @param expectedNodes number of nodes to size the tables for
+     */
+    public NodeInterner(int expectedNodes) {
+        this.nodes = new Object[Math.max(8, expectedNodes)];
+        this.next = new int[nodes.length];
+        this.previous = new int[nodes.length];
+        this.freeIndices = new int[0];
+        this.table = newTable(tableSizeFor(expectedNodes));
+    }
+
+    /**
+     * Interns the nodes in array order, so each node's index is its position
+     * in the array. Used by read-only graphs built from a fixed node list.
+     *
+     * @throws IllegalArgumentException if a node is null or repeated
+     */
+    public static <T> NodeInterner<T> of(Object[] nodes) {
+        NodeInterner<T> interner = new NodeInterner<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) nodes[i];
+            if (interner.add(node) != i) {
+                throw new IllegalArgumentException("Null or duplicate node at index " + i);
+            }
+        }
+        return interner;
+    }
+
+    /**
+     * @return index of the node, or {@code -1} if it is not interned
+     */
+    public int indexOf(Object node) {
+        return node == null ? -1 : table[slotOf(node)];
+    }
+
+    /**
+     * @return index assigned to the new node, or {@code -1} if the node is
+     * null or already interned
+     */
+    public int add(T node) {
+        if (node == null) {
+            return -1;
+        }
+        int slot = slotOf(node);
+        return table[slot] == FREE ? insertAt(slot, node) : -1;
+    }
+
+    /**
+     * Looks the node up and adds it if absent, hashing it once either way.
+     * Whether it was added shows in {@link #size()}.
+     *
+     * @return index of the node, or {@code -1} if it is null
+     */
+    public int intern(T node) {
+        if (node == null) {
+            return -1;
+        }
+        int slot = slotOf(node);
+        return table[slot] == FREE ? insertAt(slot, node) : table[slot];
+    }
+
+    // Slot holding the node, or the free slot that ends its probe run
+    private int slotOf(Object node) {
+        int mask = table.length - 1;
+        int slot = hash(node) & mask;
+        while (table[slot] != FREE && !nodes[table[slot]].equals(node)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int insertAt(int slot, T node) {
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (bound == nodes.length) {
+                int capacity = bound + (bound >> 1);
+                nodes = Arrays.copyOf(nodes, capacity);
+                next = Arrays.copyOf(next, capacity);
+                previous = Arrays.copyOf(previous, capacity);
+            }
+            index = bound++;
+        }
+        nodes[index] = node;
+        link(index);
+        if (++size > table.length - (table.length >>> 2)) {
+            table = rehash(table.length << 1);
+        } else {
+            table[slot] = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return index the node had, or {@code -1} if it was not interned
+     */
+    public int remove(Object node) {
+        if (node == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        int slot = slotOf(node);
+        int index = table[slot];
+        if (index == FREE) {
+            return -1;
+        }
+
+        // Shift back later entries of the run that probed past the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; table[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(nodes[table[next]]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                table[free] = table[next];
+                free = next;
+            }
+        }
+        table[free] = FREE;
+
+        nodes[index] = null;
+        unlink(index);
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, Math.max(8, freeCount << 1));
+        }
+        freeIndices[freeCount++] = index;
+        size--;
+        return index;
+    }
+
+    /**
+     * @return node at the index, or {@code null} for an unused index
+     */
+    @SuppressWarnings("unchecked")
+    public T nodeAt(int index) {
+        return index >= 0 && index < bound ? (T) nodes[index] : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return upper bound (exclusive) of all indices currently in use
+     */
+    public int getIndexBound() {
+        return bound;
+    }
+
+    public void clear() {
+        Arrays.fill(nodes, 0, bound, null);
+        Arrays.fill(table, FREE);
+        bound = 0;
+        head = FREE;
+        tail = FREE;
+        freeCount = 0;
+        size = 0;
+    }
+
+    /**
+     * @return live, read-only view of the nodes in insertion order
+     */
+    public Set<T> nodes() {
+        if (view == null) {
+            view = new NodeView();
+        }
+        return view;
+    }
+
+    private void link(int index) {
+        previous[index] = tail;
+        next[index] = FREE;
+        if (tail == FREE) {
+            head = index;
+        } else {
+            next[tail] = index;
+        }
+        tail = index;
+    }
+
+    private void unlink(int index) {
+        if (previous[index] == FREE) {
+            head = next[index];
+        } else {
+            next[previous[index]] = next[index];
+        }
+        if (next[index] == FREE) {
+            tail = previous[index];
+        } else {
+            previous[next[index]] = previous[index];
+        }
+    }
+
+    private void insert(int[] target, int index) {
+        int mask = target.length - 1;
+        int slot = hash(nodes[index]) & mask;
+        while (target[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        target[slot] = index;
+    }
+
+    private int[] rehash(int tableSize) {
+        int[] next = newTable(tableSize);
+        for (int index = 0; index < bound; index++) {
+            if (nodes[index] != null) {
+                insert(next, index);
+            }
+        }
+        return next;
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, FREE);
+        return table;
+    }
+
+    private static int tableSizeFor(int expectedNodes) {
+        int needed = (int) Math.min(1 << 30, (long) expectedNodes * 4 / 3 + 1);
+        return Math.max(MIN_TABLE_SIZE, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    // Spreads weak hash codes such as small integers over the table
+    private static int hash(Object node) {
+        int h = node.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class NodeView extends AbstractSet<T> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object node) {
+            return indexOf(node) >= 0;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int index = head;
+
+                @Override
+                public boolean hasNext() {
+                    return index != FREE;
+                }
+
+                @Override
+                public T next() {
+                    if (index == FREE) {
+                        throw new NoSuchElementException();
+                    }
+                    T node = nodeAt(index);
+                    index = NodeInterner.this.next[index];
+                    return node;
+                }
+            };
+        }
+    }
+}
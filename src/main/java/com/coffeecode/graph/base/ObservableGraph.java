@@ -0,0 +1,16 @@
+package com.coffeecode.graph.base;
+
+/**
+ * Graph that reports its modifications to registered listeners.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface ObservableGraph<T> extends Graph<T> {
+
+    void addGraphListener(GraphListener<? super T> listener);
+
+    /**
+     * @return false if the listener was not registered
+     */
+    boolean removeGraphListener(GraphListener<? super T> listener);
+}
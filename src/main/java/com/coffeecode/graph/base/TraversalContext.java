@@ -0,0 +1,144 @@
+package com.coffeecode.graph.base;
+
+import java.util.Arrays;
+
+/**
+ * Per-search traversal state (visited flag, parent, cost) kept outside the
+ * graph in dense arrays keyed by node index.
+ * <p>
+ * Each search should use its own context; the graph itself is only read, so
+ * any number of contexts can be used concurrently as long as the graph is not
+ * modified meanwhile. {@link #reset()} is O(1): entries are invalidated by a
+ * generation counter rather than cleared.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public final class TraversalContext<T> {
+
+    public static final int NO_PARENT = -1;
+
+    private final IndexedGraph<T> graph;
+    private int[] stamps;      // Generation that last wrote each entry
+    private boolean[] visited;
+    private int[] parents;
+    private double[] costs;
+    private int generation = 1;
+
+    public TraversalContext(IndexedGraph<T> graph) {
+        this.graph = graph;
+        int capacity = Math.max(16, graph.getIndexBound());
+        this.stamps = new int[capacity];
+        this.visited = new boolean[capacity];
+        this.parents = new int[capacity];
+        this.costs = new double[capacity];
+    }
+
+    /**
+     * Forgets the state of every node.
+     */
+    public void reset() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Forgets the state of a single node, e.g. when its index is reused.
+     */
+    public void resetAt(int index) {
+        if (index < stamps.length) {
+            stamps[index] = 0;
+        }
+    }
+
+    // Node based access
+    public boolean isVisited(T node) {
+        int index = graph.indexOf(node);
+        return index >= 0 && isVisitedAt(index);
+    }
+
+    public void setVisited(T node, boolean visited) {
+        int index = graph.indexOf(node);
+        if (index >= 0) {
+            setVisitedAt(index, visited);
+        }
+    }
+
+    public T getParent(T node) {
+        int index = graph.indexOf(node);
+        int parent = index < 0 ? NO_PARENT : getParentAt(index);
+        return parent == NO_PARENT ? null : graph.nodeAt(parent);
+    }
+
+    public void setParent(T node, T parent) {
+        int index = graph.indexOf(node);
+        if (index >= 0) {
+            setParentAt(index, parent == null ? NO_PARENT : graph.indexOf(parent));
+        }
+    }
+
+    public double getCost(T node) {
+        int index = graph.indexOf(node);
+        return index < 0 ? Double.POSITIVE_INFINITY : getCostAt(index);
+    }
+
+    public void setCost(T node, double cost) {
+        int index = graph.indexOf(node);
+        if (index >= 0) {
+            setCostAt(index, cost);
+        }
+    }
+
+    // Index based access
+    public boolean isVisitedAt(int index) {
+        return isCurrent(index) && visited[index];
+    }
+
+    public void setVisitedAt(int index, boolean value) {
+        touch(index);
+        visited[index] = value;
+    }
+
+    /**
+     * @return parent index, or {@link #NO_PARENT}
+     */
+    public int getParentAt(int index) {
+        return isCurrent(index) ? parents[index] : NO_PARENT;
+    }
+
+    public void setParentAt(int index, int parent) {
+        touch(index);
+        parents[index] = parent;
+    }
+
+    public double getCostAt(int index) {
+        return isCurrent(index) ? costs[index] : Double.POSITIVE_INFINITY;
+    }
+
+    public void setCostAt(int index, double cost) {
+        touch(index);
+        costs[index] = cost;
+    }
+
+    private boolean isCurrent(int index) {
+        return index < stamps.length && stamps[index] == generation;
+    }
+
+    // Starts a fresh entry for the current generation, growing with the graph
+    private void touch(int index) {
+        if (index >= stamps.length) {
+            int capacity = Math.max(index + 1, stamps.length << 1);
+            stamps = Arrays.copyOf(stamps, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        if (stamps[index] != generation) {
+            stamps[index] = generation;
+            visited[index] = false;
+            parents[index] = NO_PARENT;
+            costs[index] = Double.POSITIVE_INFINITY;
+        }
+    }
+}
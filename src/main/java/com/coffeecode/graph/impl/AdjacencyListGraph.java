@@ -1,15 +1,31 @@
 package com.coffeecode.graph.impl;
 
+import com.coffeecode.graph.base.Edge;
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.IndexedGraph;
+import com.coffeecode.graph.base.IntDoubleConsumer;
+import com.coffeecode.graph.base.IntGraph;
+import com.coffeecode.graph.base.NodeInterner;
+import com.coffeecode.graph.base.ObservableGraph;
 import com.coffeecode.graph.base.TraversableGraph;
+import com.coffeecode.graph.base.TraversalContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import java.util.*;
+import java.util.function.ObjDoubleConsumer;
 
 @Slf4j
-public class AdjacencyListGraph<T> implements TraversableGraph<T> {
+public class AdjacencyListGraph<T> implements TraversableGraph<T>, IndexedGraph<T>, ObservableGraph<T> {
 
-    // Store node data with adjacency information
-    private final Map<T, NodeData<T>> nodes;
+    // Nodes are interned once; adjacency is stored by index and keyed by index
+    private final NodeInterner<T> interner;
+    private final List<NodeData<T>> adjacency; // Null at free indices
+    private int edgeCount; // Maintained incrementally, undirected edges count once
+    private long modificationVersion;
+    private final TraversalContext<T> traversalState;
+    private final GraphListeners<T> listeners = new GraphListeners<>();
+    private final IntGraph intView = new IntView();
 
     // Graph properties
     @Getter
@@ -18,164 +34,509 @@ public class AdjacencyListGraph<T> implements TraversableGraph<T> {
     private final boolean weighted;
 
     public AdjacencyListGraph(boolean directed, boolean weighted) {
-        this.nodes = new HashMap<>();
+        this(directed, weighted, 0);
+    }
+
+    /**
+     * @param expectedNodes number of nodes to size the node table for, so
+     *                      bulk loads do not rehash
+     */
+    public AdjacencyListGraph(boolean directed, boolean weighted, int expectedNodes) {
+        this.interner = new NodeInterner<>(expectedNodes);
+        this.adjacency = new ArrayList<>(expectedNodes);
         this.directed = directed;
         this.weighted = weighted;
+        this.traversalState = newTraversalContext();
     }
 
     @Override
     public boolean addNode(T node) {
-        if (node == null || containsNode(node)) {
+        if (!insertNode(node)) {
             return false;
         }
-        nodes.put(node, NodeData.<T>builder().data(node).build());
         log.debug("Added node: {}", node);
         return true;
     }
 
+    private boolean insertNode(T node) {
+        int bound = interner.getIndexBound();
+        int index = interner.add(node);
+        if (index < 0) {
+            return false;
+        }
+        initNode(index, node, bound);
+        return true;
+    }
+
+    // Resolves the node to its index, adding it if absent, with one lookup
+    private int internNode(T node) {
+        int bound = interner.getIndexBound();
+        int size = interner.size();
+        int index = interner.intern(node);
+        if (interner.size() > size) {
+            initNode(index, node, bound);
+        }
+        return index;
+    }
+
+    private void initNode(int index, T node, int bound) {
+        NodeData<T> data = NodeData.<T>builder().data(node).index(index).build();
+        if (index < bound) {
+            adjacency.set(index, data);
+            traversalState.resetAt(index);
+        } else {
+            adjacency.add(data);
+        }
+        modificationVersion++;
+        listeners.nodeAdded(node);
+    }
+
     @Override
     public boolean addEdge(T source, T target, double weight) {
-        if (!containsNode(source) || !containsNode(target)) {
+        if (!insertEdge(source, target, weight)) {
             return false;
         }
+        log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
+        return true;
+    }
 
-        NodeData<T> sourceData = nodes.get(source);
-        sourceData.getNeighbors().put(target, weight);
+    // One lookup per endpoint, shared by single and batch insertion
+    private boolean insertEdge(T source, T target, double weight) {
+        int sourceIndex = interner.indexOf(source);
+        int targetIndex = interner.indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return false;
+        }
+        insertEdge(sourceIndex, targetIndex, weight);
+        return true;
+    }
 
-        if (!directed) {
-            NodeData<T> targetData = nodes.get(target);
+    private void insertEdge(int source, int target, double weight) {
+        NodeData<T> sourceData = adjacency.get(source);
+        NodeData<T> targetData = adjacency.get(target);
+        IntDoubleHashMap neighbors = sourceData.getNeighbors();
+        int degree = neighbors.size();
+        double previous = neighbors.put(target, weight, Double.POSITIVE_INFINITY);
+        boolean added = neighbors.size() > degree;
+        if (added) {
+            edgeCount++;
+        }
+
+        if (directed) {
+            targetData.getPredecessors().put(source, weight);
+        } else {
             targetData.getNeighbors().put(source, weight);
         }
+        modificationVersion++;
+        if (added) {
+            listeners.edgeAdded(sourceData.getData(), targetData.getData(), weight);
+        } else {
+            listeners.edgeWeightChanged(sourceData.getData(), targetData.getData(), previous, weight);
+        }
+    }
+
+    // Batch operations log one summary instead of one line per element
+    @Override
+    public int addNodes(Iterable<? extends T> batch) {
+        int added = 0;
+        for (T node : batch) {
+            if (insertNode(node)) {
+                added++;
+            }
+        }
+        log.debug("Added {} nodes", added);
+        return added;
+    }
 
-        log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
-        return true;
+    @Override
+    public int addEdges(Iterable<Edge<T>> edges) {
+        int added = 0;
+        for (Edge<T> edge : edges) {
+            if (insertEdge(edge.getSource(), edge.getTarget(), edge.getWeight())) {
+                added++;
+            }
+        }
+        log.debug("Added {} edges", added);
+        return added;
+    }
+
+    @Override
+    public int addEdges(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            if (insertEdge(batch.getSource(i), batch.getTarget(i), batch.getWeight(i))) {
+                added++;
+            }
+        }
+        log.debug("Added {} edges", added);
+        return added;
+    }
+
+    @Override
+    public int addEdgesWithNodes(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            int source = internNode(batch.getSource(i));
+            int target = internNode(batch.getTarget(i));
+            if (source >= 0 && target >= 0) {
+                insertEdge(source, target, batch.getWeight(i));
+                added++;
+            }
+        }
+        log.debug("Added {} edges", added);
+        return added;
     }
 
     @Override
     public boolean removeNode(T node) {
-        if (!containsNode(node)) {
+        int index = interner.indexOf(node);
+        if (index < 0) {
             return false;
         }
 
-        // Remove all edges pointing to this node
-        nodes.values().forEach(data
-                -> data.getNeighbors().remove(node));
+        // Only visit incident edges, found through the neighbor and in-edge indexes
+        NodeData<T> removed = adjacency.get(index);
+        edgeCount -= countIncidentEdges(index, removed);
+        for (int neighbor : removed.getNeighbors().keys()) {
+            if (neighbor == index) {
+                continue; // Self-loop
+            }
+            NodeData<T> data = adjacency.get(neighbor);
+            if (directed) {
+                data.getPredecessors().remove(index);
+            } else {
+                data.getNeighbors().remove(index);
+            }
+        }
+        for (int predecessor : removed.getPredecessors().keys()) {
+            if (predecessor != index) {
+                adjacency.get(predecessor).getNeighbors().remove(index);
+            }
+        }
+        interner.remove(node);
+        adjacency.set(index, null);
+        modificationVersion++;
+        listeners.nodeRemoved(node);
 
-        nodes.remove(node);
         log.debug("Removed node: {}", node);
         return true;
     }
 
+    private int countIncidentEdges(int index, NodeData<T> data) {
+        int incident = data.getNeighbors().size();
+        if (directed) {
+            // A self-loop is both an out-edge and an in-edge
+            incident += data.getPredecessors().size()
+                    - (data.getNeighbors().containsKey(index) ? 1 : 0);
+        }
+        return incident;
+    }
+
     @Override
     public boolean removeEdge(T source, T target) {
-        if (!containsEdge(source, target)) {
+        if (!deleteEdge(interner.indexOf(source), interner.indexOf(target))) {
             return false;
         }
+        log.debug("Removed edge: {} -> {}", source, target);
+        return true;
+    }
 
-        nodes.get(source).getNeighbors().remove(target);
-        if (!directed) {
-            nodes.get(target).getNeighbors().remove(source);
+    private boolean deleteEdge(int source, int target) {
+        if (!intView.containsEdge(source, target)) {
+            return false;
         }
-
-        log.debug("Removed edge: {} -> {}", source, target);
+        NodeData<T> sourceData = adjacency.get(source);
+        NodeData<T> targetData = adjacency.get(target);
+        sourceData.getNeighbors().remove(target);
+        if (directed) {
+            targetData.getPredecessors().remove(source);
+        } else {
+            targetData.getNeighbors().remove(source);
+        }
+        edgeCount--;
+        modificationVersion++;
+        listeners.edgeRemoved(sourceData.getData(), targetData.getData());
         return true;
     }
 
+    private NodeData<T> dataOf(T node) {
+        int index = interner.indexOf(node);
+        return index < 0 ? null : adjacency.get(index);
+    }
+
     @Override
     public boolean containsNode(T node) {
-        return nodes.containsKey(node);
+        return interner.indexOf(node) >= 0;
     }
 
     @Override
     public boolean containsEdge(T source, T target) {
-        return containsNode(source)
-                && nodes.get(source).getNeighbors().containsKey(target);
+        return intView.containsEdge(interner.indexOf(source), interner.indexOf(target));
     }
 
     @Override
     public double getEdgeWeight(T source, T target) {
-        if (!containsEdge(source, target)) {
-            return Double.POSITIVE_INFINITY;
-        }
-        return nodes.get(source).getNeighbors().get(target);
+        return intView.getEdgeWeight(interner.indexOf(source), interner.indexOf(target));
     }
 
     @Override
     public Iterable<T> getNodes() {
-        return Collections.unmodifiableSet(nodes.keySet());
+        return interner.nodes();
     }
 
     @Override
     public Iterable<T> getNeighbors(T node) {
-        if (!containsNode(node)) {
-            return Collections.emptyList();
+        NodeData<T> data = dataOf(node);
+        return data == null ? Collections.emptyList() : new NodeView(data.getNeighbors());
+    }
+
+    @Override
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        NodeData<T> data = dataOf(node);
+        if (data == null) {
+            return;
+        }
+        IntDoubleHashMap neighbors = data.getNeighbors();
+        for (int slot = 0, end = neighbors.capacity(); slot < end; slot++) {
+            if (neighbors.isUsed(slot)) {
+                action.accept(interner.nodeAt(neighbors.keyAt(slot)), neighbors.valueAt(slot));
+            }
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        if (!directed) {
+            return getNeighbors(node);
         }
-        return Collections.unmodifiableSet(
-                nodes.get(node).getNeighbors().keySet());
+        NodeData<T> data = dataOf(node);
+        return data == null ? Collections.emptyList() : new NodeView(data.getPredecessors());
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        if (!directed) {
+            return getOutDegree(node);
+        }
+        NodeData<T> data = dataOf(node);
+        return data == null ? 0 : data.getPredecessors().size();
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        return intView.getOutDegree(interner.indexOf(node));
     }
 
     @Override
     public void clear() {
-        nodes.clear();
+        interner.clear();
+        adjacency.clear();
+        edgeCount = 0;
+        modificationVersion++;
+        traversalState.reset();
+        listeners.graphCleared();
         log.debug("Graph cleared");
     }
 
     @Override
     public int getNodeCount() {
-        return nodes.size();
+        return interner.size();
     }
 
     @Override
     public int getEdgeCount() {
-        return nodes.values().stream()
-                .mapToInt(data -> data.getNeighbors().size())
-                .sum() / (directed ? 1 : 2);
+        return edgeCount;
     }
 
-    // TraversableGraph implementation
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion;
+    }
+
+    @Override
+    public void addGraphListener(GraphListener<? super T> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean removeGraphListener(GraphListener<? super T> listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Creates an immutable compressed-sparse-row snapshot of the current
+     * graph. Later modifications of this graph are not reflected.
+     */
+    public CompressedSparseRowGraph<T> freeze() {
+        return CompressedSparseRowGraph.build(interner.nodes(), this::forEachNeighbor, directed, weighted);
+    }
+
+    /**
+     * @return index-based view of this graph; indices are those of
+     * {@link #indexOf}
+     */
+    public IntGraph asIntGraph() {
+        return intView;
+    }
+
+    // IndexedGraph implementation
+    @Override
+    public int indexOf(T node) {
+        return interner.indexOf(node);
+    }
+
+    @Override
+    public T nodeAt(int index) {
+        return interner.nodeAt(index);
+    }
+
+    @Override
+    public int getIndexBound() {
+        return interner.getIndexBound();
+    }
+
+    /**
+     * Read-only view of the nodes behind an index-keyed adjacency map.
+     */
+    private final class NodeView extends AbstractSet<T> {
+
+        private final IntDoubleHashMap map;
+
+        NodeView(IntDoubleHashMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object node) {
+            return map.containsKey(interner.indexOf(node));
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private final int end = map.capacity();
+                private int slot = advance(0);
+
+                private int advance(int from) {
+                    while (from < end && !map.isUsed(from)) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return slot < end;
+                }
+
+                @Override
+                public T next() {
+                    if (slot >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    T node = interner.nodeAt(map.keyAt(slot));
+                    slot = advance(slot + 1);
+                    return node;
+                }
+            };
+        }
+    }
+
+    private final class IntView implements IntGraph {
+
+        @Override
+        public int getIndexBound() {
+            return interner.getIndexBound();
+        }
+
+        @Override
+        public boolean containsNode(int node) {
+            return node >= 0 && node < adjacency.size() && adjacency.get(node) != null;
+        }
+
+        @Override
+        public boolean containsEdge(int source, int target) {
+            return containsNode(source) && adjacency.get(source).getNeighbors().containsKey(target);
+        }
+
+        @Override
+        public double getEdgeWeight(int source, int target) {
+            return containsNode(source)
+                    ? adjacency.get(source).getNeighbors().getOrDefault(target, Double.POSITIVE_INFINITY)
+                    : Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public int getOutDegree(int node) {
+            return containsNode(node) ? adjacency.get(node).getNeighbors().size() : 0;
+        }
+
+        @Override
+        public void forEachNeighbor(int node, IntDoubleConsumer action) {
+            if (containsNode(node)) {
+                adjacency.get(node).getNeighbors().forEach(action);
+            }
+        }
+
+        @Override
+        public boolean addEdge(int source, int target, double weight) {
+            if (!containsNode(source) || !containsNode(target)) {
+                return false;
+            }
+            insertEdge(source, target, weight);
+            log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
+            return true;
+        }
+
+        @Override
+        public boolean removeEdge(int source, int target) {
+            if (!deleteEdge(source, target)) {
+                return false;
+            }
+            log.debug("Removed edge: {} -> {}", source, target);
+            return true;
+        }
+    }
+
+    // TraversableGraph implementation, backed by a built-in traversal context
     @Override
     public void resetTraversalState() {
-        nodes.values().forEach(data -> {
-            data.setVisited(false);
-            data.setParent(null);
-            data.setCost(Double.POSITIVE_INFINITY);
-        });
+        traversalState.reset();
         log.debug("Reset traversal state");
     }
 
     @Override
     public boolean isVisited(T node) {
-        return containsNode(node) && nodes.get(node).isVisited();
+        return traversalState.isVisited(node);
     }
 
     @Override
     public void setVisited(T node, boolean visited) {
-        if (containsNode(node)) {
-            nodes.get(node).setVisited(visited);
-        }
+        traversalState.setVisited(node, visited);
     }
 
     @Override
     public T getParent(T node) {
-        return containsNode(node) ? nodes.get(node).getParent() : null;
+        return traversalState.getParent(node);
     }
 
     @Override
     public void setParent(T node, T parent) {
-        if (containsNode(node)) {
-            nodes.get(node).setParent(parent);
-        }
+        traversalState.setParent(node, parent);
     }
 
     @Override
     public double getCost(T node) {
-        return containsNode(node) ? nodes.get(node).getCost() : Double.POSITIVE_INFINITY;
+        return traversalState.getCost(node);
     }
 
     @Override
     public void setCost(T node, double cost) {
-        if (containsNode(node)) {
-            nodes.get(node).setCost(cost);
-        }
+        traversalState.setCost(node, cost);
     }
 }
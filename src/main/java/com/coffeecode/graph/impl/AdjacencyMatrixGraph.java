@@ -1,262 +1,516 @@
 package com.coffeecode.graph.impl;
 
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.IndexedGraph;
+import com.coffeecode.graph.base.IntDoubleConsumer;
+import com.coffeecode.graph.base.IntGraph;
+import com.coffeecode.graph.base.NodeInterner;
+import com.coffeecode.graph.base.ObservableGraph;
 import com.coffeecode.graph.base.TraversableGraph;
+import com.coffeecode.graph.base.TraversalContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import java.util.*;
-
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Graph backed by an adjacency matrix. Weighted graphs store one double per
+ * cell; unweighted graphs store one bit per cell and report every edge with
+ * weight 1.0.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
 @Slf4j
-public class AdjacencyMatrixGraph<T> implements TraversableGraph<T> {
-
-    private static final double NO_EDGE = Double.POSITIVE_INFINITY;
-    private final List<T> nodes;  // Store nodes in order
-    private double[][] matrix;    // Adjacency matrix
-    private final Map<T, Integer> nodeIndices; // Map nodes to matrix indices
-    private final Map<T, NodeState<T>> nodeStates; // Store traversal state
+public class AdjacencyMatrixGraph<T> implements TraversableGraph<T>, IndexedGraph<T>, ObservableGraph<T> {
+
+    private static final double NO_EDGE = MatrixStorage.NO_EDGE;
+    private static final int DEFAULT_CAPACITY = 16;
+    private final NodeInterner<T> interner; // Assigns nodes to matrix slots
+    private MatrixStorage matrix; // Adjacency matrix, rows sized to capacity
+    private int capacity;         // Row and column capacity of the matrix
+    private int[] outDegrees;     // Per-slot degrees, maintained incrementally
+    private int[] inDegrees;
+    private int edgeCount;        // Undirected edges count once
+    private long modificationVersion;
+    private final TraversalContext<T> traversalState;
+    private final GraphListeners<T> listeners = new GraphListeners<>();
+    private final IntGraph intView = new IntView();
     @Getter
     private final boolean directed;
     @Getter
     private final boolean weighted;
 
-    private static class NodeState<T> {
-
-        private boolean visited;
-        private T parent;
-        private double cost;
+    public AdjacencyMatrixGraph(boolean directed, boolean weighted) {
+        this(directed, weighted, DEFAULT_CAPACITY);
     }
 
-    public AdjacencyMatrixGraph(boolean directed, boolean weighted) {
-        this.nodes = new ArrayList<>();
-        this.matrix = new double[0][0];
-        this.nodeIndices = new HashMap<>();
-        this.nodeStates = new HashMap<>();
+    /**
+     * @param initialCapacity number of nodes the matrix can hold before it
+     *                        has to grow
+     */
+    public AdjacencyMatrixGraph(boolean directed, boolean weighted, int initialCapacity) {
+        this.interner = new NodeInterner<>(initialCapacity);
+        this.capacity = Math.max(1, initialCapacity);
+        this.matrix = newStorage(weighted, capacity);
+        this.outDegrees = new int[capacity];
+        this.inDegrees = new int[capacity];
         this.directed = directed;
         this.weighted = weighted;
+        this.traversalState = newTraversalContext();
+    }
+
+    private static MatrixStorage newStorage(boolean weighted, int capacity) {
+        return weighted ? new DoubleMatrixStorage(capacity) : new BitMatrixStorage(capacity);
     }
 
     @Override
     public boolean addNode(T node) {
-        if (node == null || containsNode(node)) {
+        int used = interner.getIndexBound();
+        int slot = interner.add(node);
+        if (slot < 0) {
             return false;
         }
+        initSlot(slot, node, used);
 
-        // Expand matrix
-        int newSize = nodes.size() + 1;
-        double[][] newMatrix = new double[newSize][newSize];
+        log.debug("Added node: {}", node);
+        return true;
+    }
 
-        // Copy existing matrix
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = 0; j < nodes.size(); j++) {
-                newMatrix[i][j] = matrix[i][j];
-            }
+    // Resolves the node to its slot, adding it if absent, with one lookup
+    private int internNode(T node) {
+        int used = interner.getIndexBound();
+        int size = interner.size();
+        int slot = interner.intern(node);
+        if (interner.size() > size) {
+            initSlot(slot, node, used);
         }
+        return slot;
+    }
 
-        // Initialize new row and column
-        for (int i = 0; i < newSize; i++) {
-            newMatrix[i][newSize - 1] = NO_EDGE;
-            newMatrix[newSize - 1][i] = NO_EDGE;
+    private void initSlot(int slot, T node, int used) {
+        if (slot < used) {
+            // Reused slots were cleared on removal
+            traversalState.resetAt(slot);
+        } else {
+            if (slot == capacity) {
+                grow(used);
+            }
+            matrix.allocateRow(slot);
         }
+        modificationVersion++;
+        listeners.nodeAdded(node);
+    }
 
-        matrix = newMatrix;
-        nodeIndices.put(node, nodes.size());
-        nodes.add(node);
-        nodeStates.put(node, new NodeState<>());
-
-        log.debug("Added node: {}", node);
-        return true;
+    // Grows rows and columns by half so insertions stay amortized O(n)
+    private void grow(int used) {
+        int newCapacity = capacity + (capacity >> 1) + 1;
+        matrix.grow(newCapacity, used);
+        outDegrees = Arrays.copyOf(outDegrees, newCapacity);
+        inDegrees = Arrays.copyOf(inDegrees, newCapacity);
+        capacity = newCapacity;
+        log.debug("Grew matrix capacity to {}", newCapacity);
     }
 
+    /**
+     * @return false if an endpoint is missing or the weight is not finite;
+     * absent cells are stored as infinity, so such a weight cannot be kept
+     */
     @Override
     public boolean addEdge(T source, T target, double weight) {
-        if (!containsNode(source) || !containsNode(target)) {
+        if (!insertEdge(source, target, weight)) {
             return false;
         }
+        log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
+        return true;
+    }
 
-        int sourceIndex = nodeIndices.get(source);
-        int targetIndex = nodeIndices.get(target);
+    private boolean insertEdge(T source, T target, double weight) {
+        int sourceIndex = interner.indexOf(source);
+        int targetIndex = interner.indexOf(target);
+        return sourceIndex >= 0 && targetIndex >= 0 && insertEdge(sourceIndex, targetIndex, weight);
+    }
 
-        matrix[sourceIndex][targetIndex] = weight;
-        if (!directed) {
-            matrix[targetIndex][sourceIndex] = weight;
+    private boolean insertEdge(int source, int target, double weight) {
+        if (!Double.isFinite(weight)) {
+            return false;
+        }
+        double previous = matrix.get(source, target);
+        setCell(source, target, weight);
+        // Report the stored weight, unweighted graphs keep 1.0
+        if (previous == NO_EDGE) {
+            listeners.edgeAdded(interner.nodeAt(source), interner.nodeAt(target), matrix.get(source, target));
+        } else {
+            listeners.edgeWeightChanged(interner.nodeAt(source), interner.nodeAt(target),
+                    previous, matrix.get(source, target));
         }
-
-        log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
         return true;
     }
 
+    @Override
+    public int addEdges(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            if (insertEdge(batch.getSource(i), batch.getTarget(i), batch.getWeight(i))) {
+                added++;
+            }
+        }
+        log.debug("Added {} edges", added);
+        return added;
+    }
+
+    @Override
+    public int addEdgesWithNodes(EdgeBatch<T> batch) {
+        int added = 0;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            int source = internNode(batch.getSource(i));
+            int target = internNode(batch.getTarget(i));
+            if (source >= 0 && target >= 0 && insertEdge(source, target, batch.getWeight(i))) {
+                added++;
+            }
+        }
+        log.debug("Added {} edges", added);
+        return added;
+    }
+
     @Override
     public boolean removeNode(T node) {
-        if (!containsNode(node)) {
+        int index = interner.indexOf(node);
+        if (index < 0) {
             return false;
         }
 
-        int index = nodeIndices.get(node);
-        int size = nodes.size();
-
-        // Create new matrix excluding the node
-        double[][] newMatrix = new double[size - 1][size - 1];
-        for (int i = 0, newI = 0; i < size; i++) {
-            if (i == index) {
-                continue;
-            }
-            for (int j = 0, newJ = 0; j < size; j++) {
-                if (j == index) {
-                    continue;
+        // Clear the slot's row and column and keep it for reuse
+        modificationVersion++;
+        int used = interner.getIndexBound();
+        for (int i = matrix.nextInRow(index, 0, used); i >= 0; i = matrix.nextInRow(index, i + 1, used)) {
+            setCell(index, i, NO_EDGE);
+        }
+        if (directed) {
+            for (int i = 0; i < used; i++) {
+                if (matrix.contains(i, index)) {
+                    setCell(i, index, NO_EDGE);
                 }
-                newMatrix[newI][newJ] = matrix[i][j];
-                newJ++;
             }
-            newI++;
         }
 
-        // Update indices for remaining nodes
-        nodes.remove(index);
-        nodeStates.remove(node);
-        nodeIndices.clear();
-        for (int i = 0; i < nodes.size(); i++) {
-            nodeIndices.put(nodes.get(i), i);
-        }
+        interner.remove(node);
+        listeners.nodeRemoved(node);
 
-        matrix = newMatrix;
         log.debug("Removed node: {}", node);
         return true;
     }
 
+    // Writes one edge (both cells when undirected) and keeps counts in sync
+    private void setCell(int source, int target, double weight) {
+        modificationVersion++;
+        boolean existed = matrix.contains(source, target);
+        boolean exists = weight != NO_EDGE;
+        matrix.set(source, target, weight);
+        if (!directed) {
+            matrix.set(target, source, weight);
+        }
+        if (existed == exists) {
+            return;
+        }
+
+        int delta = exists ? 1 : -1;
+        edgeCount += delta;
+        outDegrees[source] += delta;
+        inDegrees[target] += delta;
+        if (!directed && source != target) {
+            outDegrees[target] += delta;
+            inDegrees[source] += delta;
+        }
+    }
+
     @Override
     public boolean removeEdge(T source, T target) {
-        if (!containsEdge(source, target)) {
+        if (!deleteEdge(interner.indexOf(source), interner.indexOf(target))) {
             return false;
         }
+        log.debug("Removed edge: {} -> {}", source, target);
+        return true;
+    }
 
-        int sourceIndex = nodeIndices.get(source);
-        int targetIndex = nodeIndices.get(target);
-
-        matrix[sourceIndex][targetIndex] = NO_EDGE;
-        if (!directed) {
-            matrix[targetIndex][sourceIndex] = NO_EDGE;
+    private boolean deleteEdge(int source, int target) {
+        if (source < 0 || target < 0 || !matrix.contains(source, target)) {
+            return false;
         }
-
-        log.debug("Removed edge: {} -> {}", source, target);
+        setCell(source, target, NO_EDGE);
+        listeners.edgeRemoved(interner.nodeAt(source), interner.nodeAt(target));
         return true;
     }
 
     @Override
     public boolean containsNode(T node) {
-        return nodeIndices.containsKey(node);
+        return interner.indexOf(node) >= 0;
     }
 
     @Override
     public boolean containsEdge(T source, T target) {
-        if (!containsNode(source) || !containsNode(target)) {
-            return false;
-        }
-        int sourceIndex = nodeIndices.get(source);
-        int targetIndex = nodeIndices.get(target);
-        return matrix[sourceIndex][targetIndex] != NO_EDGE;
+        int sourceIndex = interner.indexOf(source);
+        int targetIndex = interner.indexOf(target);
+        return sourceIndex >= 0 && targetIndex >= 0 && matrix.contains(sourceIndex, targetIndex);
     }
 
     @Override
     public double getEdgeWeight(T source, T target) {
-        if (!containsNode(source) || !containsNode(target)) {
-            return NO_EDGE;
-        }
-        return matrix[nodeIndices.get(source)][nodeIndices.get(target)];
+        int sourceIndex = interner.indexOf(source);
+        int targetIndex = interner.indexOf(target);
+        return sourceIndex < 0 || targetIndex < 0 ? NO_EDGE : matrix.get(sourceIndex, targetIndex);
     }
 
     @Override
     public Iterable<T> getNodes() {
-        return Collections.unmodifiableList(nodes);
+        return interner.nodes();
     }
 
     @Override
     public Iterable<T> getNeighbors(T node) {
-        if (!containsNode(node)) {
+        int row = interner.indexOf(node);
+        if (row < 0) {
             return Collections.emptyList();
         }
 
         List<T> neighbors = new ArrayList<>();
-        int nodeIndex = nodeIndices.get(node);
+        int used = interner.getIndexBound();
 
-        for (int i = 0; i < nodes.size(); i++) {
-            if (matrix[nodeIndex][i] != NO_EDGE) {
-                neighbors.add(nodes.get(i));
-            }
+        for (int i = matrix.nextInRow(row, 0, used); i >= 0; i = matrix.nextInRow(row, i + 1, used)) {
+            neighbors.add(interner.nodeAt(i));
         }
 
         return Collections.unmodifiableList(neighbors);
     }
 
+    @Override
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        int row = interner.indexOf(node);
+        if (row < 0) {
+            return;
+        }
+        int used = interner.getIndexBound();
+        for (int i = matrix.nextInRow(row, 0, used); i >= 0; i = matrix.nextInRow(row, i + 1, used)) {
+            action.accept(interner.nodeAt(i), matrix.get(row, i));
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        int nodeIndex = interner.indexOf(node);
+        if (nodeIndex < 0) {
+            return Collections.emptyList();
+        }
+
+        if (!directed) {
+            return getNeighbors(node);
+        }
+
+        List<T> predecessors = new ArrayList<>();
+        int used = interner.getIndexBound();
+
+        for (int i = 0; i < used; i++) {
+            if (matrix.contains(i, nodeIndex)) {
+                predecessors.add(interner.nodeAt(i));
+            }
+        }
+
+        return Collections.unmodifiableList(predecessors);
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        int index = interner.indexOf(node);
+        return index < 0 ? 0 : inDegrees[index];
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        int index = interner.indexOf(node);
+        return index < 0 ? 0 : outDegrees[index];
+    }
+
+    /**
+     * Counts successors shared by both nodes, e.g. for similarity scores.
+     * Unweighted graphs intersect whole bitset words at a time.
+     */
+    public int countCommonNeighbors(T first, T second) {
+        int firstIndex = interner.indexOf(first);
+        int secondIndex = interner.indexOf(second);
+        if (firstIndex < 0 || secondIndex < 0) {
+            return 0;
+        }
+        return matrix.countCommon(firstIndex, secondIndex, interner.getIndexBound());
+    }
+
     @Override
     public void clear() {
-        nodes.clear();
-        nodeIndices.clear();
-        nodeStates.clear();
-        matrix = new double[0][0];
+        interner.clear();
+        traversalState.reset();
+        edgeCount = 0;
+        modificationVersion++;
+        capacity = DEFAULT_CAPACITY;
+        matrix = newStorage(weighted, capacity);
+        outDegrees = new int[capacity];
+        inDegrees = new int[capacity];
+        listeners.graphCleared();
         log.debug("Graph cleared");
     }
 
     @Override
     public int getNodeCount() {
-        return nodes.size();
+        return interner.size();
     }
 
     @Override
     public int getEdgeCount() {
-        int count = 0;
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = 0; j < nodes.size(); j++) {
-                if (matrix[i][j] != NO_EDGE) {
-                    count++;
-                }
+        return edgeCount;
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion;
+    }
+
+    @Override
+    public void addGraphListener(GraphListener<? super T> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean removeGraphListener(GraphListener<? super T> listener) {
+        return listeners.remove(listener);
+    }
+
+    // IndexedGraph implementation
+    @Override
+    public int indexOf(T node) {
+        return interner.indexOf(node);
+    }
+
+    @Override
+    public T nodeAt(int index) {
+        return interner.nodeAt(index);
+    }
+
+    @Override
+    public int getIndexBound() {
+        return interner.getIndexBound();
+    }
+
+    /**
+     * @return index-based view of this graph; indices are those of
+     * {@link #indexOf}
+     */
+    public IntGraph asIntGraph() {
+        return intView;
+    }
+
+    /**
+     * Copies the weight matrix into a row-major array, one row per slot up to
+     * {@link #getIndexBound()}. Missing edges are {@code +Infinity}; cells
+     * beyond the bound are left untouched.
+     *
+     * @param stride distance between the starts of consecutive rows in target
+     */
+    public void copyWeightsTo(double[] target, int stride) {
+        int used = interner.getIndexBound();
+        for (int i = 0; i < used; i++) {
+            matrix.copyRowTo(i, target, i * stride, used);
+        }
+    }
+
+    private final class IntView implements IntGraph {
+
+        @Override
+        public int getIndexBound() {
+            return interner.getIndexBound();
+        }
+
+        @Override
+        public boolean containsNode(int node) {
+            return interner.nodeAt(node) != null;
+        }
+
+        @Override
+        public boolean containsEdge(int source, int target) {
+            return containsNode(source) && containsNode(target) && matrix.contains(source, target);
+        }
+
+        @Override
+        public double getEdgeWeight(int source, int target) {
+            return containsNode(source) && containsNode(target) ? matrix.get(source, target) : NO_EDGE;
+        }
+
+        @Override
+        public int getOutDegree(int node) {
+            return containsNode(node) ? outDegrees[node] : 0;
+        }
+
+        @Override
+        public void forEachNeighbor(int node, IntDoubleConsumer action) {
+            if (!containsNode(node)) {
+                return;
+            }
+            int used = interner.getIndexBound();
+            for (int i = matrix.nextInRow(node, 0, used); i >= 0; i = matrix.nextInRow(node, i + 1, used)) {
+                action.accept(i, matrix.get(node, i));
+            }
+        }
+
+        @Override
+        public boolean addEdge(int source, int target, double weight) {
+            if (!containsNode(source) || !containsNode(target) || !insertEdge(source, target, weight)) {
+                return false;
+            }
+            log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
+            return true;
+        }
+
+        @Override
+        public boolean removeEdge(int source, int target) {
+            if (!containsNode(source) || !containsNode(target) || !deleteEdge(source, target)) {
+                return false;
             }
+            log.debug("Removed edge: {} -> {}", source, target);
+            return true;
         }
-        return directed ? count : count / 2;
     }
 
-    // TraversableGraph implementation
+    // TraversableGraph implementation, backed by a built-in traversal context
     @Override
     public void resetTraversalState() {
-        nodeStates.values().forEach(state -> {
-            state.visited = false;
-            state.parent = null;
-            state.cost = Double.POSITIVE_INFINITY;
-        });
+        traversalState.reset();
         log.debug("Reset traversal state");
     }
 
     @Override
     public boolean isVisited(T node) {
-        return nodeStates.containsKey(node) && nodeStates.get(node).visited;
+        return traversalState.isVisited(node);
     }
 
     @Override
     public void setVisited(T node, boolean visited) {
-        if (containsNode(node)) {
-            nodeStates.get(node).visited = visited;
-        }
+        traversalState.setVisited(node, visited);
     }
 
     @Override
     public T getParent(T node) {
-        return nodeStates.containsKey(node) ? nodeStates.get(node).parent : null;
+        return traversalState.getParent(node);
     }
 
     @Override
     public void setParent(T node, T parent) {
-        if (containsNode(node)) {
-            nodeStates.get(node).parent = parent;
-        }
+        traversalState.setParent(node, parent);
     }
 
     @Override
     public double getCost(T node) {
-        return nodeStates.containsKey(node) ? nodeStates.get(node).cost : Double.POSITIVE_INFINITY;
+        return traversalState.getCost(node);
     }
 
     @Override
     public void setCost(T node, double cost) {
-        if (containsNode(node)) {
-            nodeStates.get(node).cost = cost;
-        }
+        traversalState.setCost(node, cost);
     }
 }
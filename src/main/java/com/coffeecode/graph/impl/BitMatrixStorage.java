@@ -0,0 +1,100 @@
+package com.coffeecode.graph.impl;
+
+import java.util.Arrays;
+
+/**
+ * One bit per cell, used for unweighted graphs. Every present edge reads as
+ * weight 1.0. Row scans and intersections work on whole 64-bit words.
+ */
+final class BitMatrixStorage implements MatrixStorage {
+
+    private static final double UNIT_WEIGHT = 1.0;
+
+    private long[][] rows;
+    private int words;  // Words per row
+
+    BitMatrixStorage(int capacity) {
+        this.rows = new long[capacity][];
+        this.words = wordsFor(capacity);
+    }
+
+    private static int wordsFor(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    @Override
+    public void grow(int newCapacity, int usedRows) {
+        rows = Arrays.copyOf(rows, newCapacity);
+        int newWords = wordsFor(newCapacity);
+        if (newWords != words) {
+            for (int i = 0; i < usedRows; i++) {
+                rows[i] = Arrays.copyOf(rows[i], newWords);
+            }
+            words = newWords;
+        }
+    }
+
+    @Override
+    public void allocateRow(int row) {
+        rows[row] = new long[words];
+    }
+
+    @Override
+    public boolean contains(int row, int col) {
+        return (rows[row][col >>> 6] & (1L << col)) != 0;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return contains(row, col) ? UNIT_WEIGHT : NO_EDGE;
+    }
+
+    @Override
+    public void set(int row, int col, double weight) {
+        if (weight == NO_EDGE) {
+            rows[row][col >>> 6] &= ~(1L << col);
+        } else {
+            rows[row][col >>> 6] |= 1L << col;
+        }
+    }
+
+    @Override
+    public int nextInRow(int row, int from, int limit) {
+        if (from >= limit) {
+            return -1;
+        }
+        long[] bits = rows[row];
+        int word = from >>> 6;
+        // Mask off columns before from in the first word
+        long current = bits[word] & (-1L << from);
+        int lastWord = (limit - 1) >>> 6;
+        while (current == 0) {
+            if (++word > lastWord) {
+                return -1;
+            }
+            current = bits[word];
+        }
+        int col = (word << 6) + Long.numberOfTrailingZeros(current);
+        return col < limit ? col : -1;
+    }
+
+    @Override
+    public void copyRowTo(int row, double[] target, int offset, int length) {
+        Arrays.fill(target, offset, offset + length, NO_EDGE);
+        for (int col = nextInRow(row, 0, length); col >= 0; col = nextInRow(row, col + 1, length)) {
+            target[offset + col] = UNIT_WEIGHT;
+        }
+    }
+
+    @Override
+    public int countCommon(int rowA, int rowB, int limit) {
+        long[] a = rows[rowA];
+        long[] b = rows[rowB];
+        int count = 0;
+        // Columns at or beyond limit are never set, so whole words are safe
+        for (int word = 0, end = wordsFor(limit); word < end; word++) {
+            count += Long.bitCount(a[word] & b[word]);
+        }
+        return count;
+    }
+}
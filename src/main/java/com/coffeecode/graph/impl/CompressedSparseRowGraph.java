@@ -0,0 +1,419 @@
+package com.coffeecode.graph.impl;
+
+import com.coffeecode.graph.base.CompressedGraph;
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.base.IntDoubleConsumer;
+import com.coffeecode.graph.base.IntGraphQuery;
+import com.coffeecode.graph.base.NodeInterner;
+import lombok.Getter;
+import java.util.*;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Immutable compressed-sparse-row (CSR) snapshot of a graph.
+ * <p>
+ * Nodes are addressed by dense indices {@code 0 .. n-1}. The outgoing edges of
+ * node {@code i} occupy {@code targets[offsets[i] .. offsets[i + 1])} and the
+ * matching slots of {@code weights}, sorted by target index, so traversals run
+ * over contiguous primitive arrays instead of per-node hash maps. Incoming
+ * edges are indexed the same way; undirected graphs share one set of arrays.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public final class CompressedSparseRowGraph<T> implements CompressedGraph<T> {
+
+    private final Object[] nodes;              // Node data by index
+    private final NodeInterner<T> nodeIndices; // Map nodes to dense indices
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] inOffsets;
+    private final int[] sources;
+    private final double[] inWeights;
+    private final int edgeCount;
+    private final IntGraphQuery intView = new IntView();
+    @Getter
+    private final boolean directed;
+    @Getter
+    private final boolean weighted;
+
+    /**
+     * Callback used to enumerate the outgoing edges of a node while building.
+     */
+    @FunctionalInterface
+    interface NeighborSource<T> {
+
+        void forEachNeighbor(T node, ObjDoubleConsumer<T> action);
+    }
+
+    private CompressedSparseRowGraph(Object[] nodes, NodeInterner<T> nodeIndices,
+            int[] offsets, int[] targets, double[] weights,
+            boolean directed, boolean weighted) {
+        this.nodes = nodes;
+        this.nodeIndices = nodeIndices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.edgeCount = countEdges(nodes.length, offsets, targets, directed);
+        if (directed) {
+            this.inOffsets = new int[nodes.length + 1];
+            this.sources = new int[targets.length];
+            this.inWeights = new double[targets.length];
+            buildReverse();
+        } else {
+            this.inOffsets = offsets;
+            this.sources = targets;
+            this.inWeights = weights;
+        }
+    }
+
+    // Counting sort of all edges by target; sources end up sorted per row
+    private void buildReverse() {
+        int n = nodes.length;
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] next = Arrays.copyOf(inOffsets, n);
+        for (int source = 0; source < n; source++) {
+            for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+                int slot = next[targets[e]]++;
+                sources[slot] = source;
+                inWeights[slot] = weights[e];
+            }
+        }
+    }
+
+    /**
+     * Builds a CSR snapshot of any graph through its public query API.
+     */
+    public static <T> CompressedSparseRowGraph<T> copyOf(Graph<T> graph) {
+        List<T> nodeList = new ArrayList<>(graph.getNodeCount());
+        graph.getNodes().forEach(nodeList::add);
+        return build(nodeList, graph::forEachNeighbor, graph.isDirected(), graph.isWeighted());
+    }
+
+    static <T> CompressedSparseRowGraph<T> build(Collection<T> nodeList,
+            NeighborSource<T> source, boolean directed, boolean weighted) {
+        int n = nodeList.size();
+        Object[] nodes = nodeList.toArray();
+        NodeInterner<T> indices = NodeInterner.of(nodes);
+
+        int[] offsets = new int[n + 1];
+        EdgeBuffer buffer = new EdgeBuffer(Math.max(16, n));
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) nodes[i];
+            source.forEachNeighbor(node, (neighbor, weight) -> {
+                int target = indices.indexOf(neighbor);
+                if (target >= 0) {
+                    buffer.add(target, weight);
+                }
+            });
+            offsets[i + 1] = buffer.size;
+            sortRow(buffer.targets, buffer.weights, offsets[i], offsets[i + 1] - 1);
+        }
+
+        return new CompressedSparseRowGraph<>(nodes, indices, offsets,
+                Arrays.copyOf(buffer.targets, buffer.size),
+                Arrays.copyOf(buffer.weights, buffer.size),
+                directed, weighted);
+    }
+
+    // Index-based access for traversal algorithms
+    @Override
+    public int indexOf(T node) {
+        return nodeIndices.indexOf(node);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T nodeAt(int index) {
+        return (T) nodes[index];
+    }
+
+    @Override
+    public int getIndexBound() {
+        return nodes.length;
+    }
+
+    @Override
+    public int edgeStart(int node) {
+        return offsets[node];
+    }
+
+    @Override
+    public int edgeEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    @Override
+    public int inEdgeStart(int node) {
+        return inOffsets[node];
+    }
+
+    @Override
+    public int inEdgeEnd(int node) {
+        return inOffsets[node + 1];
+    }
+
+    @Override
+    public int inEdgeSource(int edge) {
+        return sources[edge];
+    }
+
+    @Override
+    public double inEdgeWeight(int edge) {
+        return inWeights[edge];
+    }
+
+    @Override
+    public int findEdge(int source, int target) {
+        int low = offsets[source];
+        int high = offsets[source + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = targets[mid];
+            if (value < target) {
+                low = mid + 1;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return read-only index-based view of this snapshot
+     */
+    public IntGraphQuery asIntGraph() {
+        return intView;
+    }
+
+    // GraphQuery implementation
+    @Override
+    public boolean containsNode(T node) {
+        return nodeIndices.indexOf(node) >= 0;
+    }
+
+    @Override
+    public boolean containsEdge(T source, T target) {
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        return sourceIndex >= 0 && targetIndex >= 0
+                && findEdge(sourceIndex, targetIndex) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T target) {
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int edge = findEdge(sourceIndex, targetIndex);
+        return edge < 0 ? Double.POSITIVE_INFINITY : weights[edge];
+    }
+
+    @Override
+    public Iterable<T> getNodes() {
+        return nodeIndices.nodes();
+    }
+
+    @Override
+    public Iterable<T> getNeighbors(T node) {
+        int index = indexOf(node);
+        return index < 0 ? Collections.emptyList()
+                : nodeView(targets, offsets[index], offsets[index + 1]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        int index = indexOf(node);
+        if (index < 0) {
+            return;
+        }
+        for (int e = offsets[index], end = offsets[index + 1]; e < end; e++) {
+            action.accept((T) nodes[targets[e]], weights[e]);
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        int index = indexOf(node);
+        return index < 0 ? Collections.emptyList()
+                : nodeView(sources, inOffsets[index], inOffsets[index + 1]);
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        int index = indexOf(node);
+        return index < 0 ? 0 : inOffsets[index + 1] - inOffsets[index];
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        int index = indexOf(node);
+        return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+    }
+
+    private List<T> nodeView(int[] ids, int start, int end) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int i) {
+                return nodeAt(ids[start + i]);
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    private final class IntView implements IntGraphQuery {
+
+        @Override
+        public int getIndexBound() {
+            return nodes.length;
+        }
+
+        @Override
+        public boolean containsNode(int node) {
+            return node >= 0 && node < nodes.length;
+        }
+
+        @Override
+        public boolean containsEdge(int source, int target) {
+            return containsNode(source) && containsNode(target) && findEdge(source, target) >= 0;
+        }
+
+        @Override
+        public double getEdgeWeight(int source, int target) {
+            int edge = containsNode(source) && containsNode(target) ? findEdge(source, target) : -1;
+            return edge < 0 ? Double.POSITIVE_INFINITY : weights[edge];
+        }
+
+        @Override
+        public int getOutDegree(int node) {
+            return containsNode(node) ? offsets[node + 1] - offsets[node] : 0;
+        }
+
+        @Override
+        public void forEachNeighbor(int node, IntDoubleConsumer action) {
+            if (!containsNode(node)) {
+                return;
+            }
+            for (int e = offsets[node], end = offsets[node + 1]; e < end; e++) {
+                action.accept(targets[e], weights[e]);
+            }
+        }
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    private static int countEdges(int n, int[] offsets, int[] targets, boolean directed) {
+        if (directed) {
+            return targets.length;
+        }
+        // Undirected edges are stored in both rows, self-loops only once
+        int selfLoops = 0;
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                if (targets[e] == i) {
+                    selfLoops++;
+                }
+            }
+        }
+        return (targets.length + selfLoops) / 2;
+    }
+
+    // Sorts one row of parallel (target, weight) arrays by target
+    private static void sortRow(int[] t, double[] w, int low, int high) {
+        while (high - low > 16) {
+            int pivot = t[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (t[i] < pivot) {
+                    i++;
+                }
+                while (t[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(t, w, i++, j--);
+                }
+            }
+            // Recurse into the smaller half to bound stack depth
+            if (j - low < high - i) {
+                sortRow(t, w, low, j);
+                low = i;
+            } else {
+                sortRow(t, w, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && t[j - 1] > t[j]; j--) {
+                swap(t, w, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(int[] t, double[] w, int a, int b) {
+        int target = t[a];
+        t[a] = t[b];
+        t[b] = target;
+        double weight = w[a];
+        w[a] = w[b];
+        w[b] = weight;
+    }
+
+    private static final class EdgeBuffer {
+
+        private int[] targets;
+        private double[] weights;
+        private int size;
+
+        EdgeBuffer(int capacity) {
+            targets = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        void add(int target, double weight) {
+            if (size == targets.length) {
+                int capacity = targets.length << 1;
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            targets[size] = target;
+            weights[size++] = weight;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.coffeecode.graph.impl;
+
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.ObservableGraph;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Thread-safe adjacency list graph.
+ * <p>
+ * Adjacency is kept in concurrent maps, so readers never lock. Edge writers
+ * lock only the stripes of the two endpoints, which keeps the forward entry,
+ * the mirror or in-edge entry and the edge count consistent while writers on
+ * unrelated nodes proceed in parallel. Node removal and {@link #clear()} take
+ * every stripe; they are expected to be rare compared to edge updates.
+ * <p>
+ * Iterables returned by queries are live, weakly consistent views. Listeners
+ * are notified while the writer still holds its stripes, so events for the
+ * same node or edge arrive in the order the changes were applied.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public class ConcurrentAdjacencyListGraph<T> implements ObservableGraph<T> {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentHashMap<T, Adjacency<T>> nodes;
+    private final ReentrantLock[] stripes;
+    private final LongAdder edgeCount; // Undirected edges count once
+    private final AtomicLong modificationVersion; // Bumped after each change is applied
+    private final GraphListeners<T> listeners = new GraphListeners<>();
+    @Getter
+    private final boolean directed;
+    @Getter
+    private final boolean weighted;
+
+    private static final class Adjacency<T> {
+
+        private final Map<T, Double> neighbors = new ConcurrentHashMap<>();
+        // In-edge index, only maintained for directed graphs
+        private final Set<T> predecessors = ConcurrentHashMap.newKeySet();
+    }
+
+    public ConcurrentAdjacencyListGraph(boolean directed, boolean weighted) {
+        this(directed, weighted, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes number of write locks, rounded up to a power of two
+     */
+    public ConcurrentAdjacencyListGraph(boolean directed, boolean weighted, int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.nodes = new ConcurrentHashMap<>();
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.edgeCount = new LongAdder();
+        this.modificationVersion = new AtomicLong();
+        this.directed = directed;
+        this.weighted = weighted;
+    }
+
+    @Override
+    public boolean addNode(T node) {
+        if (node == null) {
+            return false;
+        }
+        ReentrantLock stripe = stripes[stripeOf(node)];
+        stripe.lock();
+        try {
+            if (nodes.putIfAbsent(node, new Adjacency<>()) != null) {
+                return false;
+            }
+            modificationVersion.incrementAndGet();
+            listeners.nodeAdded(node);
+        } finally {
+            stripe.unlock();
+        }
+        log.debug("Added node: {}", node);
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(T source, T target, double weight) {
+        if (source == null || target == null) {
+            return false;
+        }
+
+        int first = stripeOf(source);
+        int second = stripeOf(target);
+        lockPair(first, second);
+        try {
+            // Looked up under the locks so a concurrent removeNode cannot interleave
+            Adjacency<T> sourceData = nodes.get(source);
+            Adjacency<T> targetData = nodes.get(target);
+            if (sourceData == null || targetData == null) {
+                return false;
+            }
+
+            Double previous = sourceData.neighbors.put(target, weight);
+            if (previous == null) {
+                edgeCount.increment();
+            }
+            if (directed) {
+                targetData.predecessors.add(source);
+            } else {
+                targetData.neighbors.put(source, weight);
+            }
+            modificationVersion.incrementAndGet();
+            if (previous == null) {
+                listeners.edgeAdded(source, target, weight);
+            } else {
+                listeners.edgeWeightChanged(source, target, previous, weight);
+            }
+        } finally {
+            unlockPair(first, second);
+        }
+
+        log.debug("Added edge: {} -> {} (weight: {})", source, target, weight);
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(T node) {
+        if (node == null) {
+            return false;
+        }
+
+        lockAll();
+        try {
+            Adjacency<T> removed = nodes.remove(node);
+            if (removed == null) {
+                return false;
+            }
+
+            int incident = removed.neighbors.size();
+            for (T neighbor : removed.neighbors.keySet()) {
+                Adjacency<T> data = nodes.get(neighbor);
+                if (data == null) {
+                    continue; // Self-loop
+                }
+                if (directed) {
+                    data.predecessors.remove(node);
+                } else {
+                    data.neighbors.remove(node);
+                }
+            }
+            for (T predecessor : removed.predecessors) {
+                Adjacency<T> data = nodes.get(predecessor);
+                if (data != null) {
+                    data.neighbors.remove(node);
+                    incident++;
+                }
+            }
+            edgeCount.add(-incident);
+            modificationVersion.incrementAndGet();
+            listeners.nodeRemoved(node);
+        } finally {
+            unlockAll();
+        }
+
+        log.debug("Removed node: {}", node);
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(T source, T target) {
+        if (source == null || target == null) {
+            return false;
+        }
+
+        int first = stripeOf(source);
+        int second = stripeOf(target);
+        lockPair(first, second);
+        try {
+            Adjacency<T> sourceData = nodes.get(source);
+            if (sourceData == null || sourceData.neighbors.remove(target) == null) {
+                return false;
+            }
+
+            Adjacency<T> targetData = nodes.get(target);
+            if (directed) {
+                targetData.predecessors.remove(source);
+            } else {
+                targetData.neighbors.remove(source);
+            }
+            edgeCount.decrement();
+            modificationVersion.incrementAndGet();
+            listeners.edgeRemoved(source, target);
+        } finally {
+            unlockPair(first, second);
+        }
+
+        log.debug("Removed edge: {} -> {}", source, target);
+        return true;
+    }
+
+    @Override
+    public boolean containsNode(T node) {
+        return node != null && nodes.containsKey(node);
+    }
+
+    @Override
+    public boolean containsEdge(T source, T target) {
+        Adjacency<T> data = source == null ? null : nodes.get(source);
+        return data != null && target != null && data.neighbors.containsKey(target);
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T target) {
+        Adjacency<T> data = source == null ? null : nodes.get(source);
+        Double weight = data == null || target == null ? null : data.neighbors.get(target);
+        return weight == null ? Double.POSITIVE_INFINITY : weight;
+    }
+
+    @Override
+    public Iterable<T> getNodes() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    @Override
+    public Iterable<T> getNeighbors(T node) {
+        Adjacency<T> data = node == null ? null : nodes.get(node);
+        if (data == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableSet(data.neighbors.keySet());
+    }
+
+    @Override
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        Adjacency<T> data = node == null ? null : nodes.get(node);
+        if (data != null) {
+            data.neighbors.forEach(action::accept);
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        if (!directed) {
+            return getNeighbors(node);
+        }
+        Adjacency<T> data = node == null ? null : nodes.get(node);
+        if (data == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableSet(data.predecessors);
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        if (!directed) {
+            return getOutDegree(node);
+        }
+        Adjacency<T> data = node == null ? null : nodes.get(node);
+        return data == null ? 0 : data.predecessors.size();
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        Adjacency<T> data = node == null ? null : nodes.get(node);
+        return data == null ? 0 : data.neighbors.size();
+    }
+
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            nodes.clear();
+            edgeCount.reset();
+            modificationVersion.incrementAndGet();
+            listeners.graphCleared();
+        } finally {
+            unlockAll();
+        }
+        log.debug("Graph cleared");
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount.intValue();
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return modificationVersion.get();
+    }
+
+    @Override
+    public void addGraphListener(GraphListener<? super T> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean removeGraphListener(GraphListener<? super T> listener) {
+        return listeners.remove(listener);
+    }
+
+    // Lock striping
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    private int stripeOf(T node) {
+        int h = node.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    // Stripes are always acquired in index order to avoid deadlocks
+    private void lockPair(int first, int second) {
+        stripes[Math.min(first, second)].lock();
+        if (first != second) {
+            stripes[Math.max(first, second)].lock();
+        }
+    }
+
+    private void unlockPair(int first, int second) {
+        if (first != second) {
+            stripes[Math.max(first, second)].unlock();
+        }
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.coffeecode.graph.impl;
+
+import java.util.Arrays;
+
+/**
+ * One double per cell, used for weighted graphs.
+ */
+final class DoubleMatrixStorage implements MatrixStorage {
+
+    private double[][] rows;
+    private int capacity;
+
+    DoubleMatrixStorage(int capacity) {
+        this.capacity = capacity;
+        this.rows = new double[capacity][];
+    }
+
+    @Override
+    public void grow(int newCapacity, int usedRows) {
+        rows = Arrays.copyOf(rows, newCapacity);
+        for (int i = 0; i < usedRows; i++) {
+            double[] row = Arrays.copyOf(rows[i], newCapacity);
+            Arrays.fill(row, capacity, newCapacity, NO_EDGE);
+            rows[i] = row;
+        }
+        capacity = newCapacity;
+    }
+
+    @Override
+    public void allocateRow(int row) {
+        double[] cells = new double[capacity];
+        Arrays.fill(cells, NO_EDGE);
+        rows[row] = cells;
+    }
+
+    @Override
+    public boolean contains(int row, int col) {
+        return rows[row][col] != NO_EDGE;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return rows[row][col];
+    }
+
+    @Override
+    public void set(int row, int col, double weight) {
+        rows[row][col] = weight;
+    }
+
+    @Override
+    public int nextInRow(int row, int from, int limit) {
+        double[] cells = rows[row];
+        for (int col = from; col < limit; col++) {
+            if (cells[col] != NO_EDGE) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void copyRowTo(int row, double[] target, int offset, int length) {
+        System.arraycopy(rows[row], 0, target, offset, length);
+    }
+
+    @Override
+    public int countCommon(int rowA, int rowB, int limit) {
+        double[] a = rows[rowA];
+        double[] b = rows[rowB];
+        int count = 0;
+        for (int col = 0; col < limit; col++) {
+            if (a[col] != NO_EDGE && b[col] != NO_EDGE) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,79 @@
+package com.coffeecode.graph.impl;
+
+import com.coffeecode.graph.base.GraphListener;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Copy-on-write listener array shared by the graph implementations. Firing
+ * iterates a plain array, so graphs without listeners pay one volatile read
+ * per modification.
+ */
+final class GraphListeners<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final GraphListener[] NONE = new GraphListener[0];
+
+    @SuppressWarnings("unchecked")
+    private volatile GraphListener<? super T>[] listeners = NONE;
+
+    synchronized void add(GraphListener<? super T> listener) {
+        GraphListener<? super T>[] current = listeners;
+        GraphListener<? super T>[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = Objects.requireNonNull(listener);
+        listeners = next;
+    }
+
+    synchronized boolean remove(GraphListener<? super T> listener) {
+        GraphListener<? super T>[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GraphListener<? super T>[] next = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                listeners = next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void nodeAdded(T node) {
+        for (GraphListener<? super T> listener : listeners) {
+            listener.nodeAdded(node);
+        }
+    }
+
+    void nodeRemoved(T node) {
+        for (GraphListener<? super T> listener : listeners) {
+            listener.nodeRemoved(node);
+        }
+    }
+
+    void edgeAdded(T source, T target, double weight) {
+        for (GraphListener<? super T> listener : listeners) {
+            listener.edgeAdded(source, target, weight);
+        }
+    }
+
+    // Rewriting an edge with the same weight is not a change
+    void edgeWeightChanged(T source, T target, double oldWeight, double newWeight) {
+        if (Double.compare(oldWeight, newWeight) == 0) {
+            return;
+        }
+        for (GraphListener<? super T> listener : listeners) {
+            listener.edgeWeightChanged(source, target, oldWeight, newWeight);
+        }
+    }
+
+    void edgeRemoved(T source, T target) {
+        for (GraphListener<? super T> listener : listeners) {
+            listener.edgeRemoved(source, target);
+        }
+    }
+
+    void graphCleared() {
+        for (GraphListener<? super T> listener : listeners) {
+            listener.graphCleared();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.coffeecode.graph.impl;
+
+import com.coffeecode.graph.base.IntDoubleConsumer;
+import java.util.*;
+
+/**
+ * Open-addressing hash map from non-negative int keys to doubles, used for
+ * adjacency keyed by node index.
+ * <p>
+ * Keys and values live in two parallel primitive arrays probed linearly, so
+ * an entry costs an int and a double instead of a {@code HashMap.Node}, a
+ * boxed key and a boxed value. Removal shifts later entries of the probe run
+ * back, which keeps lookups free of tombstones. Arrays are allocated on the
+ * first insertion, so empty maps are a few fields only.
+ * <p>
+ * Not thread-safe.
+ */
+public final class IntDoubleHashMap {
+
+    private static final int FREE = -1;
+    private static final int[] NO_KEYS = new int[0];
+    private static final double[] NO_VALUES = new double[0];
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys = NO_KEYS;
+    private double[] values = NO_VALUES;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the value for the key, or {@code defaultValue} if absent
+     */
+    public double getOrDefault(int key, double defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Associates the value with the key. Callers that need to know whether
+     * the key was new compare {@link #size()} before and after.
+     *
+     * @return the previous value, or {@code defaultValue} if the key was absent
+     */
+    public double put(int key, double value, double defaultValue) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        if (size >= threshold()) {
+            resize(keys.length == 0 ? MIN_CAPACITY : keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == FREE) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return defaultValue;
+            }
+            if (current == key) {
+                double previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+    }
+
+    public void put(int key, double value) {
+        put(key, value, 0.0);
+    }
+
+    /**
+     * @return false if the key was absent
+     */
+    public boolean remove(int key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+        // Shift back later entries of the run that probed past the freed slot
+        int mask = keys.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = FREE;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        keys = NO_KEYS;
+        values = NO_VALUES;
+        size = 0;
+    }
+
+    /**
+     * Passes every entry to the action without allocating.
+     */
+    public void forEach(IntDoubleConsumer action) {
+        int[] k = keys;
+        double[] v = values;
+        for (int slot = 0; slot < k.length; slot++) {
+            if (k[slot] != FREE) {
+                action.accept(k[slot], v[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return the keys in table order
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int key : keys) {
+            if (key != FREE) {
+                result[count++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Iterates slots directly: keys are read with {@link #keyAt} for slots
+     * from {@code 0} to {@link #capacity()} where {@link #isUsed} holds.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    boolean isUsed(int slot) {
+        return keys[slot] != FREE;
+    }
+
+    int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    double valueAt(int slot) {
+        return values[slot];
+    }
+
+    private int slotOf(int key) {
+        if (key < 0 || size == 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == FREE) {
+                return -1;
+            }
+            if (current == key) {
+                return slot;
+            }
+        }
+    }
+
+    // Resize at three quarters full
+    private int threshold() {
+        return keys.length - (keys.length >>> 2);
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        double[] oldValues = values;
+        keys = new int[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, FREE);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // Dense indices would otherwise fill consecutive slots and form long runs
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        forEach((key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+}
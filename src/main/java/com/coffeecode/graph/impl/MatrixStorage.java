@@ -0,0 +1,44 @@
+package com.coffeecode.graph.impl;
+
+/**
+ * Cell storage behind {@link AdjacencyMatrixGraph}. Rows are indexed by node
+ * slot and allocated on demand; missing cells read as {@link #NO_EDGE}.
+ */
+interface MatrixStorage {
+
+    double NO_EDGE = Double.POSITIVE_INFINITY;
+
+    /**
+     * Grows rows and columns, keeping the contents of the first used rows.
+     */
+    void grow(int capacity, int usedRows);
+
+    /**
+     * Allocates an empty row for a slot that has never been used.
+     */
+    void allocateRow(int row);
+
+    boolean contains(int row, int col);
+
+    double get(int row, int col);
+
+    /**
+     * Stores an edge weight, or clears the cell when weight is {@link #NO_EDGE}.
+     */
+    void set(int row, int col, double weight);
+
+    /**
+     * @return first column in [from, limit) holding an edge, or -1
+     */
+    int nextInRow(int row, int from, int limit);
+
+    /**
+     * Writes the first length cells of a row as weights.
+     */
+    void copyRowTo(int row, double[] target, int offset, int length);
+
+    /**
+     * @return number of columns in [0, limit) with an edge in both rows
+     */
+    int countCommon(int rowA, int rowB, int limit);
+}
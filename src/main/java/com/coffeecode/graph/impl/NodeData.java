@@ -2,16 +2,17 @@ package com.coffeecode.graph.impl;
 
 import lombok.Data;
 import lombok.Builder;
-import java.util.*;
 
 @Data
 @Builder
 public class NodeData<T> {
 
     private final T data;
+    private final int index; // Slot used for index-based state
+    // Edge weights keyed by neighbor index
     @Builder.Default
-    private final Map<T, Double> neighbors = new HashMap<>();
-    private boolean visited;
-    private T parent;
-    private double cost;
+    private final IntDoubleHashMap neighbors = new IntDoubleHashMap();
+    // In-edge weights keyed by source index, only maintained for directed graphs
+    @Builder.Default
+    private final IntDoubleHashMap predecessors = new IntDoubleHashMap();
 }
@@ -0,0 +1,121 @@
+package com.coffeecode.graph.io;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.GraphCore;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * Streams an edge list ({@code source,target[,weight]} per line) into a graph.
+ * <p>
+ * Lines are split without regular expressions and handed to the graph in
+ * batches through {@link GraphCore#addEdgesWithNodes}, so the graph pays its
+ * per-call overhead once per batch and resolves each endpoint, adding it as a
+ * node if needed, with a single lookup.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+@Builder
+public class EdgeListLoader<T> {
+
+    private final Function<String, T> nodeParser;
+    @Builder.Default
+    private final char delimiter = ',';
+    @Builder.Default
+    private final String commentPrefix = "#";
+    @Builder.Default
+    private final boolean skipHeader = false;
+    @Builder.Default
+    private final int batchSize = 10_000;
+    // Used when a line has no weight column
+    @Builder.Default
+    private final double defaultWeight = 1.0;
+
+    public static EdgeListLoader<String> forStrings() {
+        return EdgeListLoader.<String>builder().nodeParser(Function.identity()).build();
+    }
+
+    public long load(Path file, GraphCore<T> graph) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader, graph);
+        }
+    }
+
+    /**
+     * @return number of edges the graph accepted
+     * @throws GraphValidationException if a line is not a valid edge
+     */
+    public long load(Reader reader, GraphCore<T> graph) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        EdgeBatch<T> batch = new EdgeBatch<>(batchSize);
+        long added = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if ((skipHeader && lineNumber == 1) || isBlankOrComment(line)) {
+                continue;
+            }
+            parseLine(line, lineNumber, batch);
+            if (batch.size() >= batchSize) {
+                added += flush(graph, batch);
+            }
+        }
+        added += flush(graph, batch);
+
+        log.debug("Loaded {} edges from {} lines", added, lineNumber);
+        return added;
+    }
+
+    private boolean isBlankOrComment(String line) {
+        return line.isBlank() || (!commentPrefix.isEmpty() && line.stripLeading().startsWith(commentPrefix));
+    }
+
+    private void parseLine(String line, long lineNumber, EdgeBatch<T> batch) {
+        int first = line.indexOf(delimiter);
+        if (first < 0) {
+            throw malformed(line, lineNumber);
+        }
+        int second = line.indexOf(delimiter, first + 1);
+        String sourceField = line.substring(0, first).strip();
+        String targetField = (second < 0 ? line.substring(first + 1) : line.substring(first + 1, second)).strip();
+        if (sourceField.isEmpty() || targetField.isEmpty()) {
+            throw malformed(line, lineNumber);
+        }
+
+        T source;
+        T target;
+        double weight;
+        try {
+            source = nodeParser.apply(sourceField);
+            target = nodeParser.apply(targetField);
+            weight = second < 0 ? defaultWeight : Double.parseDouble(line.substring(second + 1).strip());
+        } catch (NumberFormatException e) {
+            throw malformed(line, lineNumber);
+        }
+        batch.add(source, target, weight);
+    }
+
+    private int flush(GraphCore<T> graph, EdgeBatch<T> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int added = graph.addEdgesWithNodes(batch);
+        batch.clear();
+        return added;
+    }
+
+    private static GraphValidationException malformed(String line, long lineNumber) {
+        return new GraphValidationException("Malformed edge at line " + lineNumber + ": " + line);
+    }
+}
@@ -0,0 +1,54 @@
+package com.coffeecode.graph.io;
+
+/**
+ * Section positions of a graph file.
+ * <p>
+ * All numbers are little-endian. A fixed header is followed by the CSR arrays
+ * (offsets, targets, weights), the reverse CSR arrays for directed graphs and
+ * finally the node table. Every section starts on an 8-byte boundary.
+ * <pre>
+ *  0  int  magic           4  int  version
+ *  8  int  flags          12  int  node count
+ * 16  long edge entries   24  long edge count
+ * 32  long node table size
+ * </pre>
+ */
+final class GraphFileLayout {
+
+    static final int MAGIC = 0x46524743; // "CGRF" in little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int FLAG_DIRECTED = 1;
+    static final int FLAG_WEIGHTED = 2;
+
+    final long offsets;
+    final long targets;
+    final long weights;
+    final long inOffsets;
+    final long sources;
+    final long inWeights;
+    final long nodeTable;
+
+    GraphFileLayout(int nodeCount, long entries, boolean directed) {
+        long offsetsSize = (nodeCount + 1L) * Integer.BYTES;
+        offsets = HEADER_SIZE;
+        targets = align(offsets + offsetsSize);
+        weights = align(targets + entries * Integer.BYTES);
+        long end = align(weights + entries * Double.BYTES);
+        if (directed) {
+            inOffsets = end;
+            sources = align(inOffsets + offsetsSize);
+            inWeights = align(sources + entries * Integer.BYTES);
+            end = align(inWeights + entries * Double.BYTES);
+        } else {
+            inOffsets = offsets;
+            sources = targets;
+            inWeights = weights;
+        }
+        nodeTable = end;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,110 @@
+package com.coffeecode.graph.io;
+
+import com.coffeecode.graph.base.Graph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes graphs in the binary format read by {@link MappedGraph}.
+ * <p>
+ * Each section is limited to 2 GiB, the size of a single mapping.
+ */
+@Slf4j
+public final class GraphFileWriter {
+
+    private GraphFileWriter() {
+    }
+
+    public static <T> void write(Graph<T> graph, NodeCodec<? super T> codec, Path file) throws IOException {
+        write(CompressedSparseRowGraph.copyOf(graph), codec, file);
+    }
+
+    public static <T> void write(CompressedSparseRowGraph<T> graph, NodeCodec<? super T> codec,
+            Path file) throws IOException {
+        int n = graph.getNodeCount();
+        int entries = n == 0 ? 0 : graph.edgeEnd(n - 1);
+        boolean directed = graph.isDirected();
+        GraphFileLayout layout = new GraphFileLayout(n, entries, directed);
+
+        long nodeTableSize = 0;
+        for (int i = 0; i < n; i++) {
+            nodeTableSize += codec.size(graph.nodeAt(i));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(GraphFileLayout.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(GraphFileLayout.MAGIC)
+                    .putInt(GraphFileLayout.VERSION)
+                    .putInt((directed ? GraphFileLayout.FLAG_DIRECTED : 0)
+                            | (graph.isWeighted() ? GraphFileLayout.FLAG_WEIGHTED : 0))
+                    .putInt(n)
+                    .putLong(entries)
+                    .putLong(graph.getEdgeCount())
+                    .putLong(nodeTableSize)
+                    .flip();
+            channel.write(header.limit(GraphFileLayout.HEADER_SIZE), 0);
+
+            MappedByteBuffer out = map(channel, layout.offsets, (n + 1L) * Integer.BYTES);
+            out.putInt(0);
+            for (int i = 0; i < n; i++) {
+                out.putInt(graph.edgeEnd(i));
+            }
+            out.force();
+
+            out = map(channel, layout.targets, (long) entries * Integer.BYTES);
+            for (int e = 0; e < entries; e++) {
+                out.putInt(graph.edgeTarget(e));
+            }
+            out.force();
+
+            out = map(channel, layout.weights, (long) entries * Double.BYTES);
+            for (int e = 0; e < entries; e++) {
+                out.putDouble(graph.edgeWeight(e));
+            }
+            out.force();
+
+            if (directed) {
+                out = map(channel, layout.inOffsets, (n + 1L) * Integer.BYTES);
+                out.putInt(0);
+                for (int i = 0; i < n; i++) {
+                    out.putInt(graph.inEdgeEnd(i));
+                }
+                out.force();
+
+                out = map(channel, layout.sources, (long) entries * Integer.BYTES);
+                for (int e = 0; e < entries; e++) {
+                    out.putInt(graph.inEdgeSource(e));
+                }
+                out.force();
+
+                out = map(channel, layout.inWeights, (long) entries * Double.BYTES);
+                for (int e = 0; e < entries; e++) {
+                    out.putDouble(graph.inEdgeWeight(e));
+                }
+                out.force();
+            }
+
+            out = map(channel, layout.nodeTable, nodeTableSize);
+            for (int i = 0; i < n; i++) {
+                codec.write(graph.nodeAt(i), out);
+            }
+            out.force();
+        }
+
+        log.debug("Wrote graph with {} nodes and {} edges to {}", n, graph.getEdgeCount(), file);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,295 @@
+package com.coffeecode.graph.io;
+
+import com.coffeecode.graph.base.CompressedGraph;
+import com.coffeecode.graph.base.NodeInterner;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Read-only graph backed by a memory-mapped file written by
+ * {@link GraphFileWriter}.
+ * <p>
+ * The CSR arrays are never copied onto the heap: edge queries read straight
+ * from the mapped pages, so opening a file costs only decoding its node table
+ * and several processes mapping the same file share one copy in the page
+ * cache. Indices and edge positions match the
+ * {@link com.coffeecode.graph.impl.CompressedSparseRowGraph} the file was
+ * written from, so CSR algorithms run on either.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+@Slf4j
+public final class MappedGraph<T> implements CompressedGraph<T> {
+
+    private final Object[] nodes;              // Node data by index
+    private final NodeInterner<T> nodeIndices; // Map nodes to dense indices
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final IntBuffer inOffsets;
+    private final IntBuffer sources;
+    private final DoubleBuffer inWeights;
+    private final int edgeCount;
+    @Getter
+    private final boolean directed;
+    @Getter
+    private final boolean weighted;
+
+    private MappedGraph(Object[] nodes, NodeInterner<T> nodeIndices, IntBuffer offsets, IntBuffer targets,
+            DoubleBuffer weights, IntBuffer inOffsets, IntBuffer sources, DoubleBuffer inWeights,
+            int edgeCount, boolean directed, boolean weighted) {
+        this.nodes = nodes;
+        this.nodeIndices = nodeIndices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.inOffsets = inOffsets;
+        this.sources = sources;
+        this.inWeights = inWeights;
+        this.edgeCount = edgeCount;
+        this.directed = directed;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Maps a graph file. The mappings stay valid after this method returns
+     * and are released when the graph is garbage collected.
+     *
+     * @throws IOException if the file cannot be read or is not a graph file
+     */
+    public static <T> MappedGraph<T> open(Path file, NodeCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < GraphFileLayout.HEADER_SIZE) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            ByteBuffer header = map(channel, 0, GraphFileLayout.HEADER_SIZE);
+            if (header.getInt() != GraphFileLayout.MAGIC) {
+                throw new IOException("Not a graph file: " + file);
+            }
+            int version = header.getInt();
+            if (version != GraphFileLayout.VERSION) {
+                throw new IOException("Unsupported graph file version " + version + ": " + file);
+            }
+            int flags = header.getInt();
+            int n = header.getInt();
+            long entries = header.getLong();
+            int edgeCount = (int) header.getLong();
+            long nodeTableSize = header.getLong();
+            boolean directed = (flags & GraphFileLayout.FLAG_DIRECTED) != 0;
+            boolean weighted = (flags & GraphFileLayout.FLAG_WEIGHTED) != 0;
+
+            GraphFileLayout layout = new GraphFileLayout(n, entries, directed);
+            if (channel.size() < layout.nodeTable + nodeTableSize) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+
+            IntBuffer offsets = map(channel, layout.offsets, (n + 1L) * Integer.BYTES).asIntBuffer();
+            IntBuffer targets = map(channel, layout.targets, entries * Integer.BYTES).asIntBuffer();
+            DoubleBuffer weights = map(channel, layout.weights, entries * Double.BYTES).asDoubleBuffer();
+            IntBuffer inOffsets = offsets;
+            IntBuffer sources = targets;
+            DoubleBuffer inWeights = weights;
+            if (directed) {
+                inOffsets = map(channel, layout.inOffsets, (n + 1L) * Integer.BYTES).asIntBuffer();
+                sources = map(channel, layout.sources, entries * Integer.BYTES).asIntBuffer();
+                inWeights = map(channel, layout.inWeights, entries * Double.BYTES).asDoubleBuffer();
+            }
+
+            ByteBuffer table = map(channel, layout.nodeTable, nodeTableSize);
+            Object[] nodes = new Object[n];
+            for (int i = 0; i < n; i++) {
+                nodes[i] = codec.read(table);
+            }
+            NodeInterner<T> indices;
+            try {
+                indices = NodeInterner.of(nodes);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt node table: " + file, e);
+            }
+
+            log.debug("Mapped graph with {} nodes and {} edges from {}", n, edgeCount, file);
+            return new MappedGraph<>(nodes, indices, offsets, targets, weights,
+                    inOffsets, sources, inWeights, edgeCount, directed, weighted);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Index-based access for traversal algorithms
+    @Override
+    public int indexOf(T node) {
+        return nodeIndices.indexOf(node);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T nodeAt(int index) {
+        return (T) nodes[index];
+    }
+
+    @Override
+    public int getIndexBound() {
+        return nodes.length;
+    }
+
+    @Override
+    public int edgeStart(int node) {
+        return offsets.get(node);
+    }
+
+    @Override
+    public int edgeEnd(int node) {
+        return offsets.get(node + 1);
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return weights.get(edge);
+    }
+
+    @Override
+    public int inEdgeStart(int node) {
+        return inOffsets.get(node);
+    }
+
+    @Override
+    public int inEdgeEnd(int node) {
+        return inOffsets.get(node + 1);
+    }
+
+    @Override
+    public int inEdgeSource(int edge) {
+        return sources.get(edge);
+    }
+
+    @Override
+    public double inEdgeWeight(int edge) {
+        return inWeights.get(edge);
+    }
+
+    @Override
+    public int findEdge(int source, int target) {
+        int low = offsets.get(source);
+        int high = offsets.get(source + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = targets.get(mid);
+            if (value < target) {
+                low = mid + 1;
+            } else if (value > target) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // GraphQuery implementation
+    @Override
+    public boolean containsNode(T node) {
+        return nodeIndices.indexOf(node) >= 0;
+    }
+
+    @Override
+    public boolean containsEdge(T source, T target) {
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        return sourceIndex >= 0 && targetIndex >= 0
+                && findEdge(sourceIndex, targetIndex) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T target) {
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int edge = findEdge(sourceIndex, targetIndex);
+        return edge < 0 ? Double.POSITIVE_INFINITY : weights.get(edge);
+    }
+
+    @Override
+    public Iterable<T> getNodes() {
+        return nodeIndices.nodes();
+    }
+
+    @Override
+    public Iterable<T> getNeighbors(T node) {
+        int index = indexOf(node);
+        return index < 0 ? Collections.emptyList()
+                : nodeView(targets, offsets.get(index), offsets.get(index + 1));
+    }
+
+    @Override
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        int index = indexOf(node);
+        if (index < 0) {
+            return;
+        }
+        for (int e = offsets.get(index), end = offsets.get(index + 1); e < end; e++) {
+            action.accept(nodeAt(targets.get(e)), weights.get(e));
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        int index = indexOf(node);
+        return index < 0 ? Collections.emptyList()
+                : nodeView(sources, inOffsets.get(index), inOffsets.get(index + 1));
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        int index = indexOf(node);
+        return index < 0 ? 0 : inOffsets.get(index + 1) - inOffsets.get(index);
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        int index = indexOf(node);
+        return index < 0 ? 0 : offsets.get(index + 1) - offsets.get(index);
+    }
+
+    private List<T> nodeView(IntBuffer ids, int start, int end) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int i) {
+                return nodeAt(ids.get(start + i));
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+}
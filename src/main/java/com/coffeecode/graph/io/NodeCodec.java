@@ -0,0 +1,111 @@
+package com.coffeecode.graph.io;
+
+import com.coffeecode.model.Location;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of node data for the node table of a graph file.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public interface NodeCodec<T> {
+
+    /**
+     * @return number of bytes {@link #write} will produce for the node
+     */
+    int size(T node);
+
+    void write(T node, ByteBuffer out);
+
+    T read(ByteBuffer in);
+
+    static NodeCodec<String> strings() {
+        return new NodeCodec<>() {
+            @Override
+            public int size(String node) {
+                return Integer.BYTES + node.getBytes(StandardCharsets.UTF_8).length;
+            }
+
+            @Override
+            public void write(String node, ByteBuffer out) {
+                byte[] bytes = node.getBytes(StandardCharsets.UTF_8);
+                out.putInt(bytes.length).put(bytes);
+            }
+
+            @Override
+            public String read(ByteBuffer in) {
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static NodeCodec<Integer> integers() {
+        return new NodeCodec<>() {
+            @Override
+            public int size(Integer node) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(Integer node, ByteBuffer out) {
+                out.putInt(node);
+            }
+
+            @Override
+            public Integer read(ByteBuffer in) {
+                return in.getInt();
+            }
+        };
+    }
+
+    static NodeCodec<Long> longs() {
+        return new NodeCodec<>() {
+            @Override
+            public int size(Long node) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(Long node, ByteBuffer out) {
+                out.putLong(node);
+            }
+
+            @Override
+            public Long read(ByteBuffer in) {
+                return in.getLong();
+            }
+        };
+    }
+
+    /**
+     * Stores id, name and coordinates. Decoded locations keep their ids, so
+     * they are equal to the instances that were written.
+     */
+    static NodeCodec<Location> locations() {
+        NodeCodec<String> names = strings();
+        return new NodeCodec<>() {
+            @Override
+            public int size(Location node) {
+                return Long.BYTES + names.size(node.getName()) + 2 * Double.BYTES;
+            }
+
+            @Override
+            public void write(Location node, ByteBuffer out) {
+                out.putLong(node.getId());
+                names.write(node.getName(), out);
+                out.putDouble(node.getLongitude()).putDouble(node.getLatitude());
+            }
+
+            @Override
+            public Location read(ByteBuffer in) {
+                long id = in.getLong();
+                String name = names.read(in);
+                double longitude = in.getDouble();
+                return new Location(id, name, longitude, in.getDouble());
+            }
+        };
+    }
+}
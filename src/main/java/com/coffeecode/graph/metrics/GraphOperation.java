@@ -0,0 +1,39 @@
+package com.coffeecode.graph.metrics;
+
+import java.util.Locale;
+
+/**
+ * Graph operations recorded by metered graphs.
+ */
+public enum GraphOperation {
+    ADD_NODE,
+    ADD_NODES,
+    REMOVE_NODE,
+    ADD_EDGE,
+    ADD_EDGES,
+    REMOVE_EDGE,
+    CONTAINS_NODE,
+    CONTAINS_EDGE,
+    GET_EDGE_WEIGHT,
+    GET_NODES,
+    GET_NEIGHBORS,
+    FOR_EACH_NEIGHBOR,
+    GET_PREDECESSORS,
+    GET_IN_DEGREE,
+    GET_OUT_DEGREE,
+    CLEAR,
+    RESET_TRAVERSAL_STATE,
+    IS_VISITED,
+    SET_VISITED,
+    GET_PARENT,
+    SET_PARENT,
+    GET_COST,
+    SET_COST;
+
+    /**
+     * @return metric name suffix, e.g. {@code add_edge}
+     */
+    public String metricName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
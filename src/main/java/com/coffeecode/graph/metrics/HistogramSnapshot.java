@@ -0,0 +1,58 @@
+package com.coffeecode.graph.metrics;
+
+import lombok.Getter;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}. All values are nanoseconds.
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    @Getter
+    private final long count;
+    @Getter
+    private final long totalNanos;
+    @Getter
+    private final long maxNanos;
+
+    HistogramSnapshot(long[] counts, long totalNanos, long maxNanos) {
+        this.counts = counts;
+        long sum = 0;
+        for (long bucket : counts) {
+            sum += bucket;
+        }
+        this.count = sum;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0.0 : (double) totalNanos / count;
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return upper bound of the bucket holding the percentile, capped at the
+     * maximum recorded value
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0fns p50=%dns p99=%dns max=%dns",
+                count, getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99), maxNanos);
+    }
+}
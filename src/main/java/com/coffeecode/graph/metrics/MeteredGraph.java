@@ -0,0 +1,251 @@
+package com.coffeecode.graph.metrics;
+
+import com.coffeecode.graph.base.Edge;
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.Graph;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Decorator that records call counts and latencies of every graph operation
+ * in a {@link MetricsRegistry}, under {@code <name>.<operation>}.
+ * <p>
+ * Only the call itself is timed: iterating a returned {@link Iterable} happens
+ * after the measurement. The histograms are resolved once, so recording costs
+ * two {@link System#nanoTime()} calls and a few atomic increments.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class MeteredGraph<T> implements Graph<T> {
+
+    private final Graph<T> delegate;
+    private final LatencyHistogram[] histograms;
+
+    public MeteredGraph(Graph<T> delegate, MetricsRegistry registry, String name) {
+        this.delegate = delegate;
+        GraphOperation[] operations = GraphOperation.values();
+        this.histograms = new LatencyHistogram[operations.length];
+        for (GraphOperation operation : operations) {
+            histograms[operation.ordinal()] = registry.histogram(name + "." + operation.metricName());
+        }
+    }
+
+    protected final void record(GraphOperation operation, long start) {
+        histograms[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public Graph<T> getDelegate() {
+        return delegate;
+    }
+
+    // GraphCore implementation
+    @Override
+    public boolean addNode(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addNode(node);
+        } finally {
+            record(GraphOperation.ADD_NODE, start);
+        }
+    }
+
+    @Override
+    public boolean removeNode(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.removeNode(node);
+        } finally {
+            record(GraphOperation.REMOVE_NODE, start);
+        }
+    }
+
+    @Override
+    public boolean addEdge(T source, T target, double weight) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addEdge(source, target, weight);
+        } finally {
+            record(GraphOperation.ADD_EDGE, start);
+        }
+    }
+
+    @Override
+    public boolean removeEdge(T source, T target) {
+        long start = System.nanoTime();
+        try {
+            return delegate.removeEdge(source, target);
+        } finally {
+            record(GraphOperation.REMOVE_EDGE, start);
+        }
+    }
+
+    @Override
+    public int addNodes(Iterable<? extends T> nodes) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addNodes(nodes);
+        } finally {
+            record(GraphOperation.ADD_NODES, start);
+        }
+    }
+
+    @Override
+    public int addEdges(Iterable<Edge<T>> edges) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addEdges(edges);
+        } finally {
+            record(GraphOperation.ADD_EDGES, start);
+        }
+    }
+
+    @Override
+    public int addEdges(EdgeBatch<T> batch) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addEdges(batch);
+        } finally {
+            record(GraphOperation.ADD_EDGES, start);
+        }
+    }
+
+    @Override
+    public int addEdgesWithNodes(EdgeBatch<T> batch) {
+        long start = System.nanoTime();
+        try {
+            return delegate.addEdgesWithNodes(batch);
+        } finally {
+            record(GraphOperation.ADD_EDGES, start);
+        }
+    }
+
+    // GraphQuery implementation
+    @Override
+    public boolean containsNode(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.containsNode(node);
+        } finally {
+            record(GraphOperation.CONTAINS_NODE, start);
+        }
+    }
+
+    @Override
+    public boolean containsEdge(T source, T target) {
+        long start = System.nanoTime();
+        try {
+            return delegate.containsEdge(source, target);
+        } finally {
+            record(GraphOperation.CONTAINS_EDGE, start);
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(T source, T target) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getEdgeWeight(source, target);
+        } finally {
+            record(GraphOperation.GET_EDGE_WEIGHT, start);
+        }
+    }
+
+    @Override
+    public Iterable<T> getNodes() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getNodes();
+        } finally {
+            record(GraphOperation.GET_NODES, start);
+        }
+    }
+
+    @Override
+    public Iterable<T> getNeighbors(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getNeighbors(node);
+        } finally {
+            record(GraphOperation.GET_NEIGHBORS, start);
+        }
+    }
+
+    /**
+     * Recorded as its own operation; unlike the other reads, the measured time
+     * includes running the action on every neighbor.
+     */
+    @Override
+    public void forEachNeighbor(T node, ObjDoubleConsumer<? super T> action) {
+        long start = System.nanoTime();
+        try {
+            delegate.forEachNeighbor(node, action);
+        } finally {
+            record(GraphOperation.FOR_EACH_NEIGHBOR, start);
+        }
+    }
+
+    @Override
+    public Iterable<T> getPredecessors(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPredecessors(node);
+        } finally {
+            record(GraphOperation.GET_PREDECESSORS, start);
+        }
+    }
+
+    @Override
+    public int getInDegree(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getInDegree(node);
+        } finally {
+            record(GraphOperation.GET_IN_DEGREE, start);
+        }
+    }
+
+    @Override
+    public int getOutDegree(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getOutDegree(node);
+        } finally {
+            record(GraphOperation.GET_OUT_DEGREE, start);
+        }
+    }
+
+    // GraphState implementation, cheap getters are not metered
+    @Override
+    public void clear() {
+        long start = System.nanoTime();
+        try {
+            delegate.clear();
+        } finally {
+            record(GraphOperation.CLEAR, start);
+        }
+    }
+
+    @Override
+    public boolean isDirected() {
+        return delegate.isDirected();
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return delegate.isWeighted();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return delegate.getNodeCount();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return delegate.getEdgeCount();
+    }
+
+    @Override
+    public long getModificationVersion() {
+        return delegate.getModificationVersion();
+    }
+}
@@ -0,0 +1,88 @@
+package com.coffeecode.graph.metrics;
+
+import com.coffeecode.graph.base.TraversableGraph;
+
+/**
+ * {@link MeteredGraph} that also records the traversal state operations.
+ *
+ * @param <T> Type of data stored in graph nodes
+ */
+public class MeteredTraversableGraph<T> extends MeteredGraph<T> implements TraversableGraph<T> {
+
+    private final TraversableGraph<T> delegate;
+
+    public MeteredTraversableGraph(TraversableGraph<T> delegate, MetricsRegistry registry, String name) {
+        super(delegate, registry, name);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void resetTraversalState() {
+        long start = System.nanoTime();
+        try {
+            delegate.resetTraversalState();
+        } finally {
+            record(GraphOperation.RESET_TRAVERSAL_STATE, start);
+        }
+    }
+
+    @Override
+    public boolean isVisited(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.isVisited(node);
+        } finally {
+            record(GraphOperation.IS_VISITED, start);
+        }
+    }
+
+    @Override
+    public void setVisited(T node, boolean visited) {
+        long start = System.nanoTime();
+        try {
+            delegate.setVisited(node, visited);
+        } finally {
+            record(GraphOperation.SET_VISITED, start);
+        }
+    }
+
+    @Override
+    public T getParent(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getParent(node);
+        } finally {
+            record(GraphOperation.GET_PARENT, start);
+        }
+    }
+
+    @Override
+    public void setParent(T node, T parent) {
+        long start = System.nanoTime();
+        try {
+            delegate.setParent(node, parent);
+        } finally {
+            record(GraphOperation.SET_PARENT, start);
+        }
+    }
+
+    @Override
+    public double getCost(T node) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCost(node);
+        } finally {
+            record(GraphOperation.GET_COST, start);
+        }
+    }
+
+    @Override
+    public void setCost(T node, double cost) {
+        long start = System.nanoTime();
+        try {
+            delegate.setCost(node, cost);
+        } finally {
+            record(GraphOperation.SET_COST, start);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.coffeecode.graph.metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named latency histograms shared by metered graphs. Names are usually
+ * {@code <graph name>.<operation>}.
+ */
+public class MetricsRegistry {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @return the histogram registered under the name, created on first use
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * @return snapshots of all histograms, sorted by name
+     */
+    public SortedMap<String, HistogramSnapshot> snapshot() {
+        SortedMap<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+}
@@ -0,0 +1,505 @@
+package com.coffeecode.graph.spatial;
+
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.base.ObservableGraph;
+import com.coffeecode.model.ILocation;
+import com.coffeecode.model.Location;
+import lombok.extern.slf4j.Slf4j;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbor and radius queries over located graph nodes.
+ * <p>
+ * Locations are mapped to points on the unit sphere and bucketed in a uniform
+ * 3D grid. Chord length orders points exactly like great-circle distance and
+ * never wraps at the antimeridian or degenerates at the poles. Nearest
+ * queries scan cube shells of cells outward from the query cell and stop once
+ * no unvisited cell can hold a closer point; when a shell would have more
+ * cells than the grid has occupied, the remaining cells are scanned directly.
+ * <p>
+ * Queries may run concurrently with each other and with updates. Use
+ * {@link #attach} to keep the index in sync with a graph's nodes.
+ *
+ * @param <T> Type of located graph nodes
+ */
+@Slf4j
+public class LocationIndex<T extends ILocation> implements GraphListener<T> {
+
+    public static final double DEFAULT_CELL_SIZE_KM = 1.0;
+    private static final double MIN_CELL_SIZE_KM = 0.01;
+    // Cell coordinates are packed into 21 bits per axis
+    private static final int AXIS_BITS = 21;
+    private static final int AXIS_OFFSET = 1 << (AXIS_BITS - 1);
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+
+    private final double cellSize; // Cell edge as a chord length on the unit sphere
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Open-addressing table of cells; cells stay allocated once created
+    private long[] keys;
+    private Cell[] cells;
+    private int cellCount;
+    private int size;
+
+    private static final class Cell {
+
+        private final int x;
+        private final int y;
+        private final int z;
+        private Object[] items = new Object[2];
+        private double[] points = new double[6]; // Unit vectors, three per item
+        private int size;
+
+        Cell(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    public LocationIndex() {
+        this(DEFAULT_CELL_SIZE_KM);
+    }
+
+    /**
+     * @param cellSizeKm grid resolution; about the typical distance between
+     *                   neighboring locations works well
+     */
+    public LocationIndex(double cellSizeKm) {
+        if (!(cellSizeKm >= MIN_CELL_SIZE_KM)) {
+            throw new IllegalArgumentException("Cell size must be at least " + MIN_CELL_SIZE_KM + " km");
+        }
+        this.cellSize = toChord(cellSizeKm);
+        this.keys = new long[64];
+        this.cells = new Cell[64];
+    }
+
+    /**
+     * Indexes the graph's nodes and registers the index as a listener, so
+     * later node additions and removals are applied automatically.
+     */
+    public static <T extends ILocation> LocationIndex<T> attach(ObservableGraph<T> graph) {
+        return attach(graph, DEFAULT_CELL_SIZE_KM);
+    }
+
+    public static <T extends ILocation> LocationIndex<T> attach(ObservableGraph<T> graph, double cellSizeKm) {
+        LocationIndex<T> index = new LocationIndex<>(cellSizeKm);
+        // Listen first; nodes added meanwhile are indexed once since add is idempotent
+        graph.addGraphListener(index);
+        for (T node : graph.getNodes()) {
+            index.add(node);
+        }
+        log.debug("Indexed {} locations", index.size());
+        return index;
+    }
+
+    /**
+     * @return false if the location is null or already indexed
+     */
+    public boolean add(T location) {
+        if (location == null) {
+            return false;
+        }
+        double[] point = toPoint(location.getLatitude(), location.getLongitude());
+        lock.writeLock().lock();
+        try {
+            Cell cell = cellAt(cellOf(point[0]), cellOf(point[1]), cellOf(point[2]), true);
+            if (find(cell, location) >= 0) {
+                return false;
+            }
+            if (cell.size == cell.items.length) {
+                cell.items = Arrays.copyOf(cell.items, cell.size << 1);
+                cell.points = Arrays.copyOf(cell.points, cell.size * 6);
+            }
+            cell.items[cell.size] = location;
+            System.arraycopy(point, 0, cell.points, cell.size * 3, 3);
+            cell.size++;
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(T location) {
+        if (location == null) {
+            return false;
+        }
+        double[] point = toPoint(location.getLatitude(), location.getLongitude());
+        lock.writeLock().lock();
+        try {
+            Cell cell = cellAt(cellOf(point[0]), cellOf(point[1]), cellOf(point[2]), false);
+            int i = cell == null ? -1 : find(cell, location);
+            if (i < 0) {
+                return false;
+            }
+            // Move the last item into the gap
+            int last = --cell.size;
+            cell.items[i] = cell.items[last];
+            cell.items[last] = null;
+            System.arraycopy(cell.points, last * 3, cell.points, i * 3, 3);
+            size--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            keys = new long[64];
+            cells = new Cell[64];
+            cellCount = 0;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return closest location by great-circle distance, or null if empty
+     */
+    public T nearest(double latitude, double longitude) {
+        Candidates best = search(latitude, longitude, 1);
+        return best.size == 0 ? null : best.item(0);
+    }
+
+    /**
+     * @return up to k locations, closest first
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<T> kNearest(double latitude, double longitude, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        return search(latitude, longitude, k).drainSorted();
+    }
+
+    /**
+     * @return locations within the great-circle radius, in no particular order
+     */
+    public List<T> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<T> result = new ArrayList<>();
+        if (!(radiusKm >= 0)) {
+            return result;
+        }
+        double[] q = toPoint(latitude, longitude);
+        double chord = radiusKm >= Math.PI * Location.EARTH_RADIUS_KM ? 2.0 : toChord(radiusKm);
+        double limit = chord * chord;
+
+        lock.readLock().lock();
+        try {
+            int[] lo = {cellOf(q[0] - chord), cellOf(q[1] - chord), cellOf(q[2] - chord)};
+            int[] hi = {cellOf(q[0] + chord), cellOf(q[1] + chord), cellOf(q[2] + chord)};
+            long boxCells = (long) (hi[0] - lo[0] + 1) * (hi[1] - lo[1] + 1) * (hi[2] - lo[2] + 1);
+            if (boxCells > cellCount) {
+                for (Cell cell : cells) {
+                    if (cell != null && cell.size > 0 && gapSquared(cell, q) <= limit) {
+                        collectWithin(cell, q, limit, result);
+                    }
+                }
+            } else {
+                for (int x = lo[0]; x <= hi[0]; x++) {
+                    for (int y = lo[1]; y <= hi[1]; y++) {
+                        for (int z = lo[2]; z <= hi[2]; z++) {
+                            Cell cell = cellAt(x, y, z, false);
+                            if (cell != null) {
+                                collectWithin(cell, q, limit, result);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // GraphListener implementation
+    @Override
+    public void nodeAdded(T node) {
+        add(node);
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        remove(node);
+    }
+
+    @Override
+    public void graphCleared() {
+        clear();
+    }
+
+    // Collects the k closest locations; k is clamped to the index size
+    private Candidates search(double latitude, double longitude, int k) {
+        double[] q = toPoint(latitude, longitude);
+        int cx = cellOf(q[0]);
+        int cy = cellOf(q[1]);
+        int cz = cellOf(q[2]);
+
+        lock.readLock().lock();
+        try {
+            Candidates best = new Candidates(Math.min(k, size));
+            if (size == 0) {
+                return best;
+            }
+            for (int r = 0; ; r++) {
+                long side = 2L * r + 1;
+                long shellCells = r == 0 ? 1 : side * side * side - (side - 2) * (side - 2) * (side - 2);
+                if (shellCells > cellCount) {
+                    scanRemaining(q, cx, cy, cz, r, best);
+                    return best;
+                }
+                scanShell(q, cx, cy, cz, r, best);
+                // Unvisited cells are at least r cell edges away
+                double bound = r * cellSize;
+                if (best.isFull() && best.worst() <= bound * bound || bound > 2.0) {
+                    return best;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visits cells whose Chebyshev distance from the query cell is exactly r
+    private void scanShell(double[] q, int cx, int cy, int cz, int r, Candidates best) {
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dy = -r; dy <= r; dy++) {
+                if (Math.abs(dx) == r || Math.abs(dy) == r) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        offer(cellAt(cx + dx, cy + dy, cz + dz, false), q, best);
+                    }
+                } else {
+                    offer(cellAt(cx + dx, cy + dy, cz - r, false), q, best);
+                    offer(cellAt(cx + dx, cy + dy, cz + r, false), q, best);
+                }
+            }
+        }
+    }
+
+    // Scans occupied cells outside the first r shells, skipping cells too far away
+    private void scanRemaining(double[] q, int cx, int cy, int cz, int r, Candidates best) {
+        for (Cell cell : cells) {
+            if (cell == null || cell.size == 0) {
+                continue;
+            }
+            int distance = Math.max(Math.abs(cell.x - cx), Math.max(Math.abs(cell.y - cy), Math.abs(cell.z - cz)));
+            if (distance < r || best.isFull() && gapSquared(cell, q) >= best.worst()) {
+                continue;
+            }
+            offer(cell, q, best);
+        }
+    }
+
+    private void offer(Cell cell, double[] q, Candidates best) {
+        if (cell == null) {
+            return;
+        }
+        double[] points = cell.points;
+        for (int i = 0; i < cell.size; i++) {
+            best.offer(cell.items[i], distanceSquared(points, i * 3, q));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectWithin(Cell cell, double[] q, double limit, List<T> result) {
+        for (int i = 0; i < cell.size; i++) {
+            if (distanceSquared(cell.points, i * 3, q) <= limit) {
+                result.add((T) cell.items[i]);
+            }
+        }
+    }
+
+    private static double distanceSquared(double[] points, int offset, double[] q) {
+        double dx = points[offset] - q[0];
+        double dy = points[offset + 1] - q[1];
+        double dz = points[offset + 2] - q[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // Squared distance from the query point to the cell's box
+    private double gapSquared(Cell cell, double[] q) {
+        double gx = gap(cell.x, q[0]);
+        double gy = gap(cell.y, q[1]);
+        double gz = gap(cell.z, q[2]);
+        return gx * gx + gy * gy + gz * gz;
+    }
+
+    private double gap(int cell, double value) {
+        double low = cell * cellSize;
+        if (value < low) {
+            return low - value;
+        }
+        double high = low + cellSize;
+        return value > high ? value - high : 0.0;
+    }
+
+    private static int find(Cell cell, Object location) {
+        for (int i = 0; i < cell.size; i++) {
+            if (cell.items[i].equals(location)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Cell table with linear probing, resized at half load
+    private Cell cellAt(int x, int y, int z, boolean create) {
+        long key = ((long) (x + AXIS_OFFSET) << (2 * AXIS_BITS))
+                | ((long) (y + AXIS_OFFSET) << AXIS_BITS) | (z + AXIS_OFFSET);
+        int mask = cells.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            Cell cell = cells[slot];
+            if (cell == null) {
+                if (!create) {
+                    return null;
+                }
+                cell = new Cell(x, y, z);
+                keys[slot] = key;
+                cells[slot] = cell;
+                if (++cellCount > cells.length >> 1) {
+                    rehash();
+                }
+                return cell;
+            }
+            if (keys[slot] == key) {
+                return cell;
+            }
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Cell[] oldCells = cells;
+        keys = new long[oldKeys.length << 1];
+        cells = new Cell[oldCells.length << 1];
+        int mask = cells.length - 1;
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (cells[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                cells[slot] = oldCells[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static double[] toPoint(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double toChord(double km) {
+        return 2.0 * Math.sin(km / (2.0 * Location.EARTH_RADIUS_KM));
+    }
+
+    /**
+     * Bounded max-heap of the k closest items seen so far.
+     */
+    private final class Candidates {
+
+        private final double[] distances;
+        private final Object[] items;
+        private int size;
+
+        Candidates(int capacity) {
+            this.distances = new double[capacity];
+            this.items = new Object[capacity];
+        }
+
+        boolean isFull() {
+            return size == items.length;
+        }
+
+        double worst() {
+            return distances[0];
+        }
+
+        @SuppressWarnings("unchecked")
+        T item(int i) {
+            return (T) items[i];
+        }
+
+        void offer(Object item, double distance) {
+            if (size < items.length) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) >>> 1] < distance) {
+                    int parent = (i - 1) >>> 1;
+                    distances[i] = distances[parent];
+                    items[i] = items[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                items[i] = item;
+            } else if (distance < distances[0]) {
+                siftDown(item, distance);
+            }
+        }
+
+        // Places the item at the root position and restores heap order
+        private void siftDown(Object item, double distance) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                distances[i] = distances[child];
+                items[i] = items[child];
+                i = child;
+            }
+            distances[i] = distance;
+            items[i] = item;
+        }
+
+        List<T> drainSorted() {
+            Object[] sorted = new Object[size];
+            while (size > 0) {
+                sorted[size - 1] = items[0];
+                size--;
+                siftDown(items[size], distances[size]);
+            }
+            List<T> result = new ArrayList<>(sorted.length);
+            for (Object item : sorted) {
+                @SuppressWarnings("unchecked")
+                T location = (T) item;
+                result.add(location);
+            }
+            return result;
+        }
+    }
+}
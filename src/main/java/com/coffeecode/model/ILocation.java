@@ -15,8 +15,22 @@ public interface ILocation {
 
     ILocation setName(String name);
 
+    /**
+     * @return planar distance in degrees
+     */
     double distanceTo(Location other);
 
+    /**
+     * @return great-circle distance in kilometers
+     */
+    double haversineDistanceTo(Location other);
+
+    /**
+     * @return equirectangular approximation of the great-circle distance in
+     * kilometers, accurate for short distances away from the poles
+     */
+    double equirectangularDistanceTo(Location other);
+
     String getDisplayName();
 
     boolean isSameLocation(Location other);
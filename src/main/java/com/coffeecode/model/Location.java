@@ -7,9 +7,19 @@ import java.util.concurrent.atomic.AtomicLong;
 
 @Getter
 @ToString
-@Builder
 public class Location implements ILocation {
 
+    /**
+     * Coordinate tolerance in degrees for {@link #isSameLocation(Location)},
+     * approximately 11 meters at the equator.
+     */
+    public static final double SAME_LOCATION_EPSILON = 0.0001;
+
+    /**
+     * Mean Earth radius in kilometers.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
     private static final AtomicLong ID_GENERATOR = new AtomicLong(1);
     private final Long id;
 
@@ -36,6 +46,18 @@ public class Location implements ILocation {
         this.latitude = latitude;
     }
 
+    /**
+     * Recreates a previously stored location with its original id. Later
+     * generated ids skip past it, so they never collide with restored ones.
+     */
+    public Location(long id, String name, double longitude, double latitude) {
+        ID_GENERATOR.accumulateAndGet(id + 1, Math::max);
+        this.id = id;
+        this.name = name;
+        this.longitude = longitude;
+        this.latitude = latitude;
+    }
+
     public static void resetIdGenerator() {
         ID_GENERATOR.set(1);
     }
@@ -47,6 +69,32 @@ public class Location implements ILocation {
         return Math.sqrt(dx * dx + dy * dy);
     }
 
+    @Override
+    public double haversineDistanceTo(Location other) {
+        double lat1 = Math.toRadians(this.latitude);
+        double lat2 = Math.toRadians(other.latitude);
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(other.longitude - this.longitude) / 2);
+        double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    @Override
+    public double equirectangularDistanceTo(Location other) {
+        double lat1 = Math.toRadians(this.latitude);
+        double lat2 = Math.toRadians(other.latitude);
+        double dLon = Math.toRadians(other.longitude - this.longitude);
+        // Take the short way around the antimeridian
+        if (dLon > Math.PI) {
+            dLon -= 2 * Math.PI;
+        } else if (dLon < -Math.PI) {
+            dLon += 2 * Math.PI;
+        }
+        double x = dLon * Math.cos((lat1 + lat2) / 2);
+        double y = lat2 - lat1;
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+
     @Override
     public String getDisplayName() {
         return String.format("%s (%.2f, %.2f)", name, latitude, longitude);
@@ -57,9 +105,8 @@ public class Location implements ILocation {
         if (other == null) {
             return false;
         }
-        final double EPSILON = 0.0001; // Approximately 11 meters at equator
-        return Math.abs(this.latitude - other.latitude) < EPSILON
-                && Math.abs(this.longitude - other.longitude) < EPSILON;
+        return Math.abs(this.latitude - other.latitude) < SAME_LOCATION_EPSILON
+                && Math.abs(this.longitude - other.longitude) < SAME_LOCATION_EPSILON;
     }
 
     @Override
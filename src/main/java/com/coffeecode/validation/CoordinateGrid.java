@@ -0,0 +1,47 @@
+package com.coffeecode.validation;
+
+import com.coffeecode.model.Location;
+import java.util.*;
+
+/**
+ * Uniform grid over latitude/longitude with cells the size of
+ * {@link Location#SAME_LOCATION_EPSILON}. Any location within the tolerance
+ * of a point lies in the point's cell or one of its eight neighbors, so a
+ * duplicate check inspects at most nine cells.
+ */
+final class CoordinateGrid {
+
+    private final Map<Long, List<Location>> cells = new HashMap<>();
+
+    void add(Location location) {
+        cells.computeIfAbsent(key(cell(location.getLatitude()), cell(location.getLongitude())),
+                k -> new ArrayList<>(1)).add(location);
+    }
+
+    boolean containsSameLocation(Location location) {
+        int latCell = cell(location.getLatitude());
+        int lonCell = cell(location.getLongitude());
+        for (int lat = latCell - 1; lat <= latCell + 1; lat++) {
+            for (int lon = lonCell - 1; lon <= lonCell + 1; lon++) {
+                List<Location> candidates = cells.get(key(lat, lon));
+                if (candidates == null) {
+                    continue;
+                }
+                for (Location candidate : candidates) {
+                    if (candidate.isSameLocation(location)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / Location.SAME_LOCATION_EPSILON);
+    }
+
+    private static long key(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+}
@@ -9,6 +9,7 @@ import java.util.*;
 @Slf4j
 public class LocationValidator implements Validator<Location> {
 
+    private static final String DUPLICATE_LOCATION = "Location with these coordinates already exists";
     private static final jakarta.validation.Validator validator;
 
     static {
@@ -38,10 +39,38 @@ public class LocationValidator implements Validator<Location> {
 
         for (ILocation existingLocation : existing) {
             if (existingLocation.isSameLocation(newLocation)) {
-                return ValidationResult.failure("Location with these coordinates already exists");
+                return ValidationResult.failure(DUPLICATE_LOCATION);
             }
         }
 
         return ValidationResult.success();
     }
+
+    /**
+     * Batch variant backed by a coordinate grid, so each duplicate check is
+     * O(1) expected instead of a scan over every known location.
+     */
+    @Override
+    public List<ValidationResult> validateAll(Iterable<Location> locations, Iterable<Location> existing) {
+        CoordinateGrid grid = new CoordinateGrid();
+        existing.forEach(grid::add);
+
+        List<ValidationResult> results = new ArrayList<>();
+        int rejected = 0;
+        for (Location location : locations) {
+            ValidationResult result = validate(location);
+            if (result.isValid() && grid.containsSameLocation(location)) {
+                result = ValidationResult.failure(DUPLICATE_LOCATION);
+            }
+            if (result.isValid()) {
+                grid.add(location);
+            } else {
+                rejected++;
+            }
+            results.add(result);
+        }
+
+        log.debug("Validated {} locations, {} rejected", results.size(), rejected);
+        return results;
+    }
 }
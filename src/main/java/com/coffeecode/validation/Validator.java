@@ -1,8 +1,31 @@
 package com.coffeecode.validation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface Validator<T> {
 
     ValidationResult validate(T item);
 
     ValidationResult validateNew(T item, Iterable<T> existing);
+
+    /**
+     * Validates a batch of new items in order. Each item is checked against
+     * the existing items and the valid items before it in the batch.
+     *
+     * @return one result per item, in input order
+     */
+    default List<ValidationResult> validateAll(Iterable<T> items, Iterable<T> existing) {
+        List<T> accepted = new ArrayList<>();
+        existing.forEach(accepted::add);
+        List<ValidationResult> results = new ArrayList<>();
+        for (T item : items) {
+            ValidationResult result = validateNew(item, accepted);
+            if (result.isValid()) {
+                accepted.add(item);
+            }
+            results.add(result);
+        }
+        return results;
+    }
 }
@@ -0,0 +1,129 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import com.coffeecode.model.Location;
+
+class AStarShortestPathTest {
+
+    private static final int SIZE = 40;
+
+    private Location[][] grid;
+    private CompressedSparseRowGraph<Location> graph;
+
+    @BeforeEach
+    void setUp() {
+        // Road-like grid around Jakarta, edge weights are haversine kilometers
+        AdjacencyListGraph<Location> roads = new AdjacencyListGraph<>(false, true);
+        grid = new Location[SIZE][SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                grid[row][col] = new Location("N" + row + "_" + col, 106.6 + col * 0.01, -6.3 + row * 0.01);
+                roads.addNode(grid[row][col]);
+            }
+        }
+        Random random = new Random(3);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (col + 1 < SIZE) {
+                    connect(roads, grid[row][col], grid[row][col + 1], random);
+                }
+                if (row + 1 < SIZE) {
+                    connect(roads, grid[row][col], grid[row + 1][col], random);
+                }
+            }
+        }
+        graph = roads.freeze();
+    }
+
+    private void connect(AdjacencyListGraph<Location> roads, Location a, Location b, Random random) {
+        roads.addEdge(a, b, a.haversineDistanceTo(b) * (1.0 + random.nextDouble()));
+    }
+
+    @Nested
+    class PathQueries {
+
+        @Test
+        void whenUsingHaversineHeuristic_thenMatchesDijkstra() {
+            DijkstraShortestPath<Location> dijkstra = new DijkstraShortestPath<>(graph);
+            AStarShortestPath<Location> astar = new AStarShortestPath<>(graph, LocationHeuristics.haversine(1.0));
+            ShortestPathWorkspace workspace = astar.newWorkspace();
+            Random random = new Random(5);
+
+            for (int i = 0; i < 50; i++) {
+                Location source = grid[random.nextInt(SIZE)][random.nextInt(SIZE)];
+                Location target = grid[random.nextInt(SIZE)][random.nextInt(SIZE)];
+
+                PathResult<Location> expected = dijkstra.findPath(source, target);
+                PathResult<Location> actual = astar.findPath(source, target, workspace);
+
+                assertThat(actual.getTotalCost()).isCloseTo(expected.getTotalCost(), within(1e-9));
+                assertThat(actual.getPath()).startsWith(source).endsWith(target);
+            }
+        }
+
+        @Test
+        void whenHeuristicIsZero_thenBehavesLikeDijkstra() {
+            AStarShortestPath<Location> astar = new AStarShortestPath<>(graph, (node, target) -> 0.0);
+            DijkstraShortestPath<Location> dijkstra = new DijkstraShortestPath<>(graph);
+
+            assertThat(astar.findPath(grid[0][0], grid[SIZE - 1][SIZE - 1]).getTotalCost())
+                    .isEqualTo(dijkstra.findPath(grid[0][0], grid[SIZE - 1][SIZE - 1]).getTotalCost());
+        }
+
+        @Test
+        void whenTargetUnknown_thenReturnsNotFound() {
+            AStarShortestPath<Location> astar = new AStarShortestPath<>(graph, LocationHeuristics.planar(1.0));
+
+            assertThat(astar.findPath(grid[0][0], new Location("X", 0, 0)).isFound()).isFalse();
+        }
+    }
+
+    @Nested
+    class SearchEffort {
+
+        @Test
+        void whenHeuristicIsAdmissible_thenExpandsFewerNodesThanDijkstra() {
+            DijkstraShortestPath<Location> dijkstra = new DijkstraShortestPath<>(graph);
+            AStarShortestPath<Location> astar = new AStarShortestPath<>(graph, LocationHeuristics.haversine(1.0));
+            ShortestPathWorkspace dijkstraWorkspace = dijkstra.newWorkspace();
+            ShortestPathWorkspace astarWorkspace = astar.newWorkspace();
+            Location source = grid[SIZE / 2][0];
+            Location target = grid[SIZE / 2][SIZE - 1];
+
+            dijkstra.distance(source, target, dijkstraWorkspace);
+            astar.distance(source, target, astarWorkspace);
+
+            assertThat(astarWorkspace.getExpandedNodeCount())
+                    .isLessThan(dijkstraWorkspace.getExpandedNodeCount());
+        }
+    }
+
+    @Nested
+    class LocationDistances {
+
+        @Test
+        void whenMeasuringKnownCities_thenHaversineMatchesReference() {
+            Location jakarta = new Location("Jakarta", 106.8456, -6.2088);
+            Location bandung = new Location("Bandung", 107.6191, -6.9175);
+
+            assertThat(jakarta.haversineDistanceTo(bandung)).isCloseTo(116.0, within(2.0));
+            assertThat(jakarta.equirectangularDistanceTo(bandung))
+                    .isCloseTo(jakarta.haversineDistanceTo(bandung), within(0.1));
+        }
+
+        @Test
+        void whenCrossingAntimeridian_thenTakesShortWay() {
+            Location west = new Location("West", 179.9, 0.0);
+            Location east = new Location("East", -179.9, 0.0);
+
+            assertThat(west.haversineDistanceTo(east)).isCloseTo(22.2, within(0.1));
+            assertThat(west.equirectangularDistanceTo(east)).isCloseTo(22.2, within(0.1));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+
+class BatchShortestPathExecutorTest {
+
+    private static final int SIZE = 500;
+
+    private CompressedSparseRowGraph<Integer> graph;
+    private DijkstraShortestPath<Integer> dijkstra;
+
+    @BeforeEach
+    void setUp() {
+        AdjacencyListGraph<Integer> roads = new AdjacencyListGraph<>(true, true);
+        Random random = new Random(21);
+        for (int i = 0; i < SIZE; i++) {
+            roads.addNode(i);
+        }
+        for (int i = 0; i < SIZE * 4; i++) {
+            roads.addEdge(random.nextInt(SIZE), random.nextInt(SIZE), 1.0 + random.nextInt(10));
+        }
+        graph = roads.freeze();
+        dijkstra = new DijkstraShortestPath<>(graph);
+    }
+
+    @Nested
+    class Execution {
+
+        @Test
+        void whenRunningPairQueries_thenMatchesSequentialResults() throws Exception {
+            List<ShortestPathRequest<Integer>> requests = new ArrayList<>();
+            Random random = new Random(5);
+            for (int i = 0; i < 2_000; i++) {
+                requests.add(ShortestPathRequest.of(random.nextInt(SIZE), random.nextInt(SIZE)));
+            }
+            Map<List<Integer>, Double> costs = new ConcurrentHashMap<>();
+
+            long delivered;
+            try (BatchShortestPathExecutor<Integer> executor = new BatchShortestPathExecutor<>(dijkstra, 4, 16)) {
+                delivered = executor.execute(requests,
+                        (source, target, result) -> costs.put(List.of(source, target), result.getTotalCost()));
+            }
+
+            assertThat(delivered).isEqualTo(requests.size());
+            for (ShortestPathRequest<Integer> request : requests) {
+                int source = request.getSource();
+                int target = request.getTargets().get(0);
+                assertThat(costs.get(List.of(source, target)))
+                        .isEqualTo(dijkstra.findPath(source, target).getTotalCost());
+            }
+        }
+
+        @Test
+        void whenRunningOneToManyQueries_thenEveryTargetIsAnswered() throws Exception {
+            List<Integer> targets = List.of(1, 2, 3, 50, 499, -1);
+            List<ShortestPathRequest<Integer>> requests = List.of(
+                    ShortestPathRequest.oneToMany(0, targets),
+                    ShortestPathRequest.oneToMany(7, targets));
+            Map<List<Integer>, PathResult<Integer>> results = new ConcurrentHashMap<>();
+
+            try (BatchShortestPathExecutor<Integer> executor = new BatchShortestPathExecutor<>(dijkstra)) {
+                assertThat(executor.execute(requests,
+                        (source, target, result) -> results.put(List.of(source, target), result)))
+                        .isEqualTo(12);
+            }
+
+            for (int source : new int[]{0, 7}) {
+                for (int target : targets) {
+                    assertThat(results.get(List.of(source, target)))
+                            .isEqualTo(dijkstra.findPath(source, target));
+                }
+            }
+        }
+
+        @Test
+        void whenAlgorithmHasNoOneToManySearch_thenFallsBackToPairQueries() throws Exception {
+            ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph);
+            Map<Integer, Double> costs = new ConcurrentHashMap<>();
+
+            try (BatchShortestPathExecutor<Integer> executor = new BatchShortestPathExecutor<>(hierarchy, 2, 4)) {
+                executor.execute(List.of(ShortestPathRequest.oneToMany(0, List.of(10, 20, 30))),
+                        (source, target, result) -> costs.put(target, result.getTotalCost()));
+            }
+
+            for (int target : new int[]{10, 20, 30}) {
+                assertThat(costs.get(target)).isCloseTo(dijkstra.findPath(0, target).getTotalCost(), within(1e-9));
+            }
+        }
+    }
+
+    @Nested
+    class Backpressure {
+
+        @Test
+        void whenRequestsAreStreamed_thenPendingWorkStaysBounded() throws Exception {
+            int maxPending = 8;
+            AtomicInteger pulled = new AtomicInteger();
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            Iterable<ShortestPathRequest<Integer>> requests = () -> new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return pulled.get() < 5_000;
+                }
+
+                @Override
+                public ShortestPathRequest<Integer> next() {
+                    int index = pulled.incrementAndGet();
+                    maxInFlight.accumulateAndGet(index - completed.get(), Math::max);
+                    return ShortestPathRequest.of(index % SIZE, (index * 31) % SIZE);
+                }
+            };
+
+            try (BatchShortestPathExecutor<Integer> executor = new BatchShortestPathExecutor<>(dijkstra, 4, maxPending)) {
+                executor.execute(requests, (source, target, result) -> completed.incrementAndGet());
+            }
+
+            assertThat(completed.get()).isEqualTo(5_000);
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(maxPending + 1);
+        }
+
+        @Test
+        void whenConsumerFails_thenRemainingRequestsAreSkipped() {
+            AtomicInteger pulled = new AtomicInteger();
+            Iterable<ShortestPathRequest<Integer>> requests = () -> new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public ShortestPathRequest<Integer> next() {
+                    pulled.incrementAndGet();
+                    return ShortestPathRequest.of(0, 1);
+                }
+            };
+
+            try (BatchShortestPathExecutor<Integer> executor = new BatchShortestPathExecutor<>(dijkstra, 2, 4)) {
+                assertThatThrownBy(() -> executor.execute(requests, (source, target, result) -> {
+                    throw new IllegalStateException("consumer failed");
+                })).isInstanceOf(IllegalStateException.class).hasMessage("consumer failed");
+            }
+            assertThat(pulled.get()).isLessThan(100);
+        }
+    }
+}
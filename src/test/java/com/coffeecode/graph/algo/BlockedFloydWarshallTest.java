@@ -0,0 +1,152 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class BlockedFloydWarshallTest {
+
+    @Nested
+    class SmallGraphs {
+
+        private AdjacencyMatrixGraph<String> graph;
+
+        @BeforeEach
+        void setUp() {
+            graph = new AdjacencyMatrixGraph<>(true, true);
+            for (String node : new String[]{"A", "B", "C", "D", "E"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 4.0);
+            graph.addEdge("A", "C", 1.0);
+            graph.addEdge("C", "B", 2.0);
+            graph.addEdge("B", "D", 1.0);
+            graph.addEdge("C", "D", 5.0);
+        }
+
+        @Test
+        void whenComputingWithPaths_thenReturnsDistancesAndPaths() {
+            AllPairsShortestPaths<String> table = new BlockedFloydWarshall<>(graph).computeWithPaths();
+
+            assertThat(table.getDistance("A", "D")).isEqualTo(4.0);
+            assertThat(table.getDistance("B", "B")).isZero();
+            assertThat(table.getDistance("D", "A")).isEqualTo(Double.POSITIVE_INFINITY);
+            assertThat(table.getPath("A", "D").getPath()).containsExactly("A", "C", "B", "D");
+            assertThat(table.getPath("A", "E").isFound()).isFalse();
+            assertThat(table.getPath("X", "A").isFound()).isFalse();
+        }
+
+        @Test
+        void whenComputingWithoutPaths_thenPathQueriesThrow() {
+            AllPairsShortestPaths<String> table = new BlockedFloydWarshall<>(graph).compute();
+
+            assertThat(table.hasPaths()).isFalse();
+            assertThat(table.getDistance("A", "B")).isEqualTo(3.0);
+            assertThatThrownBy(() -> table.getPath("A", "B"))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void whenNodeWasRemoved_thenFreeSlotIsUnreachable() {
+            graph.removeNode("C");
+
+            AllPairsShortestPaths<String> table = new BlockedFloydWarshall<>(graph).compute();
+
+            assertThat(table.getDistance("A", "D")).isEqualTo(5.0);
+            assertThat(table.getDistance("A", "C")).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void whenEdgeIsNegative_thenStillComputesDistances() {
+            graph.addEdge("D", "E", -2.0);
+
+            assertThat(new BlockedFloydWarshall<>(graph).compute().getDistance("A", "E")).isEqualTo(2.0);
+        }
+
+        @Test
+        void whenGraphHasNegativeCycle_thenThrows() {
+            graph.addEdge("D", "A", -5.0);
+
+            assertThatThrownBy(() -> new BlockedFloydWarshall<>(graph).compute())
+                    .isInstanceOf(GraphValidationException.class);
+        }
+
+        @Test
+        void whenTableWouldOverflowAnArray_thenThrows() {
+            assertThat(BlockedFloydWarshall.tableSize(100)).isEqualTo(128 * 128);
+            assertThat(BlockedFloydWarshall.tableSize(46_336)).isEqualTo(46_336 * 46_336);
+
+            assertThatThrownBy(() -> BlockedFloydWarshall.tableSize(46_400))
+                    .isInstanceOf(GraphValidationException.class)
+                    .hasMessageContaining("too large");
+            assertThatThrownBy(() -> BlockedFloydWarshall.tableSize(Integer.MAX_VALUE))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+    }
+
+    @Nested
+    class LargeGraphs {
+
+        @Test
+        void whenGraphSpansSeveralTiles_thenMatchesNaiveFloydWarshall() {
+            for (boolean directed : new boolean[]{true, false}) {
+                int size = 3 * BlockedFloydWarshall.BLOCK + 17;
+                AdjacencyMatrixGraph<Integer> graph = randomGraph(size, directed);
+
+                AllPairsShortestPaths<Integer> table = new BlockedFloydWarshall<>(graph).computeWithPaths();
+                double[][] expected = naiveDistances(graph, size);
+
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        assertThat(table.getDistanceAt(i, j)).isCloseTo(expected[i][j], within(1e-9));
+                    }
+                }
+                PathResult<Integer> path = table.getPath(0, size - 1);
+                if (path.isFound()) {
+                    assertThat(pathCost(graph, path.getPath())).isCloseTo(path.getTotalCost(), within(1e-9));
+                }
+            }
+        }
+
+        private AdjacencyMatrixGraph<Integer> randomGraph(int size, boolean directed) {
+            AdjacencyMatrixGraph<Integer> graph = new AdjacencyMatrixGraph<>(directed, true);
+            Random random = new Random(17);
+            for (int i = 0; i < size; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < size * 3; i++) {
+                graph.addEdge(random.nextInt(size), random.nextInt(size), 1 + random.nextInt(20));
+            }
+            return graph;
+        }
+
+        private double[][] naiveDistances(AdjacencyMatrixGraph<Integer> graph, int size) {
+            double[][] d = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    d[i][j] = i == j ? 0.0 : graph.getEdgeWeight(i, j);
+                }
+            }
+            for (int k = 0; k < size; k++) {
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+                    }
+                }
+            }
+            return d;
+        }
+
+        private double pathCost(AdjacencyMatrixGraph<Integer> graph, List<Integer> path) {
+            double cost = 0;
+            for (int i = 1; i < path.size(); i++) {
+                cost += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+            }
+            return cost;
+        }
+    }
+}
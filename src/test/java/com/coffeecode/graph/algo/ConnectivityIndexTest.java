@@ -0,0 +1,216 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjDoubleConsumer;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+import com.coffeecode.graph.impl.ConcurrentAdjacencyListGraph;
+
+class ConnectivityIndexTest {
+
+    @Nested
+    class Incremental {
+
+        @Test
+        void whenAddingEdges_thenComponentsMerge() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(false, true);
+            graph.addNode("A");
+            graph.addNode("B");
+            ConnectivityIndex<String> index = ConnectivityIndex.attach(graph);
+
+            assertThat(index.connected("A", "B")).isFalse();
+            assertThat(index.getComponentCount()).isEqualTo(2);
+
+            graph.addNode("C");
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("B", "C", 1.0);
+
+            assertThat(index.connected("A", "C")).isTrue();
+            assertThat(index.connected("A", "X")).isFalse();
+            assertThat(index.getComponentCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenGraphIsDirected_thenConnectivityIsWeak() {
+            AdjacencyMatrixGraph<String> graph = new AdjacencyMatrixGraph<>(true, false);
+            for (String node : new String[]{"A", "B", "C", "D"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("C", "B", 1.0);
+            ConnectivityIndex<String> index = ConnectivityIndex.attach(graph);
+
+            assertThat(index.connected("A", "C")).isTrue();
+            assertThat(index.connected("D", "A")).isFalse();
+            assertThat(index.getComponentCount()).isEqualTo(2);
+        }
+
+        @Test
+        void whenCleared_thenIndexIsEmpty() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(false, true);
+            graph.addNode("A");
+            ConnectivityIndex<String> index = ConnectivityIndex.attach(graph);
+
+            graph.clear();
+            assertThat(index.getComponentCount()).isZero();
+
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", 1.0);
+            assertThat(index.connected("A", "B")).isTrue();
+        }
+
+        @Test
+        void whenDetached_thenIgnoresLaterChanges() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(false, true);
+            graph.addNode("A");
+            graph.addNode("B");
+            ConnectivityIndex<String> index = ConnectivityIndex.attach(graph);
+
+            index.detach();
+            graph.addEdge("A", "B", 1.0);
+
+            assertThat(index.connected("A", "B")).isFalse();
+        }
+    }
+
+    @Nested
+    class Removals {
+
+        @Test
+        void whenBridgeRemoved_thenComponentSplits() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(false, true);
+            for (String node : new String[]{"A", "B", "C", "D"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("B", "C", 1.0);
+            graph.addEdge("C", "D", 1.0);
+            ConnectivityIndex<String> index = ConnectivityIndex.attach(graph);
+            assertThat(index.connected("A", "D")).isTrue();
+
+            graph.removeEdge("B", "C");
+            assertThat(index.connected("A", "D")).isFalse();
+            assertThat(index.connected("C", "D")).isTrue();
+
+            graph.removeNode("A");
+            graph.addEdge("B", "D", 1.0);
+            assertThat(index.connected("B", "C")).isTrue();
+            assertThat(index.connected("A", "B")).isFalse();
+            assertThat(index.getComponentCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenAdditionsRaceEveryRebuild_thenTheyAreReplayedWithoutRetrying() {
+            AtomicInteger trigger = new AtomicInteger(-1);
+            AtomicInteger fresh = new AtomicInteger(100);
+            ConcurrentAdjacencyListGraph<Integer> graph = new ConcurrentAdjacencyListGraph<>(true, false) {
+                @Override
+                public void forEachNeighbor(Integer node, ObjDoubleConsumer<? super Integer> action) {
+                    super.forEachNeighbor(node, action);
+                    if (node == trigger.get()) {
+                        // Arrives after the snapshot copied the rows of 0 and 1
+                        int added = fresh.getAndIncrement();
+                        addNode(added);
+                        addEdge(added, 0, 1.0);
+                        addEdge(0, 1, 1.0);
+                    }
+                }
+            };
+            for (int i = 0; i < 4; i++) {
+                graph.addNode(i);
+            }
+            graph.addEdge(2, 3, 1.0);
+            ConnectivityIndex<Integer> index = ConnectivityIndex.attach(graph);
+            graph.removeEdge(2, 3);
+            List<Integer> order = toList(graph.getNodes());
+            trigger.set(order.get(order.size() - 1));
+            assertThat(trigger.get()).isNotIn(0, 1);
+
+            boolean connected = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> index.connected(0, 1));
+
+            assertThat(connected).isTrue();
+            assertThat(index.connected(100, 1)).isTrue();
+            // One snapshot, so exactly one node was added while rebuilding
+            assertThat(fresh.get()).isEqualTo(101);
+            assertThat(index.getComponentCount()).isEqualTo(3);
+        }
+
+        @Test
+        void whenLargeGraphChanges_thenMatchesTraversal() {
+            for (boolean directed : new boolean[]{true, false}) {
+                ConcurrentAdjacencyListGraph<Integer> graph = new ConcurrentAdjacencyListGraph<>(directed, false);
+                Random random = new Random(5);
+                int size = 30_000;
+                for (int i = 0; i < size; i++) {
+                    graph.addNode(i);
+                }
+                for (int i = 0; i < size / 2; i++) {
+                    graph.addEdge(random.nextInt(size), random.nextInt(size), 1.0);
+                }
+                ConnectivityIndex<Integer> index = ConnectivityIndex.attach(graph);
+                assertMatches(graph, index, random);
+
+                for (int i = 0; i < size / 4; i++) {
+                    graph.addEdge(random.nextInt(size), random.nextInt(size), 1.0);
+                }
+                assertMatches(graph, index, random);
+
+                for (int i = 0; i < 2_000; i++) {
+                    int node = random.nextInt(size);
+                    for (Integer neighbor : List.copyOf(toList(graph.getNeighbors(node)))) {
+                        graph.removeEdge(node, neighbor);
+                    }
+                }
+                assertMatches(graph, index, random);
+            }
+        }
+
+        private void assertMatches(ConcurrentAdjacencyListGraph<Integer> graph,
+                ConnectivityIndex<Integer> index, Random random) {
+            Map<Integer, Integer> components = traverse(graph);
+            assertThat(index.getComponentCount()).isEqualTo(new HashSet<>(components.values()).size());
+            int size = graph.getNodeCount();
+            for (int i = 0; i < 5_000; i++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size);
+                assertThat(index.connected(a, b)).isEqualTo(components.get(a).equals(components.get(b)));
+            }
+        }
+
+        // Labels nodes by breadth-first search over edges in both directions
+        private Map<Integer, Integer> traverse(ConcurrentAdjacencyListGraph<Integer> graph) {
+            Map<Integer, Integer> components = new HashMap<>();
+            for (Integer start : graph.getNodes()) {
+                if (components.containsKey(start)) {
+                    continue;
+                }
+                Deque<Integer> queue = new ArrayDeque<>(List.of(start));
+                components.put(start, start);
+                while (!queue.isEmpty()) {
+                    Integer node = queue.poll();
+                    List<Integer> next = toList(graph.getNeighbors(node));
+                    next.addAll(toList(graph.getPredecessors(node)));
+                    for (Integer neighbor : next) {
+                        if (components.putIfAbsent(neighbor, start) == null) {
+                            queue.add(neighbor);
+                        }
+                    }
+                }
+            }
+            return components;
+        }
+
+        private List<Integer> toList(Iterable<Integer> nodes) {
+            List<Integer> list = new ArrayList<>();
+            nodes.forEach(list::add);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import com.coffeecode.graph.io.NodeCodec;
+import com.coffeecode.exception.GraphValidationException;
+
+class ContractionHierarchyTest {
+
+    private static final int SIZE = 400;
+
+    @Nested
+    class Queries {
+
+        @Test
+        void whenQueryingRandomGraphs_thenMatchesDijkstra() {
+            for (boolean directed : new boolean[]{true, false}) {
+                CompressedSparseRowGraph<Integer> graph = randomGraph(directed, 3);
+                ContractionHierarchy<Integer> hierarchy = new ContractionHierarchyBuilder<>(graph).build();
+                DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<>(graph);
+                ShortestPathWorkspace workspace = hierarchy.newWorkspace();
+                Random random = new Random(7);
+
+                for (int i = 0; i < 200; i++) {
+                    int source = random.nextInt(SIZE);
+                    int target = random.nextInt(SIZE);
+
+                    PathResult<Integer> expected = dijkstra.findPath(source, target);
+                    PathResult<Integer> actual = hierarchy.findPath(source, target, workspace);
+
+                    assertThat(actual.isFound()).isEqualTo(expected.isFound());
+                    if (expected.isFound()) {
+                        assertThat(actual.getTotalCost()).isCloseTo(expected.getTotalCost(), within(1e-9));
+                        assertValidPath(graph, actual);
+                        assertThat(actual.getPath()).startsWith(source).endsWith(target);
+                    }
+                }
+            }
+        }
+
+        @Test
+        void whenSourceEqualsTarget_thenPathIsSingleNode() {
+            ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(randomGraph(true, 3));
+
+            PathResult<Integer> result = hierarchy.findPath(5, 5);
+
+            assertThat(result.getPath()).containsExactly(5);
+            assertThat(result.getTotalCost()).isZero();
+        }
+
+        @Test
+        void whenNodeUnknown_thenReturnsNotFound() {
+            ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(randomGraph(true, 3));
+
+            assertThat(hierarchy.findPath(0, -1).isFound()).isFalse();
+            assertThat(hierarchy.distance(-1, 0, hierarchy.newWorkspace())).isInfinite();
+        }
+
+        @Test
+        void whenBuiltWithSmallSettleLimit_thenDistancesStayExact() {
+            CompressedSparseRowGraph<Integer> graph = randomGraph(false, 4);
+            ContractionHierarchy<Integer> hierarchy =
+                    new ContractionHierarchyBuilder<>(graph, ForkJoinPool.commonPool(), 2).build();
+            DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<>(graph);
+            ShortestPathWorkspace workspace = hierarchy.newWorkspace();
+
+            for (int target = 0; target < SIZE; target += 7) {
+                assertThat(hierarchy.distance(0, target, workspace))
+                        .isCloseTo(dijkstra.findPath(0, target).getTotalCost(), within(1e-9));
+            }
+        }
+
+        @Test
+        void whenWeightIsNegative_thenBuildThrows() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, true);
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", -1.0);
+
+            assertThatThrownBy(() -> ContractionHierarchy.build(graph))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+
+        @Test
+        void whenWeightIsNaN_thenBuildThrows() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, true);
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", Double.NaN);
+
+            assertThatThrownBy(() -> ContractionHierarchy.build(graph))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+    }
+
+    @Nested
+    class Serialization {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void whenWrittenAndRead_thenAnswersSameQueries() throws Exception {
+            CompressedSparseRowGraph<Integer> graph = randomGraph(true, 3);
+            ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(graph);
+            Path file = directory.resolve("graph.ch");
+
+            hierarchy.write(file, NodeCodec.integers());
+            ContractionHierarchy<Integer> loaded = ContractionHierarchy.read(file, NodeCodec.integers());
+
+            assertThat(loaded.getNodeCount()).isEqualTo(hierarchy.getNodeCount());
+            assertThat(loaded.getEdgeCount()).isEqualTo(hierarchy.getEdgeCount());
+            Random random = new Random(9);
+            for (int i = 0; i < 50; i++) {
+                int source = random.nextInt(SIZE);
+                int target = random.nextInt(SIZE);
+                assertThat(loaded.getRank(source)).isEqualTo(hierarchy.getRank(source));
+                assertThat(loaded.findPath(source, target).getPath())
+                        .isEqualTo(hierarchy.findPath(source, target).getPath());
+            }
+        }
+
+        @Test
+        void whenFileIsNotHierarchy_thenReadThrows() throws Exception {
+            Path file = directory.resolve("bogus.ch");
+            java.nio.file.Files.write(file, new byte[64]);
+
+            assertThatThrownBy(() -> ContractionHierarchy.read(file, NodeCodec.integers()))
+                    .isInstanceOf(java.io.IOException.class)
+                    .hasMessageContaining("Not a hierarchy file");
+        }
+    }
+
+    private CompressedSparseRowGraph<Integer> randomGraph(boolean directed, int degree) {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(directed, true);
+        Random random = new Random(directed ? 1 : 2);
+        for (int i = 0; i < SIZE; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < SIZE * degree; i++) {
+            graph.addEdge(random.nextInt(SIZE), random.nextInt(SIZE), 1.0 + random.nextInt(20));
+        }
+        return graph.freeze();
+    }
+
+    private void assertValidPath(CompressedSparseRowGraph<Integer> graph, PathResult<Integer> result) {
+        List<Integer> path = result.getPath();
+        double cost = 0.0;
+        for (int i = 1; i < path.size(); i++) {
+            int edge = graph.findEdge(graph.indexOf(path.get(i - 1)), graph.indexOf(path.get(i)));
+            assertThat(edge).isNotNegative();
+            cost += graph.edgeWeight(edge);
+        }
+        assertThat(cost).isCloseTo(result.getTotalCost(), within(1e-9));
+    }
+}
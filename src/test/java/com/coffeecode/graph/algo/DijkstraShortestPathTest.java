@@ -0,0 +1,214 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class DijkstraShortestPathTest {
+
+    private AdjacencyListGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>(true, true);
+        for (String node : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 4.0);
+        graph.addEdge("A", "C", 1.0);
+        graph.addEdge("C", "B", 2.0);
+        graph.addEdge("B", "D", 1.0);
+        graph.addEdge("C", "D", 5.0);
+    }
+
+    @Nested
+    class PathQueries {
+
+        @Test
+        void whenPathExists_thenReturnsShortestPathAndCost() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph.freeze());
+
+            PathResult<String> result = dijkstra.findPath("A", "D");
+
+            assertThat(result.isFound()).isTrue();
+            assertThat(result.getPath()).containsExactly("A", "C", "B", "D");
+            assertThat(result.getTotalCost()).isEqualTo(4.0);
+        }
+
+        @Test
+        void whenTargetUnreachable_thenReturnsNotFound() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph.freeze());
+
+            PathResult<String> result = dijkstra.findPath("A", "E");
+
+            assertThat(result.isFound()).isFalse();
+            assertThat(result.getPath()).isEmpty();
+            assertThat(result.getTotalCost()).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void whenNodeUnknown_thenReturnsNotFound() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph);
+
+            assertThat(dijkstra.findPath("A", "X").isFound()).isFalse();
+        }
+
+        @Test
+        void whenSourceEqualsTarget_thenPathHasSingleNode() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph);
+
+            PathResult<String> result = dijkstra.findPath("B", "B");
+
+            assertThat(result.getPath()).containsExactly("B");
+            assertThat(result.getTotalCost()).isZero();
+        }
+
+        @Test
+        void whenGraphChangesAfterConstruction_thenSearchSeesNewEdges() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph);
+            assertThat(dijkstra.findPath("A", "E").isFound()).isFalse();
+
+            graph.addEdge("D", "E", 1.0);
+
+            assertThat(dijkstra.findPath("A", "E").getTotalCost()).isEqualTo(5.0);
+        }
+
+        @Test
+        void whenRefreshedAfterChange_thenRebuildHappensBeforeQuery() {
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(graph);
+            DijkstraShortestPath<String> fixed = new DijkstraShortestPath<>(graph.freeze());
+
+            graph.addEdge("D", "E", -1.0);
+
+            assertThatThrownBy(dijkstra::refresh).isInstanceOf(GraphValidationException.class);
+            assertThatCode(fixed::refresh).doesNotThrowAnyException();
+            graph.addEdge("D", "E", 1.0);
+            dijkstra.refresh();
+            assertThat(dijkstra.findPath("A", "E").getTotalCost()).isEqualTo(5.0);
+        }
+
+        @Test
+        void whenUsingMatrixGraph_thenReturnsShortestPath() {
+            AdjacencyMatrixGraph<String> matrix = new AdjacencyMatrixGraph<>(false, true);
+            matrix.addNode("A");
+            matrix.addNode("B");
+            matrix.addNode("C");
+            matrix.addEdge("A", "B", 5.0);
+            matrix.addEdge("B", "C", 1.0);
+            matrix.addEdge("A", "C", 2.0);
+
+            DijkstraShortestPath<String> dijkstra = new DijkstraShortestPath<>(matrix);
+
+            assertThat(dijkstra.findPath("B", "A").getPath()).containsExactly("B", "C", "A");
+        }
+
+        @Test
+        void whenGraphHasNegativeWeight_thenThrows() {
+            graph.addEdge("D", "E", -1.0);
+
+            assertThatThrownBy(() -> new DijkstraShortestPath<>(graph))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+
+        @Test
+        void whenGraphHasNaNWeight_thenThrows() {
+            graph.addEdge("D", "E", Double.NaN);
+
+            assertThatThrownBy(() -> new DijkstraShortestPath<>(graph))
+                    .isInstanceOf(GraphValidationException.class);
+            assertThatThrownBy(() -> new AStarShortestPath<>(graph.freeze(), (node, target) -> 0.0))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+    }
+
+    @Nested
+    class WorkspaceReuse {
+
+        @Test
+        void whenReusingWorkspace_thenResultsMatchBruteForce() {
+            AdjacencyListGraph<Integer> random = new AdjacencyListGraph<>(true, true);
+            Random rnd = new Random(7);
+            int size = 300;
+            for (int i = 0; i < size; i++) {
+                random.addNode(i);
+            }
+            for (int i = 0; i < size * 4; i++) {
+                random.addEdge(rnd.nextInt(size), rnd.nextInt(size), rnd.nextInt(20) + 1);
+            }
+
+            DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<>(random.freeze());
+            ShortestPathWorkspace workspace = dijkstra.newWorkspace();
+            double[][] expected = bellmanFord(random, size);
+
+            for (int query = 0; query < 200; query++) {
+                int source = rnd.nextInt(size);
+                int target = rnd.nextInt(size);
+                assertThat(dijkstra.distance(source, target, workspace))
+                        .isEqualTo(expected[source][target]);
+            }
+        }
+
+        private double[][] bellmanFord(AdjacencyListGraph<Integer> g, int size) {
+            double[][] dist = new double[size][size];
+            for (int s = 0; s < size; s++) {
+                Arrays.fill(dist[s], Double.POSITIVE_INFINITY);
+                dist[s][s] = 0;
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    for (int u = 0; u < size; u++) {
+                        if (dist[s][u] == Double.POSITIVE_INFINITY) {
+                            continue;
+                        }
+                        for (Integer v : g.getNeighbors(u)) {
+                            double candidate = dist[s][u] + g.getEdgeWeight(u, v);
+                            if (candidate < dist[s][v]) {
+                                dist[s][v] = candidate;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+            return dist;
+        }
+    }
+
+    @Nested
+    class HeapOperations {
+
+        @Test
+        void whenDecreasingKeys_thenPollsInKeyOrder() {
+            IndexedMinHeap heap = new IndexedMinHeap(10);
+            for (int i = 0; i < 10; i++) {
+                heap.insertOrDecrease(i, 100 - i);
+            }
+            heap.insertOrDecrease(3, 0.5);
+            assertThat(heap.insertOrDecrease(9, 500)).isFalse();
+
+            List<Integer> order = new ArrayList<>();
+            while (!heap.isEmpty()) {
+                order.add(heap.poll());
+            }
+
+            assertThat(order).containsExactly(3, 9, 8, 7, 6, 5, 4, 2, 1, 0);
+        }
+
+        @Test
+        void whenClearing_thenIdsCanBeReinserted() {
+            IndexedMinHeap heap = new IndexedMinHeap(4);
+            heap.insertOrDecrease(1, 1.0);
+            heap.insertOrDecrease(2, 2.0);
+            heap.clear();
+
+            assertThat(heap.contains(1)).isFalse();
+            heap.insertOrDecrease(2, 3.0);
+            assertThat(heap.peekKey()).isEqualTo(3.0);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.base.GraphListener;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class DynamicShortestPathTreeTest {
+
+    private AdjacencyListGraph<String> graph;
+    private DynamicShortestPathTree<String> tree;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>(true, true);
+        for (String node : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 4.0);
+        graph.addEdge("A", "C", 1.0);
+        graph.addEdge("C", "B", 2.0);
+        graph.addEdge("B", "D", 1.0);
+        graph.addEdge("C", "D", 5.0);
+        tree = DynamicShortestPathTree.attach(graph, "A");
+    }
+
+    @Nested
+    class Construction {
+
+        @Test
+        void whenAttached_thenTreeHoldsShortestPaths() {
+            assertThat(tree.getDistance("D")).isEqualTo(4.0);
+            assertThat(tree.getParent("B")).isEqualTo("C");
+            assertThat(tree.getParent("A")).isNull();
+            assertThat(tree.getPath("D").getPath()).containsExactly("A", "C", "B", "D");
+            assertThat(tree.isReachable("E")).isFalse();
+            assertThat(tree.getPath("E").isFound()).isFalse();
+        }
+
+        @Test
+        void whenGraphHasNegativeWeight_thenAttachThrows() {
+            graph.addEdge("D", "E", -1.0);
+
+            assertThatThrownBy(() -> DynamicShortestPathTree.attach(graph, "A"))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+    }
+
+    @Nested
+    class InvalidWeights {
+
+        @Test
+        void whenNegativeEdgeAdded_thenItIsIgnoredAndLaterListenersStillSeeIt() {
+            List<String> seen = new ArrayList<>();
+            graph.addGraphListener(new GraphListener<>() {
+                @Override
+                public void edgeAdded(String source, String target, double weight) {
+                    seen.add(source + ">" + target);
+                }
+            });
+
+            graph.addEdge("A", "D", -1.0);
+            graph.addEdge("D", "E", Double.NaN);
+            graph.addEdge("D", "E", 2.0);
+
+            assertThat(seen).containsExactly("A>D", "D>E");
+            assertThat(tree.getIgnoredEdgeCount()).isEqualTo(2);
+            assertThat(tree.getDistance("D")).isEqualTo(4.0);
+            assertThat(tree.getDistance("E")).isEqualTo(6.0);
+            assertThat(tree.getPath("E").getPath()).containsExactly("A", "C", "B", "D", "E");
+        }
+
+        @Test
+        void whenTreeEdgeTurnsNegative_thenSubtreeReroutesAroundIt() {
+            graph.addEdge("C", "B", -2.0);
+
+            assertThat(tree.getDistance("B")).isEqualTo(4.0);
+            assertThat(tree.getParent("B")).isEqualTo("A");
+            assertThat(tree.getDistance("D")).isEqualTo(5.0);
+
+            graph.addEdge("C", "B", 2.0);
+
+            assertThat(tree.getDistance("B")).isEqualTo(3.0);
+            assertThat(tree.getDistance("D")).isEqualTo(4.0);
+            assertThat(tree.getParent("B")).isEqualTo("C");
+        }
+    }
+
+    @Nested
+    class Updates {
+
+        @Test
+        void whenShortcutAdded_thenDescendantsImprove() {
+            graph.addEdge("A", "D", 0.5);
+            graph.addEdge("D", "E", 1.0);
+
+            assertThat(tree.getDistance("D")).isEqualTo(0.5);
+            assertThat(tree.getDistance("E")).isEqualTo(1.5);
+            assertThat(tree.getParent("D")).isEqualTo("A");
+        }
+
+        @Test
+        void whenTreeEdgeRemoved_thenSubtreeReroutes() {
+            graph.removeEdge("C", "B");
+
+            assertThat(tree.getDistance("B")).isEqualTo(4.0);
+            assertThat(tree.getDistance("D")).isEqualTo(5.0);
+            assertThat(tree.getParent("B")).isEqualTo("A");
+        }
+
+        @Test
+        void whenTreeEdgeGetsHeavier_thenSubtreeReroutes() {
+            graph.addEdge("C", "B", 10.0);
+
+            assertThat(tree.getDistance("B")).isEqualTo(4.0);
+            assertThat(tree.getParent("D")).isEqualTo("B");
+            assertThat(tree.getDistance("D")).isEqualTo(5.0);
+        }
+
+        @Test
+        void whenEdgeGetsLighter_thenPathsImprove() {
+            graph.addEdge("C", "D", 1.5);
+
+            assertThat(tree.getDistance("D")).isEqualTo(2.5);
+            assertThat(tree.getPath("D").getPath()).containsExactly("A", "C", "D");
+        }
+
+        @Test
+        void whenNodeRemoved_thenChildrenReroute() {
+            graph.removeNode("C");
+
+            assertThat(tree.getDistance("B")).isEqualTo(4.0);
+            assertThat(tree.getDistance("D")).isEqualTo(5.0);
+            assertThat(tree.getDistance("C")).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void whenSourceRemovedAndReadded_thenTreeRegrows() {
+            graph.removeNode("A");
+            assertThat(tree.isReachable("D")).isFalse();
+
+            graph.addNode("A");
+            graph.addEdge("A", "B", 1.0);
+
+            assertThat(tree.getDistance("A")).isZero();
+            assertThat(tree.getDistance("D")).isEqualTo(2.0);
+        }
+
+        @Test
+        void whenLeafEdgeChanges_thenOnlyLeafIsSettled() {
+            long settled = tree.getSettledCount();
+
+            graph.addEdge("B", "D", 3.0);
+
+            assertThat(tree.getDistance("D")).isEqualTo(6.0);
+            assertThat(tree.getSettledCount() - settled).isEqualTo(1);
+        }
+
+        @Test
+        void whenDetached_thenIgnoresLaterChanges() {
+            tree.detach();
+            graph.addEdge("A", "D", 0.5);
+
+            assertThat(tree.getDistance("D")).isEqualTo(4.0);
+        }
+    }
+
+    @Nested
+    class RandomUpdates {
+
+        @Test
+        void whenApplyingRandomChanges_thenMatchesRecomputation() {
+            for (boolean directed : new boolean[]{true, false}) {
+                AdjacencyListGraph<Integer> random = randomGraph(directed);
+                assertMatchesDijkstra(random, DynamicShortestPathTree.attach(random, 0), directed);
+            }
+        }
+
+        @Test
+        void whenUsingMatrixGraph_thenMatchesRecomputation() {
+            AdjacencyMatrixGraph<Integer> matrix = new AdjacencyMatrixGraph<>(true, true);
+            for (int i = 0; i < 60; i++) {
+                matrix.addNode(i);
+            }
+            Random random = new Random(2);
+            for (int i = 0; i < 240; i++) {
+                matrix.addEdge(random.nextInt(60), random.nextInt(60), 1 + random.nextInt(9));
+            }
+            DynamicShortestPathTree<Integer> dynamic = DynamicShortestPathTree.attach(matrix, 0);
+
+            for (int i = 0; i < 300; i++) {
+                int a = random.nextInt(60);
+                int b = random.nextInt(60);
+                if (random.nextBoolean()) {
+                    matrix.removeEdge(a, b);
+                } else {
+                    matrix.addEdge(a, b, 1 + random.nextInt(9));
+                }
+            }
+
+            DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<>(matrix);
+            for (int node = 0; node < 60; node++) {
+                assertThat(dynamic.getDistance(node)).isEqualTo(dijkstra.findPath(0, node).getTotalCost());
+            }
+        }
+
+        private AdjacencyListGraph<Integer> randomGraph(boolean directed) {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(directed, true);
+            Random random = new Random(9);
+            for (int i = 0; i < 400; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < 1_200; i++) {
+                graph.addEdge(random.nextInt(400), random.nextInt(400), 1 + random.nextInt(20));
+            }
+            return graph;
+        }
+
+        private void assertMatchesDijkstra(AdjacencyListGraph<Integer> graph,
+                DynamicShortestPathTree<Integer> dynamic, boolean directed) {
+            Random random = new Random(directed ? 1 : 2);
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 50; i++) {
+                    int a = random.nextInt(400);
+                    int b = random.nextInt(400);
+                    switch (random.nextInt(4)) {
+                        case 0 -> graph.removeEdge(a, b);
+                        case 1 -> {
+                            List<Integer> neighbors = new ArrayList<>();
+                            graph.getNeighbors(a).forEach(neighbors::add);
+                            neighbors.forEach(neighbor -> graph.removeEdge(a, neighbor));
+                        }
+                        case 2 -> {
+                            if (a != 0 && graph.removeNode(a)) {
+                                graph.addNode(a);
+                            }
+                        }
+                        default -> graph.addEdge(a, b, 1 + random.nextInt(20));
+                    }
+                }
+
+                DijkstraShortestPath<Integer> dijkstra = new DijkstraShortestPath<>(graph.freeze());
+                dijkstra.findPaths(0, graph.getNodes(), new ShortestPathWorkspace(400), (node, result) -> {
+                    assertThat(dynamic.getDistance(node)).isEqualTo(result.getTotalCost());
+                    Integer parent = dynamic.getParent(node);
+                    if (parent != null) {
+                        assertThat(dynamic.getDistance(parent) + graph.getEdgeWeight(parent, node))
+                                .isEqualTo(dynamic.getDistance(node));
+                    }
+                });
+            }
+        }
+    }
+}
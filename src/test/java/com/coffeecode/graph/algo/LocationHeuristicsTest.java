@@ -0,0 +1,47 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.coffeecode.model.Location;
+
+class LocationHeuristicsTest {
+
+    // Reference great-circle distance Paris - London on a sphere of mean Earth radius
+    private static final double PARIS_LONDON_KM = 343.557;
+
+    private final Location paris = new Location("Paris", 2.3522, 48.8566);
+    private final Location london = new Location("London", -0.1278, 51.5074);
+
+    @Nested
+    class Estimates {
+
+        @Test
+        void whenUsingPlanar_thenScalesDegreeDistance() {
+            Location origin = new Location("Origin", 0.0, 0.0);
+            Location corner = new Location("Corner", 3.0, 4.0);
+
+            assertThat(LocationHeuristics.<Location>planar(1.0).estimate(origin, corner)).isEqualTo(5.0);
+            assertThat(LocationHeuristics.<Location>planar(2.0).estimate(corner, origin)).isEqualTo(10.0);
+        }
+
+        @Test
+        void whenUsingHaversine_thenScalesGreatCircleDistance() {
+            Heuristic<Location> kilometers = LocationHeuristics.haversine(1.0);
+            Heuristic<Location> minutes = LocationHeuristics.haversine(0.5);
+
+            assertThat(kilometers.estimate(paris, london)).isCloseTo(PARIS_LONDON_KM, within(1e-3));
+            assertThat(minutes.estimate(paris, london)).isCloseTo(PARIS_LONDON_KM / 2, within(1e-3));
+            assertThat(kilometers.estimate(paris, paris)).isZero();
+        }
+
+        @Test
+        void whenUsingEquirectangular_thenCloseToHaversineOverShortDistances() {
+            Heuristic<Location> heuristic = LocationHeuristics.equirectangular(1.0);
+
+            assertThat(heuristic.estimate(paris, london)).isCloseTo(PARIS_LONDON_KM, within(0.1));
+            assertThat(LocationHeuristics.<Location>equirectangular(3.0).estimate(paris, london))
+                    .isCloseTo(3 * heuristic.estimate(paris, london), within(1e-9));
+        }
+    }
+}
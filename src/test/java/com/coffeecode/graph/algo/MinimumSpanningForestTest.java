@@ -0,0 +1,126 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class MinimumSpanningForestTest {
+
+    @Nested
+    class SmallGraphs {
+
+        private AdjacencyListGraph<String> graph;
+
+        @BeforeEach
+        void setUp() {
+            graph = new AdjacencyListGraph<>(false, true);
+            for (String node : new String[]{"A", "B", "C", "D", "E", "F"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 4.0);
+            graph.addEdge("A", "C", 1.0);
+            graph.addEdge("B", "C", 2.0);
+            graph.addEdge("B", "D", 5.0);
+            graph.addEdge("C", "D", 8.0);
+            graph.addEdge("E", "F", 3.0);
+            graph.addEdge("E", "E", 0.5);
+        }
+
+        @Test
+        void whenComputingForest_thenEveryVariantFindsMinimumWeight() {
+            MinimumSpanningForest<String> mst = new MinimumSpanningForest<>(graph);
+
+            for (SpanningForest<String> forest : List.of(mst.boruvka(), mst.kruskal(), mst.prim())) {
+                assertThat(forest.getTotalWeight()).isEqualTo(11.0);
+                assertThat(forest.getEdgeCount()).isEqualTo(4);
+                assertThat(forest.getComponentCount()).isEqualTo(2);
+                assertThat(edgeSet(forest)).containsExactlyInAnyOrder("A-C", "B-C", "B-D", "E-F");
+            }
+        }
+
+        @Test
+        void whenUsingMatrixGraph_thenMatchesListGraph() {
+            AdjacencyMatrixGraph<String> matrix = new AdjacencyMatrixGraph<>(false, true);
+            graph.getNodes().forEach(matrix::addNode);
+            for (String node : graph.getNodes()) {
+                graph.forEachNeighbor(node, (neighbor, weight) -> matrix.addEdge(node, neighbor, weight));
+            }
+
+            SpanningForest<String> forest = new MinimumSpanningForest<>(matrix).compute();
+
+            assertThat(forest.getTotalWeight()).isEqualTo(11.0);
+            assertThat(forest.getWeights()).hasSize(forest.getSources().length);
+        }
+
+        @Test
+        void whenGraphIsDirected_thenThrows() {
+            AdjacencyListGraph<String> directed = new AdjacencyListGraph<>(true, true);
+
+            assertThatThrownBy(() -> new MinimumSpanningForest<>(directed))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+
+        @Test
+        void whenGraphIsEmpty_thenForestIsEmpty() {
+            MinimumSpanningForest<String> mst = new MinimumSpanningForest<>(new AdjacencyListGraph<>(false, true));
+
+            assertThat(mst.boruvka().getEdgeCount()).isZero();
+            assertThat(mst.kruskal().getEdgeCount()).isZero();
+            assertThat(mst.prim().getTotalWeight()).isZero();
+        }
+
+        private Set<String> edgeSet(SpanningForest<String> forest) {
+            Set<String> edges = new HashSet<>();
+            for (int i = 0; i < forest.getEdgeCount(); i++) {
+                String source = forest.getSource(i);
+                String target = forest.getTarget(i);
+                edges.add(source.compareTo(target) < 0 ? source + "-" + target : target + "-" + source);
+            }
+            return edges;
+        }
+    }
+
+    @Nested
+    class LargeGraphs {
+
+        @Test
+        void whenGraphIsLarge_thenBoruvkaMatchesBaselines() {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(false, true);
+            Random random = new Random(23);
+            int size = 20_000;
+            for (int i = 0; i < size; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < size * 3; i++) {
+                // Coarse weights produce plenty of ties
+                graph.addEdge(random.nextInt(size), random.nextInt(size), random.nextInt(50));
+            }
+            MinimumSpanningForest<Integer> mst = new MinimumSpanningForest<>(graph);
+
+            SpanningForest<Integer> boruvka = mst.boruvka();
+            SpanningForest<Integer> kruskal = mst.kruskal();
+            SpanningForest<Integer> prim = mst.prim();
+
+            assertThat(boruvka.getTotalWeight()).isEqualTo(kruskal.getTotalWeight());
+            assertThat(prim.getTotalWeight()).isEqualTo(kruskal.getTotalWeight());
+            assertThat(boruvka.getEdgeCount()).isEqualTo(kruskal.getEdgeCount());
+            assertThat(keys(boruvka)).isEqualTo(keys(kruskal));
+        }
+
+        // With ties broken by endpoints the forest is unique
+        private Set<Long> keys(SpanningForest<Integer> forest) {
+            Set<Long> keys = new HashSet<>();
+            for (int i = 0; i < forest.getEdgeCount(); i++) {
+                int low = Math.min(forest.getSources()[i], forest.getTargets()[i]);
+                int high = Math.max(forest.getSources()[i], forest.getTargets()[i]);
+                keys.add(((long) low << 32) | high);
+            }
+            return keys;
+        }
+    }
+}
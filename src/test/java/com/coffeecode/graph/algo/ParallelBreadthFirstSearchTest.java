@@ -0,0 +1,122 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+
+class ParallelBreadthFirstSearchTest {
+
+    @Nested
+    class SmallGraphs {
+
+        @Test
+        void whenSearchingDirectedGraph_thenReturnsHopDistances() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, false);
+            for (String node : new String[]{"A", "B", "C", "D", "E"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("B", "C", 1.0);
+            graph.addEdge("A", "C", 1.0);
+            graph.addEdge("C", "D", 1.0);
+            graph.addEdge("E", "A", 1.0);
+
+            BreadthFirstResult<String> result = new ParallelBreadthFirstSearch<>(graph.freeze()).search("A");
+
+            assertThat(result.getDistance("A")).isZero();
+            assertThat(result.getDistance("C")).isEqualTo(1);
+            assertThat(result.getDistance("D")).isEqualTo(2);
+            assertThat(result.getParent("D")).isEqualTo("C");
+            assertThat(result.getParent("A")).isNull();
+            assertThat(result.isReachable("E")).isFalse();
+            assertThat(result.getReachedCount()).isEqualTo(4);
+        }
+
+        @Test
+        void whenSearchingMatrixGraph_thenReturnsHopDistances() {
+            AdjacencyMatrixGraph<Integer> matrix = new AdjacencyMatrixGraph<>(false, false);
+            for (int i = 0; i < 6; i++) {
+                matrix.addNode(i);
+            }
+            for (int i = 1; i < 6; i++) {
+                matrix.addEdge(i - 1, i, 1.0);
+            }
+
+            BreadthFirstResult<Integer> result = new ParallelBreadthFirstSearch<>(matrix).search(3);
+
+            assertThat(result.getDistance(0)).isEqualTo(3);
+            assertThat(result.getDistance(5)).isEqualTo(2);
+        }
+
+        @Test
+        void whenSourceUnknown_thenNothingIsReached() {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, false);
+            graph.addNode("A");
+
+            BreadthFirstResult<String> result = new ParallelBreadthFirstSearch<>(graph).search("X");
+
+            assertThat(result.getReachedCount()).isZero();
+            assertThat(result.isReachable("A")).isFalse();
+        }
+    }
+
+    @Nested
+    class LargeGraphs {
+
+        @Test
+        void whenFrontierGetsLarge_thenMatchesSequentialSearch() {
+            for (boolean directed : new boolean[]{true, false}) {
+                AdjacencyListGraph<Integer> graph = randomGraph(20_000, 8, directed);
+                CompressedSparseRowGraph<Integer> csr = graph.freeze();
+
+                BreadthFirstResult<Integer> result = new ParallelBreadthFirstSearch<>(csr).search(0);
+                int[] expected = sequentialDistances(csr, 0);
+
+                assertThat(result.getDistances()).containsExactly(expected);
+                int[] parents = result.getParents();
+                for (int node = 0; node < csr.getNodeCount(); node++) {
+                    if (expected[node] > 0) {
+                        assertThat(expected[parents[node]]).isEqualTo(expected[node] - 1);
+                        assertThat(csr.findEdge(parents[node], node)).isNotNegative();
+                    }
+                }
+            }
+        }
+
+        private AdjacencyListGraph<Integer> randomGraph(int size, int degree, boolean directed) {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(directed, false);
+            Random random = new Random(11);
+            for (int i = 0; i < size; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < size * degree; i++) {
+                graph.addEdge(random.nextInt(size), random.nextInt(size), 1.0);
+            }
+            return graph;
+        }
+
+        private int[] sequentialDistances(CompressedSparseRowGraph<Integer> csr, int source) {
+            int[] distances = new int[csr.getNodeCount()];
+            Arrays.fill(distances, BreadthFirstResult.UNREACHED);
+            int start = csr.indexOf(source);
+            distances[start] = 0;
+            Deque<Integer> queue = new ArrayDeque<>(List.of(start));
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int e = csr.edgeStart(node); e < csr.edgeEnd(node); e++) {
+                    int target = csr.edgeTarget(e);
+                    if (distances[target] == BreadthFirstResult.UNREACHED) {
+                        distances[target] = distances[node] + 1;
+                        queue.add(target);
+                    }
+                }
+            }
+            return distances;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.coffeecode.graph.algo;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.ConcurrentAdjacencyListGraph;
+
+class ShortestPathCacheTest {
+
+    private AdjacencyListGraph<String> graph;
+    private DijkstraShortestPath<String> dijkstra;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>(true, true);
+        for (String node : new String[]{"A", "B", "C", "D"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 4.0);
+        graph.addEdge("B", "C", 4.0);
+        graph.addEdge("A", "D", 1.0);
+        dijkstra = new DijkstraShortestPath<>(graph);
+    }
+
+    @Nested
+    class Lookups {
+
+        @Test
+        void whenQueryingSamePairTwice_thenSecondQueryHits() {
+            ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 100);
+
+            PathResult<String> first = cache.findPath(dijkstra, "A", "C");
+            PathResult<String> second = cache.findPath(dijkstra, "A", "C");
+
+            assertThat(second).isSameAs(first);
+            assertThat(cache.getHitCount()).isEqualTo(1);
+            assertThat(cache.getMissCount()).isEqualTo(1);
+            assertThat(cache.getHitRate()).isEqualTo(0.5);
+        }
+
+        @Test
+        void whenGraphChanges_thenEntryIsRecomputed() {
+            ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 100);
+            assertThat(cache.findPath(dijkstra, "A", "C").getTotalCost()).isEqualTo(8.0);
+
+            graph.addEdge("D", "C", 1.0);
+
+            PathResult<String> result = cache.findPath(dijkstra, "A", "C");
+            assertThat(result.getPath()).containsExactly("A", "D", "C");
+            assertThat(result.getTotalCost()).isEqualTo(2.0);
+            assertThat(cache.getHitCount()).isZero();
+
+            graph.removeNode("D");
+            assertThat(cache.findPath(dijkstra, "A", "C").getTotalCost()).isEqualTo(8.0);
+        }
+
+        @Test
+        void whenAlgorithmsDiffer_thenResultsAreCachedSeparately() {
+            ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 100);
+            AStarShortestPath<String> astar = new AStarShortestPath<>(graph, (node, target) -> 0.0);
+
+            cache.findPath(dijkstra, "A", "C");
+            cache.findPath(astar, "A", "C");
+
+            assertThat(cache.getMissCount()).isEqualTo(2);
+            assertThat(cache.size()).isEqualTo(2);
+        }
+
+        @Test
+        void whenCallerPassesWorkspace_thenMissRunsInIt() {
+            ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 100);
+            ShortestPathWorkspace workspace = dijkstra.newWorkspace();
+
+            PathResult<String> first = cache.findPath(dijkstra, "A", "C", workspace);
+            int expanded = workspace.getExpandedNodeCount();
+            PathResult<String> second = cache.findPath(dijkstra, "A", "C");
+
+            assertThat(expanded).isPositive();
+            assertThat(second).isSameAs(first);
+            assertThat(cache.getHitCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenCacheIsFull_thenLeastRecentlyUsedIsEvicted() {
+            ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 2, 1);
+
+            cache.findPath(dijkstra, "A", "B");
+            cache.findPath(dijkstra, "A", "C");
+            cache.findPath(dijkstra, "A", "B");
+            cache.findPath(dijkstra, "A", "D");
+            cache.findPath(dijkstra, "A", "B");
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.getEvictionCount()).isEqualTo(1);
+            assertThat(cache.getHitCount()).isEqualTo(2);
+
+            cache.invalidateAll();
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    class ConcurrentLookups {
+
+        @Test
+        void whenManyThreadsQuery_thenResultsMatchDirectSearch() throws Exception {
+            ConcurrentAdjacencyListGraph<Integer> grid = new ConcurrentAdjacencyListGraph<>(false, true);
+            Random random = new Random(41);
+            for (int i = 0; i < 400; i++) {
+                grid.addNode(i);
+            }
+            for (int i = 0; i < 2_000; i++) {
+                grid.addEdge(random.nextInt(400), random.nextInt(400), 1 + random.nextInt(9));
+            }
+            DijkstraShortestPath<Integer> search = new DijkstraShortestPath<>(grid);
+            ShortestPathCache<Integer> cache = new ShortestPathCache<>(grid, 64);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        Random local = new Random(seed);
+                        ShortestPathWorkspace workspace = search.newWorkspace();
+                        for (int i = 0; i < 500; i++) {
+                            // Few distinct pairs, so every thread sees repeats
+                            int source = local.nextInt(6);
+                            int target = local.nextInt(6);
+                            PathResult<Integer> result = seed % 2 == 0
+                                    ? cache.findPath(search, source, target)
+                                    : cache.findPath(search, source, target, workspace);
+                            assertThat(result.getTotalCost())
+                                    .isEqualTo(search.distance(source, target, workspace));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(2_000);
+            assertThat(cache.getHitCount()).isPositive();
+            assertThat(cache.size()).isLessThanOrEqualTo(64);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.coffeecode.graph.base;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+class GraphCoreTest {
+
+    /**
+     * Minimal directed graph that relies on the default batch operations.
+     */
+    private static class MinimalGraph implements GraphCore<String> {
+
+        final Map<String, Map<String, Double>> edges = new LinkedHashMap<>();
+
+        @Override
+        public boolean addNode(String node) {
+            return node != null && edges.putIfAbsent(node, new LinkedHashMap<>()) == null;
+        }
+
+        @Override
+        public boolean removeNode(String node) {
+            return edges.remove(node) != null;
+        }
+
+        @Override
+        public boolean addEdge(String source, String target, double weight) {
+            if (!edges.containsKey(source) || !edges.containsKey(target)) {
+                return false;
+            }
+            edges.get(source).put(target, weight);
+            return true;
+        }
+
+        @Override
+        public boolean removeEdge(String source, String target) {
+            return edges.containsKey(source) && edges.get(source).remove(target) != null;
+        }
+    }
+
+    private MinimalGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new MinimalGraph();
+    }
+
+    @Nested
+    class DefaultBatchOperations {
+
+        @Test
+        void whenAddingNodes_thenCountsOnlyNewNodes() {
+            graph.addNode("A");
+
+            assertThat(graph.addNodes(List.of("A", "B", "C"))).isEqualTo(2);
+            assertThat(graph.edges).containsOnlyKeys("A", "B", "C");
+        }
+
+        @Test
+        void whenAddingEdgeRecords_thenMissingEndpointsAreSkipped() {
+            graph.addNodes(List.of("A", "B"));
+
+            int added = graph.addEdges(List.of(new Edge<>("A", "B", 1.0), new Edge<>("A", "X", 2.0)));
+
+            assertThat(added).isEqualTo(1);
+            assertThat(graph.edges.get("A")).containsExactly(Map.entry("B", 1.0));
+        }
+
+        @Test
+        void whenAddingEdgeBatch_thenMissingEndpointsAreSkipped() {
+            graph.addNodes(List.of("A", "B"));
+            EdgeBatch<String> batch = new EdgeBatch<>(2);
+            batch.add("A", "B", 1.0);
+            batch.add("B", "X", 2.0);
+            batch.add("B", "A", 3.0);
+
+            assertThat(graph.addEdges(batch)).isEqualTo(2);
+            assertThat(graph.edges.get("B")).containsExactly(Map.entry("A", 3.0));
+        }
+
+        @Test
+        void whenAddingEdgeBatchWithNodes_thenEndpointsAreAdded() {
+            EdgeBatch<String> batch = new EdgeBatch<>(2);
+            batch.add("A", "B", 1.0);
+            batch.add("B", "C", 2.0);
+            batch.add("C", null, 3.0);
+
+            assertThat(graph.addEdgesWithNodes(batch)).isEqualTo(2);
+            assertThat(graph.edges).containsOnlyKeys("A", "B", "C");
+            assertThat(graph.edges.get("B")).containsExactly(Map.entry("C", 2.0));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.coffeecode.graph.base;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+
+class GraphListenerTest {
+
+    private AdjacencyListGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>(true, true);
+    }
+
+    // Every kind of event, in order
+    private void mutate() {
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("A", "C", 3.0);
+        graph.addEdge("A", "B", 2.0);
+        graph.removeEdge("A", "C");
+        graph.removeNode("B");
+        graph.addEdge("C", "A", 4.0);
+        graph.clear();
+    }
+
+    @Nested
+    class DefaultCallbacks {
+
+        @Test
+        void whenOnlyEdgeAddedIsOverridden_thenReceivesExactlyTheAddedEdges() {
+            List<String> events = new ArrayList<>();
+            graph.addGraphListener(new GraphListener<>() {
+                @Override
+                public void edgeAdded(String source, String target, double weight) {
+                    events.add(source + "->" + target + ":" + weight);
+                }
+            });
+
+            mutate();
+
+            assertThat(events).containsExactly("A->B:1.0", "A->C:3.0", "C->A:4.0");
+        }
+
+        @Test
+        void whenOnlyWeightChangeIsOverridden_thenReceivesNoOtherEvents() {
+            List<String> events = new ArrayList<>();
+            graph.addGraphListener(new GraphListener<>() {
+                @Override
+                public void edgeWeightChanged(String source, String target, double oldWeight, double newWeight) {
+                    events.add(source + "->" + target + ":" + oldWeight + "->" + newWeight);
+                }
+            });
+
+            mutate();
+
+            assertThat(events).containsExactly("A->B:1.0->2.0");
+        }
+
+        @Test
+        void whenListenerOverridesNothing_thenLaterListenersStillSeeEveryEvent() {
+            List<String> events = new ArrayList<>();
+            graph.addGraphListener(new GraphListener<>() {
+            });
+            graph.addGraphListener(new GraphListener<>() {
+                @Override
+                public void nodeRemoved(String node) {
+                    events.add("-" + node);
+                }
+
+                @Override
+                public void graphCleared() {
+                    events.add("clear");
+                }
+            });
+
+            mutate();
+
+            assertThat(events).containsExactly("-B", "clear");
+            assertThat(graph.getNodes()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.coffeecode.graph.base;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+class GraphQueryTest {
+
+    /**
+     * Minimal directed graph that relies on the default neighbor iteration.
+     */
+    private static class MinimalGraph implements GraphQuery<String> {
+
+        final Map<String, Map<String, Double>> edges = new LinkedHashMap<>();
+
+        @Override
+        public boolean containsNode(String node) {
+            return edges.containsKey(node);
+        }
+
+        @Override
+        public boolean containsEdge(String source, String target) {
+            return containsNode(source) && edges.get(source).containsKey(target);
+        }
+
+        @Override
+        public double getEdgeWeight(String source, String target) {
+            return containsEdge(source, target) ? edges.get(source).get(target) : Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public Iterable<String> getNodes() {
+            return edges.keySet();
+        }
+
+        @Override
+        public Iterable<String> getNeighbors(String node) {
+            return containsNode(node) ? edges.get(node).keySet() : Set.of();
+        }
+
+        @Override
+        public Iterable<String> getPredecessors(String node) {
+            return edges.keySet().stream().filter(source -> containsEdge(source, node)).toList();
+        }
+
+        @Override
+        public int getInDegree(String node) {
+            return (int) edges.values().stream().filter(targets -> targets.containsKey(node)).count();
+        }
+
+        @Override
+        public int getOutDegree(String node) {
+            return containsNode(node) ? edges.get(node).size() : 0;
+        }
+    }
+
+    @Nested
+    class DefaultNeighborIteration {
+
+        @Test
+        void whenIteratingNeighbors_thenWeightsAreLookedUp() {
+            MinimalGraph graph = new MinimalGraph();
+            graph.edges.put("A", new LinkedHashMap<>(Map.of("B", 2.0)));
+            graph.edges.get("A").put("C", 3.5);
+            graph.edges.put("B", new LinkedHashMap<>());
+            graph.edges.put("C", new LinkedHashMap<>());
+            Map<String, Double> visited = new LinkedHashMap<>();
+
+            graph.forEachNeighbor("A", visited::put);
+
+            assertThat(visited).containsExactly(Map.entry("B", 2.0), Map.entry("C", 3.5));
+        }
+
+        @Test
+        void whenNodeHasNoNeighbors_thenActionIsNotCalled() {
+            MinimalGraph graph = new MinimalGraph();
+            graph.edges.put("A", new LinkedHashMap<>());
+
+            graph.forEachNeighbor("A", (neighbor, weight) -> fail("Unexpected neighbor " + neighbor));
+            graph.forEachNeighbor("X", (neighbor, weight) -> fail("Unexpected neighbor " + neighbor));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.coffeecode.graph.base;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+class NodeInternerTest {
+
+    private NodeInterner<String> interner;
+
+    @BeforeEach
+    void setUp() {
+        interner = new NodeInterner<>();
+    }
+
+    @Nested
+    class Indexing {
+
+        @Test
+        void whenAddingNodes_thenIndicesAreDense() {
+            assertThat(interner.add("A")).isZero();
+            assertThat(interner.add("B")).isEqualTo(1);
+            assertThat(interner.add("A")).isEqualTo(-1);
+            assertThat(interner.add(null)).isEqualTo(-1);
+
+            assertThat(interner.indexOf("B")).isEqualTo(1);
+            assertThat(interner.indexOf("X")).isEqualTo(-1);
+            assertThat(interner.nodeAt(0)).isEqualTo("A");
+            assertThat(interner.nodeAt(5)).isNull();
+            assertThat(interner.size()).isEqualTo(2);
+        }
+
+        @Test
+        void whenInterning_thenExistingIndexIsReturnedOrNodeIsAdded() {
+            interner.add("A");
+
+            assertThat(interner.intern("A")).isZero();
+            assertThat(interner.size()).isEqualTo(1);
+            assertThat(interner.intern("B")).isEqualTo(1);
+            assertThat(interner.size()).isEqualTo(2);
+            assertThat(interner.intern(null)).isEqualTo(-1);
+        }
+
+        @Test
+        void whenNodeRemoved_thenIndexIsReused() {
+            interner.add("A");
+            interner.add("B");
+            interner.add("C");
+
+            assertThat(interner.remove("B")).isEqualTo(1);
+            assertThat(interner.remove("B")).isEqualTo(-1);
+            assertThat(interner.nodeAt(1)).isNull();
+            assertThat(interner.add("D")).isEqualTo(1);
+            assertThat(interner.getIndexBound()).isEqualTo(3);
+        }
+
+        @Test
+        void whenCleared_thenIndicesRestartAtZero() {
+            interner.add("A");
+            interner.add("B");
+            interner.clear();
+
+            assertThat(interner.size()).isZero();
+            assertThat(interner.getIndexBound()).isZero();
+            assertThat(interner.indexOf("A")).isEqualTo(-1);
+            assertThat(interner.add("B")).isZero();
+        }
+
+        @Test
+        void whenBuiltFromArray_thenIndicesMatchPositions() {
+            NodeInterner<String> fixed = NodeInterner.of(new Object[] {"C", "A", "B"});
+
+            assertThat(fixed.indexOf("C")).isZero();
+            assertThat(fixed.indexOf("B")).isEqualTo(2);
+            assertThat(fixed.nodes()).containsExactly("C", "A", "B");
+        }
+
+        @Test
+        void whenArrayHasDuplicateOrNull_thenOfThrows() {
+            assertThatThrownBy(() -> NodeInterner.of(new Object[] {"A", "B", "A"}))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> NodeInterner.of(new Object[] {"A", null}))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class NodesView {
+
+        @Test
+        void whenIterating_thenFollowsInsertionOrder() {
+            interner.add("A");
+            interner.add("B");
+            interner.add("C");
+            Set<String> nodes = interner.nodes();
+            interner.remove("B");
+
+            assertThat(nodes).containsExactly("A", "C");
+            assertThat(nodes.contains("B")).isFalse();
+            interner.add("D");
+            assertThat(nodes).containsExactly("A", "C", "D");
+            assertThatThrownBy(() -> nodes.add("X"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class RandomOperations {
+
+        @Test
+        void whenMixingAddsAndRemoves_thenMatchesHashMap() {
+            NodeInterner<Integer> ints = new NodeInterner<>(4);
+            Map<Integer, Integer> expected = new HashMap<>();
+            Random random = new Random(7);
+
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt(2_000);
+                if (random.nextInt(3) == 0) {
+                    Integer index = expected.remove(key);
+                    assertThat(ints.remove(key)).isEqualTo(index == null ? -1 : index);
+                } else if (!expected.containsKey(key)) {
+                    int index = ints.add(key);
+                    assertThat(expected).doesNotContainValue(index);
+                    expected.put(key, index);
+                }
+            }
+
+            assertThat(ints.size()).isEqualTo(expected.size());
+            expected.forEach((key, index) -> {
+                assertThat(ints.indexOf(key)).isEqualTo(index);
+                assertThat(ints.nodeAt(index)).isEqualTo(key);
+            });
+        }
+    }
+}
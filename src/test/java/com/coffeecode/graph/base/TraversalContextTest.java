@@ -0,0 +1,150 @@
+package com.coffeecode.graph.base;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class TraversalContextTest {
+
+    private AdjacencyListGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyListGraph<>(true, true);
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 1.0);
+    }
+
+    @Nested
+    class Isolation {
+
+        @Test
+        void whenUsingTwoContexts_thenStateIsIndependent() {
+            TraversalContext<String> first = graph.newTraversalContext();
+            TraversalContext<String> second = graph.newTraversalContext();
+
+            first.setVisited("A", true);
+            first.setCost("A", 3.0);
+            first.setParent("B", "A");
+
+            assertThat(second.isVisited("A")).isFalse();
+            assertThat(second.getCost("A")).isEqualTo(Double.POSITIVE_INFINITY);
+            assertThat(second.getParent("B")).isNull();
+            assertThat(first.getParent("B")).isEqualTo("A");
+            assertThat(graph.isVisited("A")).isFalse();
+        }
+
+        @Test
+        void whenResetting_thenAllEntriesAreForgotten() {
+            TraversalContext<String> context = graph.newTraversalContext();
+            context.setVisited("A", true);
+            context.setCost("C", 1.0);
+
+            context.reset();
+
+            assertThat(context.isVisited("A")).isFalse();
+            assertThat(context.getCost("C")).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void whenUsingIndexAccess_thenMatchesNodeAccess() {
+            TraversalContext<String> context = graph.newTraversalContext();
+            int a = graph.indexOf("A");
+            int b = graph.indexOf("B");
+
+            context.setParentAt(b, a);
+            context.setCostAt(b, 2.0);
+
+            assertThat(context.getParent("B")).isEqualTo("A");
+            assertThat(context.getCost("B")).isEqualTo(2.0);
+            assertThat(context.getParentAt(a)).isEqualTo(TraversalContext.NO_PARENT);
+        }
+
+        @Test
+        void whenGraphGrowsAfterCreation_thenContextGrows() {
+            AdjacencyMatrixGraph<Integer> matrix = new AdjacencyMatrixGraph<>(false, true);
+            TraversalContext<Integer> context = matrix.newTraversalContext();
+            for (int i = 0; i < 100; i++) {
+                matrix.addNode(i);
+            }
+
+            context.setVisited(99, true);
+
+            assertThat(context.isVisited(99)).isTrue();
+            assertThat(context.isVisitedAt(matrix.indexOf(99))).isTrue();
+        }
+    }
+
+    @Nested
+    class SlotReuse {
+
+        @Test
+        void whenNodeIndexIsReused_thenBuiltInStateIsFresh() {
+            graph.setVisited("B", true);
+            int index = graph.indexOf("B");
+
+            graph.removeNode("B");
+            graph.addNode("D");
+
+            assertThat(graph.indexOf("D")).isEqualTo(index);
+            assertThat(graph.isVisited("D")).isFalse();
+            assertThat(graph.nodeAt(index)).isEqualTo("D");
+        }
+    }
+
+    @Nested
+    class ConcurrentSearches {
+
+        @Test
+        void whenSearchingInParallel_thenEachContextSeesItsOwnState() throws Exception {
+            AdjacencyListGraph<Integer> chain = new AdjacencyListGraph<>(true, true);
+            int size = 2000;
+            for (int i = 0; i < size; i++) {
+                chain.addNode(i);
+                if (i > 0) {
+                    chain.addEdge(i - 1, i, 1.0);
+                }
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Integer>> reached = new ArrayList<>();
+                for (int start = 0; start < 8; start++) {
+                    int source = start * 100;
+                    reached.add(executor.submit(() -> countReachable(chain, source)));
+                }
+                for (int start = 0; start < 8; start++) {
+                    assertThat(reached.get(start).get()).isEqualTo(size - start * 100);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        private int countReachable(AdjacencyListGraph<Integer> chain, int source) {
+            TraversalContext<Integer> context = chain.newTraversalContext();
+            Deque<Integer> stack = new ArrayDeque<>(List.of(source));
+            context.setVisited(source, true);
+            int count = 0;
+            while (!stack.isEmpty()) {
+                Integer node = stack.pop();
+                count++;
+                for (Integer next : chain.getNeighbors(node)) {
+                    if (!context.isVisited(next)) {
+                        context.setVisited(next, true);
+                        stack.push(next);
+                    }
+                }
+            }
+            return count;
+        }
+    }
+}
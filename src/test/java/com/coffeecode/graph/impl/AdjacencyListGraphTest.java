@@ -3,7 +3,11 @@ package com.coffeecode.graph.impl;
 import org.junit.jupiter.api.*;
 import static org.assertj.core.api.Assertions.*;
 
-import java.util.Random;
+import java.util.*;
+
+import com.coffeecode.graph.base.Edge;
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.IntGraph;
 
 import lombok.Data;
 
@@ -76,6 +80,76 @@ class AdjacencyListGraphTest {
             assertThat(directedGraph.removeEdge("A", "B")).isTrue();
             assertThat(directedGraph.containsEdge("A", "B")).isFalse();
         }
+
+        @Test
+        void whenIteratingNeighborsWithWeights_thenVisitsEveryEdge() {
+            undirectedGraph.addNode("A");
+            undirectedGraph.addNode("B");
+            undirectedGraph.addNode("C");
+            undirectedGraph.addEdge("A", "B", 2.0);
+            undirectedGraph.addEdge("C", "A", 3.0);
+            Map<String, Double> seen = new HashMap<>();
+
+            undirectedGraph.forEachNeighbor("A", seen::put);
+
+            assertThat(seen).containsExactlyInAnyOrderEntriesOf(Map.of("B", 2.0, "C", 3.0));
+        }
+    }
+
+    @Nested
+    class PredecessorOperations {
+
+        @BeforeEach
+        void setUpPredecessors() {
+            for (String node : new String[]{"A", "B", "C"}) {
+                directedGraph.addNode(node);
+                undirectedGraph.addNode(node);
+            }
+        }
+
+        @Test
+        void whenAddingDirectedEdges_thenPredecessorsAreIndexed() {
+            directedGraph.addEdge("A", "C", 1.0);
+            directedGraph.addEdge("B", "C", 1.0);
+
+            assertThat(directedGraph.getPredecessors("C")).containsExactlyInAnyOrder("A", "B");
+            assertThat(directedGraph.getPredecessors("A")).isEmpty();
+            assertThat(directedGraph.getInDegree("C")).isEqualTo(2);
+            assertThat(directedGraph.getOutDegree("C")).isZero();
+        }
+
+        @Test
+        void whenRemovingEdge_thenPredecessorIsRemoved() {
+            directedGraph.addEdge("A", "C", 1.0);
+            directedGraph.removeEdge("A", "C");
+
+            assertThat(directedGraph.getPredecessors("C")).isEmpty();
+        }
+
+        @Test
+        void whenRemovingNode_thenIncidentEdgesInBothDirectionsAreRemoved() {
+            directedGraph.addEdge("A", "B", 1.0);
+            directedGraph.addEdge("B", "C", 1.0);
+            directedGraph.addEdge("B", "B", 1.0);
+
+            directedGraph.removeNode("B");
+
+            assertThat(directedGraph.getNeighbors("A")).isEmpty();
+            assertThat(directedGraph.getPredecessors("C")).isEmpty();
+            assertThat(directedGraph.getEdgeCount()).isZero();
+        }
+
+        @Test
+        void whenUndirected_thenPredecessorsAreNeighbors() {
+            undirectedGraph.addEdge("A", "B", 1.0);
+            undirectedGraph.addEdge("C", "A", 1.0);
+
+            assertThat(undirectedGraph.getPredecessors("A")).containsExactlyInAnyOrder("B", "C");
+            assertThat(undirectedGraph.getInDegree("A")).isEqualTo(2);
+
+            undirectedGraph.removeNode("A");
+            assertThat(undirectedGraph.getNeighbors("B")).isEmpty();
+        }
     }
 
     @Nested
@@ -165,6 +239,243 @@ class AdjacencyListGraphTest {
         }
     }
 
+    @Nested
+    class BatchOperations {
+
+        @Test
+        void whenAddingNodesInBatch_thenDuplicatesAndNullsAreSkipped() {
+            directedGraph.addNode("A");
+
+            int added = directedGraph.addNodes(Arrays.asList("A", "B", null, "C", "B"));
+
+            assertThat(added).isEqualTo(2);
+            assertThat(directedGraph.getNodeCount()).isEqualTo(3);
+        }
+
+        @Test
+        void whenAddingEdgeBatch_thenMissingEndpointsAreSkipped() {
+            undirectedGraph.addNodes(List.of("A", "B", "C"));
+            EdgeBatch<String> batch = new EdgeBatch<>(1);
+            batch.add("A", "B", 1.0);
+            batch.add("B", "C", 2.0);
+            batch.add("C", "X", 3.0);
+            batch.add("B", "A", 4.0);
+
+            assertThat(undirectedGraph.addEdges(batch)).isEqualTo(3);
+            assertThat(undirectedGraph.getEdgeCount()).isEqualTo(2);
+            assertThat(undirectedGraph.getEdgeWeight("A", "B")).isEqualTo(4.0);
+        }
+
+        @Test
+        void whenAddingEdgeBatchWithNodes_thenEndpointsAreAddedOnce() {
+            directedGraph.addNode("A");
+            RecordingListener<String> listener = new RecordingListener<>();
+            directedGraph.addGraphListener(listener);
+            EdgeBatch<String> batch = new EdgeBatch<>(2);
+            batch.add("A", "B", 1.0);
+            batch.add("B", "C", 2.0);
+            batch.add("C", null, 3.0);
+
+            assertThat(directedGraph.addEdgesWithNodes(batch)).isEqualTo(2);
+            assertThat(directedGraph.getNodes()).containsExactly("A", "B", "C");
+            assertThat(directedGraph.getPredecessors("C")).containsExactly("B");
+            assertThat(listener.events).containsExactly("+B", "+A>B:1.0", "+C", "+B>C:2.0");
+        }
+
+        @Test
+        void whenAddingEdgeRecords_thenPredecessorsAreMaintained() {
+            directedGraph.addNodes(List.of("A", "B"));
+
+            int added = directedGraph.addEdges(List.of(
+                    new Edge<>("A", "B", 1.0),
+                    new Edge<>("B", "B", 1.0)));
+
+            assertThat(added).isEqualTo(2);
+            assertThat(directedGraph.getPredecessors("B")).containsExactlyInAnyOrder("A", "B");
+        }
+    }
+
+    @Nested
+    class ModificationVersion {
+
+        @Test
+        void whenGraphChanges_thenVersionIncreases() {
+            long version = directedGraph.getModificationVersion();
+            directedGraph.addNode("A");
+            directedGraph.addNode("B");
+            directedGraph.addEdge("A", "B", 1.0);
+            assertThat(directedGraph.getModificationVersion()).isGreaterThan(version);
+
+            version = directedGraph.getModificationVersion();
+            directedGraph.addNode("A");
+            directedGraph.removeEdge("B", "A");
+            directedGraph.getNeighbors("A");
+            assertThat(directedGraph.getModificationVersion()).isEqualTo(version);
+
+            directedGraph.removeEdge("A", "B");
+            assertThat(directedGraph.getModificationVersion()).isGreaterThan(version);
+            version = directedGraph.getModificationVersion();
+            directedGraph.clear();
+            assertThat(directedGraph.getModificationVersion()).isGreaterThan(version);
+        }
+    }
+
+    @Nested
+    class Listeners {
+
+        @Test
+        void whenGraphChanges_thenListenerReceivesEvents() {
+            RecordingListener<String> listener = new RecordingListener<>();
+            undirectedGraph.addGraphListener(listener);
+
+            undirectedGraph.addNodes(List.of("A", "B", "C"));
+            undirectedGraph.addNode("A");
+            undirectedGraph.addEdge("A", "B", 1.0);
+            undirectedGraph.addEdge("B", "A", 2.0);
+            undirectedGraph.addEdge("B", "A", 2.0);
+            undirectedGraph.addEdge("A", "X", 1.0);
+            undirectedGraph.removeEdge("A", "B");
+            undirectedGraph.removeNode("C");
+            undirectedGraph.clear();
+
+            assertThat(listener.events).containsExactly(
+                    "+A", "+B", "+C", "+A>B:1.0", "~B>A:1.0>2.0", "-A>B", "-C", "clear");
+        }
+
+        @Test
+        void whenListenerRemoved_thenReceivesNoEvents() {
+            RecordingListener<String> listener = new RecordingListener<>();
+            directedGraph.addGraphListener(listener);
+
+            assertThat(directedGraph.removeGraphListener(listener)).isTrue();
+            assertThat(directedGraph.removeGraphListener(listener)).isFalse();
+            directedGraph.addNode("A");
+
+            assertThat(listener.events).isEmpty();
+        }
+    }
+
+    @Nested
+    class IntView {
+
+        @Test
+        void whenAddingEdgesByIndex_thenGraphAndListenersSeeThem() {
+            undirectedGraph.addNodes(List.of("A", "B", "C"));
+            RecordingListener<String> listener = new RecordingListener<>();
+            undirectedGraph.addGraphListener(listener);
+            IntGraph ints = undirectedGraph.asIntGraph();
+            int a = undirectedGraph.indexOf("A");
+            int c = undirectedGraph.indexOf("C");
+
+            assertThat(ints.addEdge(a, c, 2.5)).isTrue();
+            assertThat(ints.addEdge(a, 9, 1.0)).isFalse();
+
+            assertThat(undirectedGraph.getEdgeWeight("C", "A")).isEqualTo(2.5);
+            assertThat(ints.getEdgeWeight(c, a)).isEqualTo(2.5);
+            assertThat(ints.getOutDegree(a)).isEqualTo(1);
+            assertThat(listener.events).containsExactly("+A>C:2.5");
+
+            assertThat(ints.removeEdge(c, a)).isTrue();
+            assertThat(undirectedGraph.containsEdge("A", "C")).isFalse();
+            assertThat(listener.events).containsExactly("+A>C:2.5", "-C>A");
+        }
+
+        @Test
+        void whenNodeRemoved_thenIndexIsReusedAndViewIsConsistent() {
+            directedGraph.addNodes(List.of("A", "B", "C"));
+            directedGraph.addEdge("A", "B", 1.0);
+            directedGraph.addEdge("C", "B", 2.0);
+            int b = directedGraph.indexOf("B");
+            IntGraph ints = directedGraph.asIntGraph();
+
+            directedGraph.removeNode("B");
+            assertThat(ints.containsNode(b)).isFalse();
+            assertThat(ints.getOutDegree(directedGraph.indexOf("A"))).isZero();
+
+            directedGraph.addNode("D");
+            assertThat(directedGraph.indexOf("D")).isEqualTo(b);
+            assertThat(directedGraph.getNodes()).containsExactly("A", "C", "D");
+
+            Map<Integer, Double> seen = new HashMap<>();
+            ints.addEdge(directedGraph.indexOf("C"), b, 4.0);
+            ints.forEachNeighbor(directedGraph.indexOf("C"), seen::put);
+            assertThat(seen).containsExactly(Map.entry(b, 4.0));
+            assertThat(directedGraph.getPredecessors("D")).containsExactly("C");
+        }
+    }
+
+    @Nested
+    class EdgeCounting {
+
+        private AdjacencyListGraph<String> directed;
+        private AdjacencyListGraph<String> undirected;
+
+        @BeforeEach
+        void setUpCounting() {
+            directed = new AdjacencyListGraph<>(true, true);
+            undirected = new AdjacencyListGraph<>(false, true);
+            for (String node : new String[]{"A", "B", "C"}) {
+                directed.addNode(node);
+                undirected.addNode(node);
+            }
+        }
+
+        @Test
+        void whenOverwritingEdge_thenCountIsUnchanged() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("A", "B", 2.0);
+            undirected.addEdge("A", "B", 1.0);
+            undirected.addEdge("B", "A", 2.0);
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(undirected.getEdgeCount()).isEqualTo(1);
+            assertThat(undirected.getEdgeWeight("A", "B")).isEqualTo(2.0);
+        }
+
+        @Test
+        void whenRemovingNode_thenIncidentEdgesAreSubtracted() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("B", "C", 1.0);
+            directed.addEdge("C", "B", 1.0);
+            directed.addEdge("B", "B", 1.0);
+            directed.addEdge("A", "C", 1.0);
+
+            directed.removeNode("B");
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(directed.getOutDegree("A")).isEqualTo(1);
+            assertThat(directed.getInDegree("C")).isEqualTo(1);
+            assertThat(directed.getOutDegree("C")).isZero();
+        }
+
+        @Test
+        void whenUndirectedGraphHasSelfLoop_thenEdgesCountOnce() {
+            undirected.addEdge("A", "A", 1.0);
+            undirected.addEdge("A", "B", 1.0);
+
+            assertThat(undirected.getEdgeCount()).isEqualTo(2);
+            assertThat(undirected.getOutDegree("A")).isEqualTo(2);
+            assertThat(undirected.getInDegree("B")).isEqualTo(1);
+
+            undirected.removeNode("A");
+            assertThat(undirected.getEdgeCount()).isZero();
+            assertThat(undirected.getOutDegree("B")).isZero();
+        }
+
+        @Test
+        void whenRemovingEdgeAndClearing_thenCountsFollow() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("B", "A", 1.0);
+            directed.removeEdge("A", "B");
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(directed.getInDegree("B")).isZero();
+
+            directed.clear();
+            assertThat(directed.getEdgeCount()).isZero();
+        }
+    }
+
     @Nested
     class PerformanceTests {
 
@@ -2,7 +2,10 @@ package com.coffeecode.graph.impl;
 
 import org.junit.jupiter.api.*;
 import static org.assertj.core.api.Assertions.*;
-import java.util.Random;
+import java.util.*;
+
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.base.IntGraph;
 
 class AdjacencyMatrixGraphTest {
 
@@ -116,6 +119,37 @@ class AdjacencyMatrixGraphTest {
         }
     }
 
+    @Nested
+    class BatchOperations {
+
+        @Test
+        void whenAddingEdgeBatchWithNodes_thenEndpointsAreAdded() {
+            graph.addNode("A");
+            EdgeBatch<String> batch = new EdgeBatch<>(2);
+            batch.add("A", "B", 1.0);
+            batch.add("B", "A", 2.0);
+            batch.add("B", "A", 3.0);
+
+            assertThat(graph.addEdgesWithNodes(batch)).isEqualTo(3);
+            assertThat(graph.getNodeCount()).isEqualTo(2);
+            assertThat(graph.getEdgeCount()).isEqualTo(2);
+            assertThat(graph.getEdgeWeight("B", "A")).isEqualTo(3.0);
+        }
+
+        @Test
+        void whenBatchOutgrowsCapacity_thenMatrixGrows() {
+            AdjacencyMatrixGraph<Integer> small = new AdjacencyMatrixGraph<>(true, false, 2);
+            EdgeBatch<Integer> batch = new EdgeBatch<>(8);
+            for (int i = 0; i < 20; i++) {
+                batch.add(i, i + 1, 1.0);
+            }
+
+            assertThat(small.addEdgesWithNodes(batch)).isEqualTo(20);
+            assertThat(small.getNodeCount()).isEqualTo(21);
+            assertThat(small.containsEdge(19, 20)).isTrue();
+        }
+    }
+
     @Nested
     class RemovalOperations {
 
@@ -140,6 +174,76 @@ class AdjacencyMatrixGraphTest {
         }
     }
 
+    @Nested
+    class PredecessorOperations {
+
+        @Test
+        void whenQueryingPredecessors_thenColumnIsScanned() {
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addNode("C");
+            graph.addEdge("A", "C", 1.0);
+            graph.addEdge("B", "C", 1.0);
+
+            assertThat(graph.getPredecessors("C")).containsExactlyInAnyOrder("A", "B");
+            assertThat(graph.getInDegree("C")).isEqualTo(2);
+            assertThat(graph.getOutDegree("A")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class StorageGrowth {
+
+        @Test
+        void whenGrowingBeyondCapacity_thenEdgesArePreserved() {
+            AdjacencyMatrixGraph<Integer> small = new AdjacencyMatrixGraph<>(true, true, 2);
+            for (int i = 0; i < 50; i++) {
+                small.addNode(i);
+                if (i > 0) {
+                    small.addEdge(i - 1, i, i);
+                }
+            }
+
+            assertThat(small.getNodeCount()).isEqualTo(50);
+            assertThat(small.getEdgeCount()).isEqualTo(49);
+            for (int i = 1; i < 50; i++) {
+                assertThat(small.getEdgeWeight(i - 1, i)).isEqualTo(i);
+            }
+        }
+
+        @Test
+        void whenReusingRemovedSlot_thenNewNodeHasNoEdges() {
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addNode("C");
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("B", "C", 1.0);
+            graph.addEdge("C", "B", 1.0);
+
+            graph.removeNode("B");
+            graph.addNode("D");
+
+            assertThat(graph.getNeighbors("A")).isEmpty();
+            assertThat(graph.getNeighbors("C")).isEmpty();
+            assertThat(graph.getNeighbors("D")).isEmpty();
+            assertThat(graph.getEdgeCount()).isZero();
+            assertThat(graph.getNodes()).containsExactly("A", "C", "D");
+        }
+
+        @Test
+        void whenRemovingNode_thenOtherIndicesAreStable() {
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addNode("C");
+            graph.addEdge("C", "A", 3.0);
+
+            graph.removeNode("B");
+
+            assertThat(graph.getEdgeWeight("C", "A")).isEqualTo(3.0);
+            assertThat(graph.getNeighbors("C")).containsExactly("A");
+        }
+    }
+
     @Nested
     class TraversalOperations {
 
@@ -185,6 +289,269 @@ class AdjacencyMatrixGraphTest {
         }
     }
 
+    @Nested
+    class ModificationVersion {
+
+        @Test
+        void whenGraphChanges_thenVersionIncreases() {
+            graph.addNode("A");
+            graph.addNode("B");
+            long version = graph.getModificationVersion();
+
+            graph.addEdge("A", "B", 1.0);
+            assertThat(graph.getModificationVersion()).isGreaterThan(version);
+
+            version = graph.getModificationVersion();
+            graph.removeEdge("B", "A");
+            graph.containsEdge("A", "B");
+            assertThat(graph.getModificationVersion()).isEqualTo(version);
+
+            graph.removeNode("A");
+            assertThat(graph.getModificationVersion()).isGreaterThan(version);
+        }
+    }
+
+    @Nested
+    class Listeners {
+
+        @Test
+        void whenGraphChanges_thenListenerReceivesEvents() {
+            RecordingListener<String> listener = new RecordingListener<>();
+            graph.addGraphListener(listener);
+
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", 1.0);
+            graph.addEdge("A", "B", 3.0);
+            graph.removeEdge("B", "A");
+            graph.removeEdge("A", "B");
+            graph.removeNode("B");
+            graph.clear();
+
+            assertThat(listener.events).containsExactly(
+                    "+A", "+B", "+A>B:1.0", "~A>B:1.0>3.0", "-A>B", "-B", "clear");
+        }
+
+        @Test
+        void whenUnweighted_thenEdgesAreReportedWithUnitWeight() {
+            AdjacencyMatrixGraph<String> unweighted = new AdjacencyMatrixGraph<>(false, false);
+            unweighted.addNode("A");
+            unweighted.addNode("B");
+            RecordingListener<String> listener = new RecordingListener<>();
+            unweighted.addGraphListener(listener);
+
+            unweighted.addEdge("A", "B", 5.0);
+            unweighted.addEdge("B", "A", 7.0);
+
+            assertThat(listener.events).containsExactly("+A>B:1.0");
+        }
+
+        @Test
+        void whenWeightIsNotFinite_thenEdgeIsRejectedWithoutEvents() {
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", 2.0);
+            RecordingListener<String> listener = new RecordingListener<>();
+            graph.addGraphListener(listener);
+            long version = graph.getModificationVersion();
+            EdgeBatch<String> batch = new EdgeBatch<>(2);
+            batch.add("B", "A", Double.NaN);
+            batch.add("A", "C", Double.POSITIVE_INFINITY);
+
+            assertThat(graph.addEdge("B", "A", Double.POSITIVE_INFINITY)).isFalse();
+            assertThat(graph.addEdge("A", "B", Double.NEGATIVE_INFINITY)).isFalse();
+            assertThat(graph.asIntGraph().addEdge(0, 1, Double.NaN)).isFalse();
+            assertThat(graph.addEdgesWithNodes(batch)).isZero();
+
+            assertThat(graph.getEdgeWeight("A", "B")).isEqualTo(2.0);
+            assertThat(graph.containsEdge("B", "A")).isFalse();
+            assertThat(graph.getEdgeCount()).isEqualTo(1);
+            assertThat(listener.events).containsExactly("+C");
+            assertThat(graph.getModificationVersion()).isEqualTo(version + 1);
+        }
+    }
+
+    @Nested
+    class IntView {
+
+        @Test
+        void whenAddingEdgesByIndex_thenGraphAndListenersSeeThem() {
+            graph.addNode("A");
+            graph.addNode("B");
+            RecordingListener<String> listener = new RecordingListener<>();
+            graph.addGraphListener(listener);
+            IntGraph ints = graph.asIntGraph();
+            int a = graph.indexOf("A");
+            int b = graph.indexOf("B");
+
+            assertThat(ints.addEdge(a, b, 3.0)).isTrue();
+            assertThat(ints.addEdge(a, 7, 1.0)).isFalse();
+            assertThat(graph.getEdgeWeight("A", "B")).isEqualTo(3.0);
+            assertThat(ints.containsEdge(b, a)).isFalse();
+            assertThat(ints.getOutDegree(a)).isEqualTo(1);
+
+            assertThat(ints.removeEdge(b, a)).isFalse();
+            assertThat(ints.removeEdge(a, b)).isTrue();
+            assertThat(graph.getEdgeCount()).isZero();
+            assertThat(listener.events).containsExactly("+A>B:3.0", "-A>B");
+        }
+
+        @Test
+        void whenSlotReused_thenViewSeesClearedRow() {
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addNode("C");
+            graph.addEdge("B", "C", 1.0);
+            int b = graph.indexOf("B");
+            graph.removeNode("B");
+            graph.addNode("D");
+            IntGraph ints = graph.asIntGraph();
+
+            assertThat(graph.indexOf("D")).isEqualTo(b);
+            assertThat(ints.getOutDegree(b)).isZero();
+            List<Integer> seen = new ArrayList<>();
+            ints.addEdge(b, graph.indexOf("A"), 2.0);
+            ints.forEachNeighbor(b, (node, weight) -> seen.add(node));
+            assertThat(seen).containsExactly(graph.indexOf("A"));
+            assertThat(graph.getNeighbors("D")).containsExactly("A");
+        }
+    }
+
+    @Nested
+    class EdgeCounting {
+
+        private AdjacencyMatrixGraph<String> directed;
+        private AdjacencyMatrixGraph<String> undirected;
+
+        @BeforeEach
+        void setUpCounting() {
+            directed = new AdjacencyMatrixGraph<>(true, true);
+            undirected = new AdjacencyMatrixGraph<>(false, true);
+            for (String node : new String[]{"A", "B", "C"}) {
+                directed.addNode(node);
+                undirected.addNode(node);
+            }
+        }
+
+        @Test
+        void whenOverwritingEdge_thenCountIsUnchanged() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("A", "B", 2.0);
+            undirected.addEdge("A", "B", 1.0);
+            undirected.addEdge("B", "A", 2.0);
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(undirected.getEdgeCount()).isEqualTo(1);
+            assertThat(undirected.getEdgeWeight("A", "B")).isEqualTo(2.0);
+        }
+
+        @Test
+        void whenRemovingNode_thenIncidentEdgesAreSubtracted() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("B", "C", 1.0);
+            directed.addEdge("C", "B", 1.0);
+            directed.addEdge("B", "B", 1.0);
+            directed.addEdge("A", "C", 1.0);
+
+            directed.removeNode("B");
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(directed.getOutDegree("A")).isEqualTo(1);
+            assertThat(directed.getInDegree("C")).isEqualTo(1);
+            assertThat(directed.getOutDegree("C")).isZero();
+        }
+
+        @Test
+        void whenUndirectedGraphHasSelfLoop_thenEdgesCountOnce() {
+            undirected.addEdge("A", "A", 1.0);
+            undirected.addEdge("A", "B", 1.0);
+
+            assertThat(undirected.getEdgeCount()).isEqualTo(2);
+            assertThat(undirected.getOutDegree("A")).isEqualTo(2);
+            assertThat(undirected.getInDegree("B")).isEqualTo(1);
+
+            undirected.removeNode("A");
+            assertThat(undirected.getEdgeCount()).isZero();
+            assertThat(undirected.getOutDegree("B")).isZero();
+        }
+
+        @Test
+        void whenRemovingEdgeAndClearing_thenCountsFollow() {
+            directed.addEdge("A", "B", 1.0);
+            directed.addEdge("B", "A", 1.0);
+            directed.removeEdge("A", "B");
+
+            assertThat(directed.getEdgeCount()).isEqualTo(1);
+            assertThat(directed.getInDegree("B")).isZero();
+
+            directed.clear();
+            assertThat(directed.getEdgeCount()).isZero();
+        }
+    }
+
+    @Nested
+    class BitStorage {
+
+        @Test
+        void whenGraphIsUnweighted_thenEdgesReadAsUnitWeight() {
+            AdjacencyMatrixGraph<String> unweighted = new AdjacencyMatrixGraph<>(true, false);
+            unweighted.addNode("A");
+            unweighted.addNode("B");
+            unweighted.addEdge("A", "B", 7.0);
+
+            assertThat(unweighted.getEdgeWeight("A", "B")).isEqualTo(1.0);
+            assertThat(unweighted.getEdgeWeight("B", "A")).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        void whenRowsSpanSeveralWords_thenMatchesWeightedStorage() {
+            for (boolean directed : new boolean[]{true, false}) {
+                AdjacencyMatrixGraph<Integer> bits = new AdjacencyMatrixGraph<>(directed, false, 4);
+                AdjacencyMatrixGraph<Integer> doubles = new AdjacencyMatrixGraph<>(directed, true, 4);
+                Random random = new Random(23);
+                for (int i = 0; i < 200; i++) {
+                    bits.addNode(i);
+                    doubles.addNode(i);
+                }
+                for (int i = 0; i < 3000; i++) {
+                    int source = random.nextInt(200);
+                    int target = random.nextInt(200);
+                    if (random.nextInt(5) == 0) {
+                        bits.removeEdge(source, target);
+                        doubles.removeEdge(source, target);
+                    } else {
+                        bits.addEdge(source, target, 1.0);
+                        doubles.addEdge(source, target, 1.0);
+                    }
+                }
+                bits.removeNode(130);
+                doubles.removeNode(130);
+
+                assertThat(bits.getEdgeCount()).isEqualTo(doubles.getEdgeCount());
+                for (int i = 0; i < 200; i++) {
+                    assertThat(bits.getNeighbors(i)).containsExactlyElementsOf(doubles.getNeighbors(i));
+                    assertThat(bits.getPredecessors(i)).containsExactlyElementsOf(doubles.getPredecessors(i));
+                    assertThat(bits.getOutDegree(i)).isEqualTo(doubles.getOutDegree(i));
+                    assertThat(bits.countCommonNeighbors(i, 199 - i))
+                            .isEqualTo(doubles.countCommonNeighbors(i, 199 - i));
+                }
+            }
+        }
+
+        @Test
+        void whenCopyingWeights_thenMissingCellsAreInfinite() {
+            AdjacencyMatrixGraph<String> unweighted = new AdjacencyMatrixGraph<>(false, false);
+            unweighted.addNode("A");
+            unweighted.addNode("B");
+            unweighted.addEdge("A", "B", 3.0);
+            double[] weights = new double[4];
+
+            unweighted.copyWeightsTo(weights, 2);
+
+            assertThat(weights).containsExactly(Double.POSITIVE_INFINITY, 1.0, 1.0, Double.POSITIVE_INFINITY);
+        }
+    }
+
     @Nested
     class PerformanceTests {
 
@@ -0,0 +1,165 @@
+package com.coffeecode.graph.impl;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.graph.base.IntGraphQuery;
+
+class CompressedSparseRowGraphTest {
+
+    private AdjacencyListGraph<String> directedGraph;
+    private AdjacencyListGraph<String> undirectedGraph;
+
+    @BeforeEach
+    void setUp() {
+        directedGraph = new AdjacencyListGraph<>(true, true);
+        undirectedGraph = new AdjacencyListGraph<>(false, true);
+        for (String node : new String[]{"A", "B", "C", "D"}) {
+            directedGraph.addNode(node);
+            undirectedGraph.addNode(node);
+        }
+    }
+
+    @Nested
+    class Freeze {
+
+        @Test
+        void whenFreezing_thenNodesAndEdgesAreCopied() {
+            directedGraph.addEdge("A", "B", 1.5);
+            directedGraph.addEdge("A", "C", 2.5);
+            directedGraph.addEdge("C", "D", 3.0);
+
+            CompressedSparseRowGraph<String> csr = directedGraph.freeze();
+
+            assertThat(csr.getNodeCount()).isEqualTo(4);
+            assertThat(csr.getEdgeCount()).isEqualTo(3);
+            assertThat(csr.getNodes()).containsExactlyInAnyOrder("A", "B", "C", "D");
+            assertThat(csr.getNeighbors("A")).containsExactlyInAnyOrder("B", "C");
+            assertThat(csr.getEdgeWeight("A", "C")).isEqualTo(2.5);
+            assertThat(csr.containsEdge("C", "D")).isTrue();
+            assertThat(csr.containsEdge("D", "C")).isFalse();
+            assertThat(csr.isDirected()).isTrue();
+        }
+
+        @Test
+        void whenGraphChangesAfterFreeze_thenSnapshotIsUnchanged() {
+            directedGraph.addEdge("A", "B", 1.0);
+            CompressedSparseRowGraph<String> csr = directedGraph.freeze();
+
+            directedGraph.removeEdge("A", "B");
+            directedGraph.addEdge("B", "C", 1.0);
+
+            assertThat(csr.containsEdge("A", "B")).isTrue();
+            assertThat(csr.containsEdge("B", "C")).isFalse();
+        }
+
+        @Test
+        void whenFreezingUndirectedGraph_thenEdgesAreCountedOnce() {
+            undirectedGraph.addEdge("A", "B", 1.0);
+            undirectedGraph.addEdge("B", "C", 1.0);
+            undirectedGraph.addEdge("D", "D", 1.0);
+
+            CompressedSparseRowGraph<String> csr = undirectedGraph.freeze();
+
+            assertThat(csr.getEdgeCount()).isEqualTo(3);
+            assertThat(csr.containsEdge("B", "A")).isTrue();
+        }
+
+        @Test
+        void whenQueryingUnknownNode_thenReturnsEmptyResults() {
+            CompressedSparseRowGraph<String> csr = directedGraph.freeze();
+
+            assertThat(csr.indexOf("X")).isEqualTo(-1);
+            assertThat(csr.getNeighbors("X")).isEmpty();
+            assertThat(csr.getEdgeWeight("X", "A")).isEqualTo(Double.POSITIVE_INFINITY);
+        }
+    }
+
+    @Nested
+    class IndexAccess {
+
+        @Test
+        void whenUsingIntView_thenMatchesEdgeArrays() {
+            directedGraph.addEdge("A", "C", 1.5);
+            directedGraph.addEdge("A", "B", 2.0);
+
+            CompressedSparseRowGraph<String> csr = directedGraph.freeze();
+            IntGraphQuery ints = csr.asIntGraph();
+            int a = csr.indexOf("A");
+            int c = csr.indexOf("C");
+
+            assertThat(ints.getIndexBound()).isEqualTo(csr.getNodeCount());
+            assertThat(ints.getOutDegree(a)).isEqualTo(2);
+            assertThat(ints.getEdgeWeight(a, c)).isEqualTo(1.5);
+            assertThat(ints.getEdgeWeight(c, a)).isEqualTo(Double.POSITIVE_INFINITY);
+            assertThat(ints.containsNode(-1)).isFalse();
+            List<Integer> seen = new ArrayList<>();
+            ints.forEachNeighbor(a, (node, weight) -> seen.add(node));
+            assertThat(seen).containsExactlyInAnyOrder(c, csr.indexOf("B"));
+        }
+
+        @Test
+        void whenIteratingRow_thenTargetsAreSortedAndMatchGraph() {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(true, true);
+            Random random = new Random(42);
+            for (int i = 0; i < 200; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < 200; i++) {
+                for (int j = 0; j < 40; j++) {
+                    graph.addEdge(i, random.nextInt(200), random.nextDouble());
+                }
+            }
+
+            CompressedSparseRowGraph<Integer> csr = graph.freeze();
+
+            assertThat(csr.getEdgeCount()).isEqualTo(graph.getEdgeCount());
+            for (int node = 0; node < csr.getNodeCount(); node++) {
+                Integer data = csr.nodeAt(node);
+                for (int e = csr.edgeStart(node); e < csr.edgeEnd(node); e++) {
+                    if (e > csr.edgeStart(node)) {
+                        assertThat(csr.edgeTarget(e)).isGreaterThan(csr.edgeTarget(e - 1));
+                    }
+                    Integer target = csr.nodeAt(csr.edgeTarget(e));
+                    assertThat(csr.edgeWeight(e)).isEqualTo(graph.getEdgeWeight(data, target));
+                    assertThat(csr.findEdge(node, csr.edgeTarget(e))).isEqualTo(e);
+                }
+            }
+        }
+
+        @Test
+        void whenFreezingDirectedGraph_thenIncomingEdgesAreIndexed() {
+            directedGraph.addEdge("A", "C", 1.0);
+            directedGraph.addEdge("B", "C", 2.0);
+            directedGraph.addEdge("C", "D", 3.0);
+
+            CompressedSparseRowGraph<String> csr = directedGraph.freeze();
+            int c = csr.indexOf("C");
+
+            assertThat(csr.getPredecessors("C")).containsExactlyInAnyOrder("A", "B");
+            assertThat(csr.getInDegree("C")).isEqualTo(2);
+            assertThat(csr.getOutDegree("C")).isEqualTo(1);
+            double inWeight = 0;
+            for (int e = csr.inEdgeStart(c); e < csr.inEdgeEnd(c); e++) {
+                inWeight += csr.inEdgeWeight(e);
+                assertThat(csr.containsEdge(csr.nodeAt(csr.inEdgeSource(e)), "C")).isTrue();
+            }
+            assertThat(inWeight).isEqualTo(3.0);
+        }
+
+        @Test
+        void whenCopyingMatrixGraph_thenEdgesArePreserved() {
+            AdjacencyMatrixGraph<String> matrix = new AdjacencyMatrixGraph<>(true, true);
+            matrix.addNode("A");
+            matrix.addNode("B");
+            matrix.addEdge("A", "B", 4.0);
+
+            CompressedSparseRowGraph<String> csr = CompressedSparseRowGraph.copyOf(matrix);
+
+            assertThat(csr.getEdgeWeight("A", "B")).isEqualTo(4.0);
+            assertThat(csr.getEdgeCount()).isEqualTo(1);
+        }
+    }
+}
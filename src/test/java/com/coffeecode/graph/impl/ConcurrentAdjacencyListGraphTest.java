@@ -0,0 +1,227 @@
+package com.coffeecode.graph.impl;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+class ConcurrentAdjacencyListGraphTest {
+
+    private ConcurrentAdjacencyListGraph<String> directedGraph;
+    private ConcurrentAdjacencyListGraph<String> undirectedGraph;
+
+    @BeforeEach
+    void setUp() {
+        directedGraph = new ConcurrentAdjacencyListGraph<>(true, true);
+        undirectedGraph = new ConcurrentAdjacencyListGraph<>(false, true);
+        for (String node : new String[]{"A", "B", "C"}) {
+            directedGraph.addNode(node);
+            undirectedGraph.addNode(node);
+        }
+    }
+
+    @Nested
+    class BasicOperations {
+
+        @Test
+        void whenAddingDuplicateOrNullNode_thenReturnsFalse() {
+            assertThat(directedGraph.addNode("A")).isFalse();
+            assertThat(directedGraph.addNode(null)).isFalse();
+            assertThat(directedGraph.getNodeCount()).isEqualTo(3);
+        }
+
+        @Test
+        void whenAddingEdgeToMissingNode_thenReturnsFalse() {
+            assertThat(directedGraph.addEdge("A", "X", 1.0)).isFalse();
+            assertThat(directedGraph.getEdgeCount()).isZero();
+        }
+
+        @Test
+        void whenAddingDirectedEdges_thenNeighborsAndPredecessorsExist() {
+            directedGraph.addEdge("A", "B", 2.0);
+            directedGraph.addEdge("C", "B", 1.0);
+
+            assertThat(directedGraph.getNeighbors("A")).containsExactly("B");
+            assertThat(directedGraph.getPredecessors("B")).containsExactlyInAnyOrder("A", "C");
+            assertThat(directedGraph.getEdgeWeight("A", "B")).isEqualTo(2.0);
+            assertThat(directedGraph.containsEdge("B", "A")).isFalse();
+            assertThat(directedGraph.getEdgeCount()).isEqualTo(2);
+        }
+
+        @Test
+        void whenAddingUndirectedEdge_thenBothDirectionsExist() {
+            undirectedGraph.addEdge("A", "B", 1.0);
+            undirectedGraph.addEdge("B", "A", 3.0);
+
+            assertThat(undirectedGraph.getEdgeWeight("A", "B")).isEqualTo(3.0);
+            assertThat(undirectedGraph.getEdgeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenRemovingNode_thenIncidentEdgesAreRemoved() {
+            directedGraph.addEdge("A", "B", 1.0);
+            directedGraph.addEdge("B", "C", 1.0);
+            directedGraph.addEdge("B", "B", 1.0);
+            directedGraph.addEdge("A", "C", 1.0);
+
+            assertThat(directedGraph.removeNode("B")).isTrue();
+
+            assertThat(directedGraph.getNeighbors("A")).containsExactly("C");
+            assertThat(directedGraph.getPredecessors("C")).containsExactly("A");
+            assertThat(directedGraph.getEdgeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenRemovingEdgeAndClearing_thenCountsFollow() {
+            undirectedGraph.addEdge("A", "B", 1.0);
+            undirectedGraph.addEdge("B", "C", 1.0);
+
+            assertThat(undirectedGraph.removeEdge("B", "A")).isTrue();
+            assertThat(undirectedGraph.removeEdge("B", "A")).isFalse();
+            assertThat(undirectedGraph.getEdgeCount()).isEqualTo(1);
+
+            undirectedGraph.clear();
+            assertThat(undirectedGraph.getNodeCount()).isZero();
+            assertThat(undirectedGraph.getEdgeCount()).isZero();
+        }
+
+        @Test
+        void whenGraphChanges_thenListenerReceivesEvents() {
+            RecordingListener<String> listener = new RecordingListener<>();
+            directedGraph.addGraphListener(listener);
+
+            directedGraph.addNode("D");
+            directedGraph.addEdge("A", "D", 1.0);
+            directedGraph.addEdge("A", "D", 2.0);
+            directedGraph.removeEdge("A", "D");
+            directedGraph.removeNode("D");
+            directedGraph.clear();
+
+            assertThat(listener.events).containsExactly(
+                    "+D", "+A>D:1.0", "~A>D:1.0>2.0", "-A>D", "-D", "clear");
+        }
+
+        @Test
+        void whenStripeCountGiven_thenRoundedUpToPowerOfTwo() {
+            assertThat(new ConcurrentAdjacencyListGraph<String>(true, true, 0).getStripeCount()).isEqualTo(1);
+            assertThat(new ConcurrentAdjacencyListGraph<String>(true, true, 1).getStripeCount()).isEqualTo(1);
+            assertThat(new ConcurrentAdjacencyListGraph<String>(true, true, 2).getStripeCount()).isEqualTo(2);
+            assertThat(new ConcurrentAdjacencyListGraph<String>(true, true, 5).getStripeCount()).isEqualTo(8);
+            assertThat(new ConcurrentAdjacencyListGraph<String>(true, true, 64).getStripeCount()).isEqualTo(64);
+        }
+
+        @Test
+        void whenSingleStripe_thenEdgesStillWork() {
+            ConcurrentAdjacencyListGraph<String> graph = new ConcurrentAdjacencyListGraph<>(false, true, 1);
+            graph.addNode("A");
+            graph.addNode("B");
+
+            assertThat(graph.addEdge("A", "B", 1.0)).isTrue();
+            assertThat(graph.containsEdge("B", "A")).isTrue();
+            assertThat(graph.removeNode("A")).isTrue();
+            assertThat(graph.getEdgeCount()).isZero();
+        }
+    }
+
+    @Nested
+    class ConcurrentOperations {
+
+        private static final int THREADS = 8;
+        private static final int NODES = 500;
+
+        @Test
+        void whenManyWritersIngestEdges_thenGraphIsConsistent() throws Exception {
+            ConcurrentAdjacencyListGraph<Integer> graph = new ConcurrentAdjacencyListGraph<>(false, true);
+            for (int i = 0; i < NODES; i++) {
+                graph.addNode(i);
+            }
+
+            runConcurrently(thread -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 20_000; i++) {
+                    int source = random.nextInt(NODES);
+                    int target = random.nextInt(NODES);
+                    if (random.nextInt(4) == 0) {
+                        graph.removeEdge(source, target);
+                    } else {
+                        graph.addEdge(source, target, thread);
+                    }
+                    graph.containsEdge(target, source);
+                    graph.getNeighbors(source).forEach(Objects::requireNonNull);
+                }
+            });
+
+            assertSymmetricAndCounted(graph);
+        }
+
+        @Test
+        void whenRemovingNodesWhileAddingEdges_thenNoDanglingEdgesRemain() throws Exception {
+            ConcurrentAdjacencyListGraph<Integer> graph = new ConcurrentAdjacencyListGraph<>(true, true);
+            for (int i = 0; i < NODES; i++) {
+                graph.addNode(i);
+            }
+
+            runConcurrently(thread -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 5_000; i++) {
+                    int node = random.nextInt(NODES);
+                    if (thread == 0 && i % 10 == 0) {
+                        graph.removeNode(node);
+                        graph.addNode(node);
+                    } else {
+                        graph.addEdge(node, random.nextInt(NODES), 1.0);
+                    }
+                }
+            });
+
+            int edges = 0;
+            for (Integer node : graph.getNodes()) {
+                for (Integer neighbor : graph.getNeighbors(node)) {
+                    assertThat(graph.containsNode(neighbor)).isTrue();
+                    assertThat(graph.getPredecessors(neighbor)).contains(node);
+                    edges++;
+                }
+            }
+            assertThat(graph.getEdgeCount()).isEqualTo(edges);
+        }
+
+        private void assertSymmetricAndCounted(ConcurrentAdjacencyListGraph<Integer> graph) {
+            int entries = 0;
+            int selfLoops = 0;
+            for (Integer node : graph.getNodes()) {
+                for (Integer neighbor : graph.getNeighbors(node)) {
+                    assertThat(graph.getEdgeWeight(neighbor, node))
+                            .isEqualTo(graph.getEdgeWeight(node, neighbor));
+                    entries++;
+                    if (node.equals(neighbor)) {
+                        selfLoops++;
+                    }
+                }
+            }
+            assertThat(graph.getEdgeCount()).isEqualTo((entries + selfLoops) / 2);
+        }
+
+        private void runConcurrently(ThreadTask task) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> task.run(thread)));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+
+        void run(int thread);
+    }
+}
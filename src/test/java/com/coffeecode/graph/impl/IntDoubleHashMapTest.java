@@ -0,0 +1,94 @@
+package com.coffeecode.graph.impl;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+class IntDoubleHashMapTest {
+
+    private IntDoubleHashMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new IntDoubleHashMap();
+    }
+
+    @Nested
+    class BasicOperations {
+
+        @Test
+        void whenPuttingAndReplacing_thenReturnsPreviousValue() {
+            assertThat(map.put(1, 1.5, -1.0)).isEqualTo(-1.0);
+            assertThat(map.put(1, 2.5, -1.0)).isEqualTo(1.5);
+
+            assertThat(map.size()).isEqualTo(1);
+            assertThat(map.getOrDefault(1, 0.0)).isEqualTo(2.5);
+            assertThat(map.getOrDefault(2, -1.0)).isEqualTo(-1.0);
+            assertThat(map.containsKey(-1)).isFalse();
+        }
+
+        @Test
+        void whenKeyIsNegative_thenPutThrows() {
+            assertThatThrownBy(() -> map.put(-1, 1.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void whenRemoving_thenKeyIsGone() {
+            map.put(1, 1.0);
+            map.put(2, 2.0);
+
+            assertThat(map.remove(1)).isTrue();
+            assertThat(map.remove(1)).isFalse();
+            assertThat(map.containsKey(1)).isFalse();
+            assertThat(map.keys()).containsExactly(2);
+        }
+
+        @Test
+        void whenIterating_thenVisitsEveryEntry() {
+            map.put(0, 1.0);
+            map.put(7, 2.0);
+            Map<Integer, Double> seen = new HashMap<>();
+
+            map.forEach(seen::put);
+
+            assertThat(seen).containsExactlyInAnyOrderEntriesOf(Map.of(0, 1.0, 7, 2.0));
+        }
+
+        @Test
+        void whenCleared_thenEmpty() {
+            map.put(3, 1.0);
+            map.clear();
+
+            assertThat(map.isEmpty()).isTrue();
+            assertThat(map.keys()).isEmpty();
+        }
+    }
+
+    @Nested
+    class Collisions {
+
+        @Test
+        void whenRandomlyMutated_thenMatchesHashMap() {
+            Map<Integer, Double> expected = new HashMap<>();
+            Random random = new Random(13);
+
+            for (int i = 0; i < 50_000; i++) {
+                // Multiples of 64 share low bits and build long probe runs without mixing
+                int key = random.nextInt(500) * 64;
+                if (random.nextInt(3) == 0) {
+                    assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+                } else {
+                    double value = random.nextDouble();
+                    Double previous = expected.put(key, value);
+                    assertThat(map.put(key, value, -1.0)).isEqualTo(previous == null ? -1.0 : previous);
+                }
+            }
+
+            assertThat(map.size()).isEqualTo(expected.size());
+            assertThat(map.keys()).containsExactlyInAnyOrder(expected.keySet().stream().mapToInt(Integer::intValue).toArray());
+            expected.forEach((key, value) -> assertThat(map.getOrDefault(key, -1.0)).isEqualTo(value));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.coffeecode.graph.impl;
+
+import java.util.*;
+
+import com.coffeecode.graph.base.GraphListener;
+
+/**
+ * Records graph events as short strings for assertions.
+ */
+class RecordingListener<T> implements GraphListener<T> {
+
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void nodeAdded(T node) {
+        events.add("+" + node);
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        events.add("-" + node);
+    }
+
+    @Override
+    public void edgeAdded(T source, T target, double weight) {
+        events.add("+" + source + ">" + target + ":" + weight);
+    }
+
+    @Override
+    public void edgeWeightChanged(T source, T target, double oldWeight, double newWeight) {
+        events.add("~" + source + ">" + target + ":" + oldWeight + ">" + newWeight);
+    }
+
+    @Override
+    public void edgeRemoved(T source, T target) {
+        events.add("-" + source + ">" + target);
+    }
+
+    @Override
+    public void graphCleared() {
+        events.add("clear");
+    }
+}
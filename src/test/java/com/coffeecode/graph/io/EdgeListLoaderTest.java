@@ -0,0 +1,103 @@
+package com.coffeecode.graph.io;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.*;
+import java.util.*;
+
+import com.coffeecode.exception.GraphValidationException;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.AdjacencyMatrixGraph;
+
+class EdgeListLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    class Parsing {
+
+        @Test
+        void whenLoadingCsv_thenNodesAndWeightedEdgesAreAdded() throws IOException {
+            String csv = """
+                    source,target,weight
+                    # depots
+                    A, B, 2.5
+
+                    B,C,1
+                    C,A
+                    """;
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, true);
+            EdgeListLoader<String> loader = EdgeListLoader.<String>builder()
+                    .nodeParser(String::valueOf)
+                    .skipHeader(true)
+                    .build();
+
+            long added = loader.load(new StringReader(csv), graph);
+
+            assertThat(added).isEqualTo(3);
+            assertThat(graph.getNodes()).containsExactlyInAnyOrder("A", "B", "C");
+            assertThat(graph.getEdgeWeight("A", "B")).isEqualTo(2.5);
+            assertThat(graph.getEdgeWeight("C", "A")).isEqualTo(1.0);
+        }
+
+        @Test
+        void whenUsingCustomDelimiterAndParser_thenLoadsIntoMatrixGraph() throws IOException {
+            AdjacencyMatrixGraph<Integer> graph = new AdjacencyMatrixGraph<>(false, true);
+            EdgeListLoader<Integer> loader = EdgeListLoader.<Integer>builder()
+                    .nodeParser(Integer::valueOf)
+                    .delimiter('\t')
+                    .build();
+
+            loader.load(new StringReader("1\t2\t0.5\n2\t3\t4\n"), graph);
+
+            assertThat(graph.getEdgeWeight(2, 1)).isEqualTo(0.5);
+            assertThat(graph.getEdgeCount()).isEqualTo(2);
+        }
+
+        @Test
+        void whenLineIsMalformed_thenThrowsWithLineNumber() {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(true, true);
+            EdgeListLoader<Integer> loader = EdgeListLoader.<Integer>builder()
+                    .nodeParser(Integer::valueOf)
+                    .build();
+
+            assertThatThrownBy(() -> loader.load(new StringReader("1,2\n3,x\n"), graph))
+                    .isInstanceOf(GraphValidationException.class)
+                    .hasMessageContaining("line 2");
+            assertThatThrownBy(() -> loader.load(new StringReader("1;2\n"), graph))
+                    .isInstanceOf(GraphValidationException.class);
+        }
+    }
+
+    @Nested
+    class Streaming {
+
+        @Test
+        void whenFileSpansManyBatches_thenAllEdgesAreLoaded() throws IOException {
+            Path file = directory.resolve("edges.csv");
+            Random random = new Random(31);
+            Set<String> expected = new HashSet<>();
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                int source = random.nextInt(500);
+                int target = random.nextInt(500);
+                lines.add(source + "," + target + "," + random.nextInt(10));
+                expected.add(source + ">" + target);
+            }
+            Files.write(file, lines);
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(true, true, 500);
+            EdgeListLoader<Integer> loader = EdgeListLoader.<Integer>builder()
+                    .nodeParser(Integer::valueOf)
+                    .batchSize(64)
+                    .build();
+
+            assertThat(loader.load(file, graph)).isEqualTo(5_000);
+            assertThat(graph.getEdgeCount()).isEqualTo(expected.size());
+        }
+    }
+}
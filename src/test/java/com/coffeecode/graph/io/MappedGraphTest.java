@@ -0,0 +1,191 @@
+package com.coffeecode.graph.io;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import com.coffeecode.graph.algo.DijkstraShortestPath;
+import com.coffeecode.graph.algo.ParallelBreadthFirstSearch;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.graph.impl.CompressedSparseRowGraph;
+import com.coffeecode.model.Location;
+
+class MappedGraphTest {
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    class RoundTrip {
+
+        @Test
+        void whenWritingDirectedGraph_thenMappedGraphAnswersSameQueries() throws IOException {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, true);
+            for (String node : new String[]{"A", "B", "C", "D"}) {
+                graph.addNode(node);
+            }
+            graph.addEdge("A", "B", 1.5);
+            graph.addEdge("A", "C", 2.0);
+            graph.addEdge("C", "B", 0.5);
+            graph.addEdge("D", "D", 3.0);
+            Path file = directory.resolve("directed.graph");
+
+            GraphFileWriter.write(graph, NodeCodec.strings(), file);
+            MappedGraph<String> mapped = MappedGraph.open(file, NodeCodec.strings());
+
+            assertThat(mapped.isDirected()).isTrue();
+            assertThat(mapped.isWeighted()).isTrue();
+            assertThat(mapped.getNodes()).containsExactlyInAnyOrder("A", "B", "C", "D");
+            assertThat(mapped.getEdgeCount()).isEqualTo(4);
+            assertThat(mapped.getNeighbors("A")).containsExactlyInAnyOrder("B", "C");
+            assertThat(mapped.getPredecessors("B")).containsExactlyInAnyOrder("A", "C");
+            assertThat(mapped.getEdgeWeight("C", "B")).isEqualTo(0.5);
+            assertThat(mapped.containsEdge("B", "A")).isFalse();
+            assertThat(mapped.getInDegree("D")).isEqualTo(1);
+            assertThat(mapped.getNeighbors("X")).isEmpty();
+        }
+
+        @Test
+        void whenWritingLargeUndirectedGraph_thenArraysMatchSnapshot() throws IOException {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(false, true);
+            Random random = new Random(29);
+            for (int i = 0; i < 2_000; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < 10_000; i++) {
+                graph.addEdge(random.nextInt(2_000), random.nextInt(2_000), random.nextDouble());
+            }
+            CompressedSparseRowGraph<Integer> csr = graph.freeze();
+            Path file = directory.resolve("undirected.graph");
+
+            GraphFileWriter.write(csr, NodeCodec.integers(), file);
+            MappedGraph<Integer> mapped = MappedGraph.open(file, NodeCodec.integers());
+
+            assertThat(mapped.getEdgeCount()).isEqualTo(csr.getEdgeCount());
+            for (int node = 0; node < csr.getNodeCount(); node++) {
+                assertThat(mapped.nodeAt(node)).isEqualTo(csr.nodeAt(node));
+                assertThat(mapped.edgeStart(node)).isEqualTo(csr.edgeStart(node));
+                assertThat(mapped.edgeEnd(node)).isEqualTo(csr.edgeEnd(node));
+                assertThat(mapped.inEdgeEnd(node)).isEqualTo(csr.inEdgeEnd(node));
+                for (int e = csr.edgeStart(node); e < csr.edgeEnd(node); e++) {
+                    assertThat(mapped.edgeTarget(e)).isEqualTo(csr.edgeTarget(e));
+                    assertThat(mapped.edgeWeight(e)).isEqualTo(csr.edgeWeight(e));
+                    assertThat(mapped.findEdge(node, csr.edgeTarget(e))).isEqualTo(e);
+                }
+            }
+        }
+
+        @Test
+        void whenWritingLocations_thenIdsNamesAndCoordinatesSurvive() throws IOException {
+            AdjacencyListGraph<Location> graph = new AdjacencyListGraph<>(false, true);
+            Location depot = new Location("Depot", 106.8, -6.2);
+            Location store = new Location("Store", 107.6, -6.9);
+            graph.addNode(depot);
+            graph.addNode(store);
+            graph.addEdge(depot, store, 116.0);
+            Path file = directory.resolve("locations.graph");
+
+            GraphFileWriter.write(graph, NodeCodec.locations(), file);
+            MappedGraph<Location> mapped = MappedGraph.open(file, NodeCodec.locations());
+
+            assertThat(mapped.containsNode(depot)).isTrue();
+            assertThat(mapped.getNeighbors(depot)).containsExactly(store);
+            assertThat(mapped.getEdgeWeight(depot, store)).isEqualTo(116.0);
+            Location loaded = mapped.nodeAt(0).equals(depot) ? mapped.nodeAt(0) : mapped.nodeAt(1);
+            assertThat(loaded.getName()).isEqualTo("Depot");
+            assertThat(loaded.isSameLocation(depot)).isTrue();
+            assertThat(new Location("Fresh", 0.0, 0.0).getId()).isGreaterThan(store.getId());
+        }
+
+        @Test
+        void whenWritingLongs_thenNodesSurvive() throws IOException {
+            AdjacencyListGraph<Long> graph = new AdjacencyListGraph<>(true, true);
+            long large = Long.MAX_VALUE - 1;
+            graph.addNode(1L);
+            graph.addNode(large);
+            graph.addEdge(1L, large, 2.5);
+            graph.addEdge(large, 1L, 4.0);
+            Path file = directory.resolve("longs.graph");
+
+            GraphFileWriter.write(graph, NodeCodec.longs(), file);
+            MappedGraph<Long> mapped = MappedGraph.open(file, NodeCodec.longs());
+
+            assertThat(mapped.getNodes()).containsExactlyInAnyOrder(1L, large);
+            assertThat(mapped.getEdgeWeight(1L, large)).isEqualTo(2.5);
+            assertThat(mapped.getNeighbors(large)).containsExactly(1L);
+        }
+
+        @Test
+        void whenGraphIsEmpty_thenRoundTripsWithoutNodes() throws IOException {
+            Path file = directory.resolve("empty.graph");
+
+            GraphFileWriter.write(new AdjacencyListGraph<String>(true, false), NodeCodec.strings(), file);
+
+            assertThat(MappedGraph.open(file, NodeCodec.strings()).getNodeCount()).isZero();
+        }
+    }
+
+    @Nested
+    class Algorithms {
+
+        @Test
+        void whenSearchingMappedGraph_thenMatchesSnapshot() throws IOException {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>(true, true);
+            Random random = new Random(31);
+            for (int i = 0; i < 500; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < 2_500; i++) {
+                graph.addEdge(random.nextInt(500), random.nextInt(500), 1 + random.nextInt(10));
+            }
+            CompressedSparseRowGraph<Integer> csr = graph.freeze();
+            Path file = directory.resolve("search.graph");
+            GraphFileWriter.write(csr, NodeCodec.integers(), file);
+            MappedGraph<Integer> mapped = MappedGraph.open(file, NodeCodec.integers());
+
+            DijkstraShortestPath<Integer> onHeap = new DijkstraShortestPath<>(csr);
+            DijkstraShortestPath<Integer> onFile = new DijkstraShortestPath<>(mapped);
+            int[] hops = new ParallelBreadthFirstSearch<>(csr).search(0).getDistances();
+            int[] mappedHops = new ParallelBreadthFirstSearch<>(mapped).search(0).getDistances();
+
+            assertThat(mappedHops).isEqualTo(hops);
+            for (int target = 0; target < 500; target += 7) {
+                assertThat(onFile.findPath(0, target)).isEqualTo(onHeap.findPath(0, target));
+            }
+        }
+    }
+
+    @Nested
+    class InvalidFiles {
+
+        @Test
+        void whenFileIsNotAGraph_thenThrows() throws IOException {
+            Path file = directory.resolve("garbage.graph");
+            Files.write(file, new byte[128]);
+
+            assertThatThrownBy(() -> MappedGraph.open(file, NodeCodec.strings()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Not a graph file");
+        }
+
+        @Test
+        void whenFileIsTruncated_thenThrows() throws IOException {
+            AdjacencyListGraph<String> graph = new AdjacencyListGraph<>(true, true);
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", 1.0);
+            Path file = directory.resolve("truncated.graph");
+            GraphFileWriter.write(graph, NodeCodec.strings(), file);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+            assertThatThrownBy(() -> MappedGraph.open(file, NodeCodec.strings()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Truncated");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.coffeecode.graph.metrics;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.coffeecode.graph.base.Edge;
+import com.coffeecode.graph.base.EdgeBatch;
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+
+class MeteredGraphTest {
+
+    private MetricsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Nested
+    class Recording {
+
+        @Test
+        void whenCallingOperations_thenCountsAreRecordedPerOperation() {
+            MeteredTraversableGraph<String> graph = new MeteredTraversableGraph<>(
+                    new AdjacencyListGraph<>(true, true), registry, "roads");
+            graph.addNode("A");
+            graph.addNode("B");
+            graph.addEdge("A", "B", 1.0);
+            graph.containsEdge("A", "B");
+            graph.containsEdge("B", "A");
+            graph.getNeighbors("A");
+            graph.setVisited("A", true);
+
+            SortedMap<String, HistogramSnapshot> snapshot = registry.snapshot();
+
+            assertThat(snapshot.get("roads.add_node").getCount()).isEqualTo(2);
+            assertThat(snapshot.get("roads.add_edge").getCount()).isEqualTo(1);
+            assertThat(snapshot.get("roads.contains_edge").getCount()).isEqualTo(2);
+            assertThat(snapshot.get("roads.get_neighbors").getCount()).isEqualTo(1);
+            assertThat(snapshot.get("roads.set_visited").getCount()).isEqualTo(1);
+            assertThat(snapshot.get("roads.remove_node").getCount()).isZero();
+            assertThat(graph.isVisited("A")).isTrue();
+            assertThat(graph.getEdgeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void whenResettingRegistry_thenCountsStartOver() {
+            MeteredGraph<String> graph = new MeteredGraph<>(new AdjacencyListGraph<>(false, false), registry, "g");
+            graph.addNode("A");
+
+            registry.reset();
+
+            assertThat(registry.snapshot().get("g.add_node").getCount()).isZero();
+        }
+
+        @Test
+        void whenRecordingFromManyThreads_thenNoCountIsLost() throws Exception {
+            LatencyHistogram histogram = registry.histogram("concurrent");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 10_000; i++) {
+                            histogram.record(i);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            HistogramSnapshot snapshot = histogram.snapshot();
+            assertThat(snapshot.getCount()).isEqualTo(40_000);
+            assertThat(snapshot.getMaxNanos()).isEqualTo(9_999);
+        }
+    }
+
+    @Nested
+    class Delegation {
+
+        private AdjacencyListGraph<String> target;
+        private MeteredTraversableGraph<String> graph;
+
+        @BeforeEach
+        void setUp() {
+            target = new AdjacencyListGraph<>(true, true);
+            graph = new MeteredTraversableGraph<>(target, registry, "g");
+        }
+
+        @Test
+        void whenCallingEveryOperation_thenResultsMatchAndEachIsCountedOnce() {
+            assertThat(graph.addNode("A")).isTrue();
+            assertThat(graph.addNodes(List.of("B", "C", "D"))).isEqualTo(3);
+            assertThat(graph.addEdge("A", "B", 2.0)).isTrue();
+            assertThat(graph.addEdges(List.of(new Edge<>("B", "C", 3.0)))).isEqualTo(1);
+            EdgeBatch<String> batch = new EdgeBatch<>(1);
+            batch.add("C", "D", 4.0);
+            assertThat(graph.addEdges(batch)).isEqualTo(1);
+            batch.clear();
+            batch.add("D", "A", 5.0);
+            assertThat(graph.addEdgesWithNodes(batch)).isEqualTo(1);
+
+            assertThat(graph.containsNode("A")).isTrue();
+            assertThat(graph.containsEdge("A", "B")).isTrue();
+            assertThat(graph.getEdgeWeight("B", "C")).isEqualTo(3.0);
+            assertThat(graph.getNodes()).containsExactly("A", "B", "C", "D");
+            assertThat(graph.getNeighbors("A")).containsExactly("B");
+            Map<String, Double> neighbors = new HashMap<>();
+            graph.forEachNeighbor("C", neighbors::put);
+            assertThat(neighbors).containsExactly(Map.entry("D", 4.0));
+            assertThat(graph.getPredecessors("C")).containsExactly("B");
+            assertThat(graph.getInDegree("B")).isEqualTo(1);
+            assertThat(graph.getOutDegree("B")).isEqualTo(1);
+
+            graph.setVisited("A", true);
+            assertThat(graph.isVisited("A")).isTrue();
+            graph.setParent("B", "A");
+            assertThat(graph.getParent("B")).isEqualTo("A");
+            graph.setCost("B", 2.0);
+            assertThat(graph.getCost("B")).isEqualTo(2.0);
+            graph.resetTraversalState();
+            assertThat(target.isVisited("A")).isFalse();
+
+            assertThat(graph.removeEdge("A", "B")).isTrue();
+            assertThat(graph.removeNode("D")).isTrue();
+            assertThat(graph.getNodeCount()).isEqualTo(3);
+            assertThat(graph.getEdgeCount()).isEqualTo(1);
+            assertThat(graph.isDirected()).isTrue();
+            assertThat(graph.isWeighted()).isTrue();
+            assertThat(graph.getModificationVersion()).isEqualTo(target.getModificationVersion());
+            assertThat(graph.getDelegate()).isSameAs(target);
+            graph.clear();
+            assertThat(target.getNodeCount()).isZero();
+
+            SortedMap<String, HistogramSnapshot> snapshot = registry.snapshot();
+            for (GraphOperation operation : GraphOperation.values()) {
+                long expected = operation == GraphOperation.ADD_EDGES ? 3 : 1;
+                assertThat(snapshot.get("g." + operation.metricName()).getCount())
+                        .as(operation.name())
+                        .isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void whenDelegateThrows_thenCallIsStillRecorded() {
+            MeteredGraph<String> failing = new MeteredGraph<>(target, registry, "f");
+
+            assertThatThrownBy(() -> failing.addNodes(null)).isInstanceOf(NullPointerException.class);
+
+            assertThat(registry.snapshot().get("f.add_nodes").getCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class HistogramBuckets {
+
+        @Test
+        void whenMappingValues_thenBucketsBoundTheValue() {
+            Random random = new Random(37);
+            for (int i = 0; i < 10_000; i++) {
+                long value = random.nextInt(64) < 32 ? random.nextInt(1000) : random.nextLong() >>> 20;
+                int bucket = LatencyHistogram.bucketOf(value);
+                assertThat(LatencyHistogram.bucketUpperBound(bucket)).isGreaterThanOrEqualTo(value);
+                if (bucket > 0) {
+                    assertThat(LatencyHistogram.bucketUpperBound(bucket - 1)).isLessThan(value);
+                }
+            }
+            assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE >>> 18)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+        }
+
+        @Test
+        void whenQueryingPercentiles_thenRelativeErrorIsSmall() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 1; i <= 1000; i++) {
+                histogram.record(i * 1000L);
+            }
+
+            HistogramSnapshot snapshot = histogram.snapshot();
+
+            assertThat(snapshot.getPercentileNanos(50)).isCloseTo(500_000L, withinPercentage(7));
+            assertThat(snapshot.getPercentileNanos(99)).isCloseTo(990_000L, withinPercentage(7));
+            assertThat(snapshot.getPercentileNanos(100)).isEqualTo(1_000_000L);
+            assertThat(snapshot.getMeanNanos()).isEqualTo(500_500.0);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.coffeecode.graph.spatial;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.graph.impl.AdjacencyListGraph;
+import com.coffeecode.model.Location;
+
+class LocationIndexTest {
+
+    private List<Location> locations;
+    private LocationIndex<Location> index;
+
+    @BeforeEach
+    void setUp() {
+        // Scattered around Jakarta, roughly 50 km across
+        Random random = new Random(17);
+        locations = new ArrayList<>();
+        index = new LocationIndex<>(0.5);
+        for (int i = 0; i < 2_000; i++) {
+            Location location = new Location("L" + i,
+                    106.6 + random.nextDouble() * 0.5, -6.4 + random.nextDouble() * 0.5);
+            locations.add(location);
+            index.add(location);
+        }
+    }
+
+    @Nested
+    class Queries {
+
+        @Test
+        void whenQueryingNearest_thenMatchesLinearScan() {
+            Random random = new Random(3);
+            for (int i = 0; i < 200; i++) {
+                Location query = randomQuery(random);
+
+                Location nearest = index.nearest(query.getLatitude(), query.getLongitude());
+
+                assertThat(query.haversineDistanceTo(nearest))
+                        .isCloseTo(query.haversineDistanceTo(bruteForce(query, 1).get(0)), within(1e-9));
+            }
+        }
+
+        @Test
+        void whenQueryingKNearest_thenReturnsClosestFirst() {
+            Random random = new Random(4);
+            for (int i = 0; i < 50; i++) {
+                Location query = randomQuery(random);
+
+                List<Location> result = index.kNearest(query.getLatitude(), query.getLongitude(), 10);
+
+                assertThat(result).hasSize(10);
+                List<Location> expected = bruteForce(query, 10);
+                for (int k = 0; k < 10; k++) {
+                    assertThat(query.haversineDistanceTo(result.get(k)))
+                            .isCloseTo(query.haversineDistanceTo(expected.get(k)), within(1e-9));
+                }
+            }
+        }
+
+        @Test
+        void whenQueryingWithinRadius_thenMatchesLinearScan() {
+            Location query = new Location("Q", 106.85, -6.15);
+
+            List<Location> result = index.withinRadius(query.getLatitude(), query.getLongitude(), 3.0);
+
+            assertThat(result).isNotEmpty().containsExactlyInAnyOrderElementsOf(
+                    locations.stream().filter(l -> query.haversineDistanceTo(l) <= 3.0).toList());
+        }
+
+        @Test
+        void whenQueryIsFarAway_thenStillFindsNearest() {
+            // Other side of the globe, beyond any shell worth scanning
+            Location query = new Location("Q", -73.9, 40.7);
+
+            Location nearest = index.nearest(query.getLatitude(), query.getLongitude());
+
+            assertThat(query.haversineDistanceTo(nearest))
+                    .isCloseTo(query.haversineDistanceTo(bruteForce(query, 1).get(0)), within(1e-9));
+            assertThat(index.withinRadius(query.getLatitude(), query.getLongitude(), 25_000.0))
+                    .hasSize(locations.size());
+        }
+
+        @Test
+        void whenLocationsStraddleAntimeridian_thenNearestCrossesIt() {
+            LocationIndex<Location> pacific = new LocationIndex<>();
+            Location east = new Location("East", 179.99, 0.0);
+            Location west = new Location("West", -179.95, 0.0);
+            pacific.add(east);
+            pacific.add(west);
+
+            assertThat(pacific.nearest(0.0, -179.999)).isEqualTo(east);
+        }
+
+        @Test
+        void whenIndexEmpty_thenReturnsNothing() {
+            LocationIndex<Location> empty = new LocationIndex<>();
+
+            assertThat(empty.nearest(0.0, 0.0)).isNull();
+            assertThat(empty.kNearest(0.0, 0.0, 3)).isEmpty();
+            assertThat(empty.withinRadius(0.0, 0.0, 100.0)).isEmpty();
+        }
+
+        @Test
+        void whenKExceedsSize_thenReturnsEveryLocation() {
+            List<Location> result = index.kNearest(-6.15, 106.85, Integer.MAX_VALUE);
+
+            assertThat(result).hasSize(locations.size()).containsExactlyInAnyOrderElementsOf(locations);
+        }
+
+        @Test
+        void whenKNotPositive_thenThrows() {
+            assertThatThrownBy(() -> index.kNearest(0.0, 0.0, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> index.kNearest(0.0, 0.0, -1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void whenCellSizeTooSmall_thenThrows() {
+            assertThatThrownBy(() -> new LocationIndex<Location>(0.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Updates {
+
+        @Test
+        void whenLocationRemoved_thenNoLongerReturned() {
+            Location target = locations.get(0);
+
+            assertThat(index.add(target)).isFalse();
+            assertThat(index.remove(target)).isTrue();
+            assertThat(index.remove(target)).isFalse();
+
+            assertThat(index.nearest(target.getLatitude(), target.getLongitude())).isNotEqualTo(target);
+            assertThat(index.size()).isEqualTo(locations.size() - 1);
+        }
+
+        @Test
+        void whenAttachedToGraph_thenFollowsNodeChanges() {
+            AdjacencyListGraph<Location> graph = new AdjacencyListGraph<>(false, true);
+            Location monas = new Location("Monas", 106.8272, -6.1754);
+            Location kota = new Location("Kota", 106.8133, -6.1352);
+            graph.addNode(monas);
+
+            LocationIndex<Location> attached = LocationIndex.attach(graph);
+            graph.addNode(kota);
+
+            assertThat(attached.size()).isEqualTo(2);
+            assertThat(attached.nearest(-6.14, 106.81)).isEqualTo(kota);
+
+            graph.removeNode(kota);
+            assertThat(attached.nearest(-6.14, 106.81)).isEqualTo(monas);
+
+            graph.clear();
+            assertThat(attached.size()).isZero();
+        }
+    }
+
+    private Location randomQuery(Random random) {
+        return new Location("Q", 106.5 + random.nextDouble() * 0.7, -6.5 + random.nextDouble() * 0.7);
+    }
+
+    private List<Location> bruteForce(Location query, int k) {
+        return locations.stream()
+                .sorted(Comparator.comparingDouble(query::haversineDistanceTo))
+                .limit(k)
+                .toList();
+    }
+}
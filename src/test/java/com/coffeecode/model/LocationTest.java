@@ -0,0 +1,92 @@
+package com.coffeecode.model;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+class LocationTest {
+
+    // One degree of arc on a sphere of mean Earth radius
+    private static final double DEGREE_KM = Location.EARTH_RADIUS_KM * Math.PI / 180;
+
+    @Nested
+    class Distances {
+
+        @Test
+        void whenMeasuringHaversine_thenMatchesReferenceArcs() {
+            Location origin = new Location("Origin", 0.0, 0.0);
+
+            assertThat(origin.haversineDistanceTo(new Location("East", 1.0, 0.0)))
+                    .isCloseTo(111.195, within(1e-3));
+            assertThat(origin.haversineDistanceTo(new Location("Pole", 0.0, 90.0)))
+                    .isCloseTo(10_007.557, within(1e-3));
+            assertThat(origin.haversineDistanceTo(new Location("Antipode", 180.0, 0.0)))
+                    .isCloseTo(20_015.114, within(1e-3));
+        }
+
+        @Test
+        void whenMeasuringJakartaToBandung_thenMatchesReference() {
+            Location jakarta = new Location("Jakarta", 106.8456, -6.2088);
+            Location bandung = new Location("Bandung", 107.6191, -6.9175);
+
+            assertThat(jakarta.haversineDistanceTo(bandung)).isCloseTo(116.237, within(1e-3));
+            assertThat(jakarta.equirectangularDistanceTo(bandung)).isCloseTo(116.237, within(1e-2));
+        }
+
+        @Test
+        void whenMeasuringEquirectangularAlongEquator_thenIsExact() {
+            Location origin = new Location("Origin", 0.0, 0.0);
+
+            assertThat(origin.equirectangularDistanceTo(new Location("East", 1.0, 0.0)))
+                    .isCloseTo(DEGREE_KM, within(1e-9));
+            assertThat(origin.equirectangularDistanceTo(new Location("North", 0.0, 1.0)))
+                    .isCloseTo(DEGREE_KM, within(1e-9));
+        }
+
+        @Test
+        void whenCrossingAntimeridian_thenTakesShortWay() {
+            Location east = new Location("East", 179.5, 0.0);
+            Location west = new Location("West", -179.5, 0.0);
+
+            assertThat(east.equirectangularDistanceTo(west)).isCloseTo(DEGREE_KM, within(1e-9));
+            assertThat(west.equirectangularDistanceTo(east)).isCloseTo(DEGREE_KM, within(1e-9));
+            assertThat(east.haversineDistanceTo(west)).isCloseTo(DEGREE_KM, within(1e-9));
+        }
+
+        @Test
+        void whenMeasuringPlanar_thenReturnsDegrees() {
+            assertThat(new Location("A", 1.0, 1.0).distanceTo(new Location("B", 4.0, 5.0))).isEqualTo(5.0);
+        }
+    }
+
+    @Nested
+    class Identity {
+
+        @Test
+        void whenComparing_thenOnlyIdsMatter() {
+            Location location = new Location("Depot", 106.8, -6.2);
+            Location twin = new Location("Depot", 106.8, -6.2);
+            Location restored = new Location(location.getId(), "Renamed", 0.0, 0.0);
+
+            assertThat(location).isEqualTo(location).isEqualTo(restored).isNotEqualTo(twin);
+            assertThat(location).hasSameHashCodeAs(restored);
+            assertThat(location.equals("Depot")).isFalse();
+            assertThat(new Location("Next", 0.0, 0.0).getId()).isGreaterThan(twin.getId());
+        }
+
+        @Test
+        void whenCheckingSameLocation_thenUsesCoordinateTolerance() {
+            Location location = new Location("Depot", 106.8, -6.2);
+
+            assertThat(location.isSameLocation(new Location("Near", 106.80005, -6.20005))).isTrue();
+            assertThat(location.isSameLocation(new Location("Far", 106.801, -6.2))).isFalse();
+            assertThat(location.isSameLocation(null)).isFalse();
+        }
+
+        @Test
+        void whenDisplayed_thenShowsNameAndCoordinates() {
+            Location location = new Location("Depot", 106.8, -6.2);
+
+            assertThat(location.getDisplayName()).isEqualTo(String.format("Depot (%.2f, %.2f)", -6.2, 106.8));
+        }
+    }
+}
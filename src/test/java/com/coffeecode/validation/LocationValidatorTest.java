@@ -0,0 +1,97 @@
+package com.coffeecode.validation;
+
+import org.junit.jupiter.api.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import com.coffeecode.model.Location;
+
+class LocationValidatorTest {
+
+    private LocationValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new LocationValidator();
+    }
+
+    @Nested
+    class SingleValidation {
+
+        @Test
+        void whenLocationIsValid_thenSucceeds() {
+            assertThat(validator.validate(new Location("Depot", 106.8, -6.2)).isValid()).isTrue();
+        }
+
+        @Test
+        void whenCoordinatesAreOutOfRange_thenFails() {
+            assertThat(validator.validate(new Location("Depot", 200.0, -6.2)).isValid()).isFalse();
+        }
+
+        @Test
+        void whenCoordinatesAlreadyExist_thenFails() {
+            Location existing = new Location("Depot", 106.8, -6.2);
+
+            ValidationResult result = validator.validateNew(
+                    new Location("Copy", 106.80001, -6.20001), List.of(existing));
+
+            assertThat(result.isValid()).isFalse();
+        }
+    }
+
+    @Nested
+    class BatchValidation {
+
+        @Test
+        void whenBatchContainsDuplicates_thenLaterCopiesFail() {
+            Location existing = new Location("Depot", 10.0, 20.0);
+            List<Location> batch = List.of(
+                    new Location("Near depot", 10.00005, 20.00005),
+                    new Location("Warehouse", 11.0, 21.0),
+                    new Location("Warehouse copy", 11.00009, 20.99991),
+                    new Location("X", 0.0, 0.0));
+
+            List<ValidationResult> results = validator.validateAll(batch, List.of(existing));
+
+            assertThat(results).extracting(ValidationResult::isValid)
+                    .containsExactly(false, true, false, false);
+        }
+
+        @Test
+        void whenPointsStraddleCellBorder_thenDuplicateIsFound() {
+            Location first = new Location("First", -0.00001, 0.00009);
+            Location second = new Location("Second", 0.00001, 0.00011);
+
+            List<ValidationResult> results = validator.validateAll(List.of(first, second), List.of());
+
+            assertThat(results.get(1).isValid()).isFalse();
+        }
+
+        @Test
+        void whenValidatingRandomBatch_thenMatchesPairwiseValidation() {
+            Random random = new Random(3);
+            List<Location> batch = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                batch.add(new Location("P" + i,
+                        random.nextInt(400) * 0.00007, random.nextInt(400) * 0.00007));
+            }
+
+            List<ValidationResult> fast = validator.validateAll(batch, List.of());
+            List<ValidationResult> pairwise = new Validator<Location>() {
+                @Override
+                public ValidationResult validate(Location item) {
+                    return validator.validate(item);
+                }
+
+                @Override
+                public ValidationResult validateNew(Location item, Iterable<Location> existing) {
+                    return validator.validateNew(item, existing);
+                }
+            }.validateAll(batch, List.of());
+
+            assertThat(fast).extracting(ValidationResult::isValid)
+                    .containsExactlyElementsOf(pairwise.stream().map(ValidationResult::isValid).toList());
+        }
+    }
+}